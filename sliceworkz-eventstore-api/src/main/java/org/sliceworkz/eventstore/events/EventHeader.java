@@ -0,0 +1,60 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.events;
+
+import java.time.LocalDateTime;
+
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+/**
+ * The metadata of a persisted event, without its domain event data.
+ * <p>
+ * Event headers are returned by header-only queries, which are considerably cheaper than regular
+ * queries when payloads are large, since the event data is neither transferred nor deserialized.
+ * They are useful whenever only the existence, position or classification of events matters, e.g.:
+ * <ul>
+ *   <li>Determining the last matching {@link EventReference} for an optimistic lock</li>
+ *   <li>Skipping ahead over events that don't need to be processed</li>
+ *   <li>Validating that a bookmarked reference still exists</li>
+ * </ul>
+ * The full event(s) can be fetched on demand via the header's reference.
+ * <p>
+ * As no payload is deserialized, no upcasting is applied: {@link #type()} is the event type as it was
+ * stored, which may be a legacy type that is upcasted into one or more other types in regular queries.
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>{@code
+ * Optional<EventHeader> last = stream.queryHeaders(
+ *     EventQuery.forEvents(EventTypesFilter.any(), Tags.of("customer", "123")).backwards().limit(1)
+ * ).findFirst();
+ *
+ * // fetch the payload only when needed
+ * List<Event<CustomerEvent>> events = stream.getEvents(last.get());
+ * }</pre>
+ *
+ * @param stream the event stream this event belongs to
+ * @param type the event type as stored in the database
+ * @param reference the unique reference containing ID and position in the stream
+ * @param tags the tags attached to this event for querying and consistency boundaries
+ * @param timestamp the time when this event was persisted to the store, always in UTC
+ * @see Event
+ * @see EventReference
+ */
+public record EventHeader ( EventStreamId stream, EventType type, EventReference reference, Tags tags, LocalDateTime timestamp ) {
+
+}
@@ -20,6 +20,7 @@ package org.sliceworkz.eventstore.projection;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -295,15 +296,18 @@ public class Projector<CONSUMED_EVENT_TYPE> implements EventStreamEventuallyCons
 			if ( bookmarkReader == null && lastEventReference == null && projection.initQuery() != null && !projection.initQuery().isMatchNone() ) {
 				EventQuery initQuery = projection.initQuery();
 				queriesDone++;
-				es.query(initQuery).forEach(e -> {
-					eventsStreamed++;
-					eventsHandled++;
-					if ( mostRecentEventReference == null || e.reference().happenedAfter(mostRecentEventReference) ) {
-						mostRecentEventReference = e.reference();
-					}
-					projection.when(e);
-					lastEventReference = Optional.of(e.reference());
-				});
+				// closed explicitly, as a failing projection stops consuming a (possibly streaming) query early
+				try ( Stream<Event<CONSUMED_EVENT_TYPE>> initEvents = es.query(initQuery) ) {
+					initEvents.forEach(e -> {
+						eventsStreamed++;
+						eventsHandled++;
+						if ( mostRecentEventReference == null || e.reference().happenedAfter(mostRecentEventReference) ) {
+							mostRecentEventReference = e.reference();
+						}
+						projection.when(e);
+						lastEventReference = Optional.of(e.reference());
+					});
+				}
 			}
 
 			ProjectorException exception = null;
@@ -330,10 +334,12 @@ public class Projector<CONSUMED_EVENT_TYPE> implements EventStreamEventuallyCons
 					AtomicReference<EventReference> rawCursor = new AtomicReference<>();
 					AtomicLong storedEventsCount = new AtomicLong(0);
 
-					lastRead = es.query(effectiveQuery, lastRead, limit, ref -> {
+					try ( Stream<Event<CONSUMED_EVENT_TYPE>> events = es.query(effectiveQuery, lastRead, limit, ref -> {
 						rawCursor.set(ref);
 						storedEventsCount.incrementAndGet();
-					}).map(e->offerEventToProjection(e, projection, until, batch)).map(e->e.reference()).reduce((first, second) -> second).orElse(null);
+					}) ) {
+						lastRead = events.map(e->offerEventToProjection(e, projection, until, batch)).map(e->e.reference()).reduce((first, second) -> second).orElse(null);
+					}
 
 					// if we still read enriched data, keep the reference
 					if ( lastRead != null ) {
@@ -691,7 +697,8 @@ public class Projector<CONSUMED_EVENT_TYPE> implements EventStreamEventuallyCons
 			Projector<EVENT_TYPE> projector = new Projector<>(eventSource, projection, after, maxEventsPerQuery, bookmarkBuilder.readerName, bookmarkBuilder.tags, bookmarkBuilder.bookmarkReadFrequency);
 			if ( subscribe ) {
 				// subscribe for eventually consistent updates about event appends, so the projector will automatically trigger projection updates
-				eventSource.subscribe(projector);
+				// the query is read again for each append, as a projection's query may change along with its state
+				eventSource.subscribe(projector, projector::eventQuery);
 			}
 			return projector;
 		}
@@ -18,8 +18,12 @@
 package org.sliceworkz.eventstore.spi;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.sliceworkz.eventstore.events.Bookmark;
@@ -101,7 +105,7 @@ import org.sliceworkz.eventstore.stream.EventStreamId;
  *
  *     @Override
  *     public void subscribe(EventStoreListener listener) {
- *         listeners.add(listener);
+ *         listeners.subscribe(listener); // an EventStoreListenerRegistry
  *     }
  *
  *     // Implement remaining methods...
@@ -155,6 +159,9 @@ public interface EventStorage {
 	 *   <li><b>FORWARD</b> - Events are returned in chronological order (oldest to newest)</li>
 	 *   <li><b>BACKWARD</b> - Events are returned in reverse chronological order (newest to oldest)</li>
 	 * </ul>
+	 * <p>
+	 * Backends may read the events lazily while the returned stream is consumed, holding on to resources such as a
+	 * database connection until it is exhausted or closed. Callers that may not consume it completely should close it.
 	 *
 	 * @param query the event query defining type and tag filters
 	 * @param stream optional stream identifier to filter events by stream
@@ -187,6 +194,52 @@ public interface EventStorage {
 		return query ( query, stream, after, limit, QueryDirection.FORWARD);
 	}
 
+	/**
+	 * Queries event headers (everything but the event payloads) from storage.
+	 * <p>
+	 * Selection, ordering and paging semantics are identical to
+	 * {@link #query(EventQuery, Optional, EventReference, Limit, QueryDirection)}, but only references,
+	 * types, tags and timestamps are returned. This suits callers that never look at the event data,
+	 * such as determining the last matching reference for an optimistic lock or validating a bookmark.
+	 * Payloads can be retrieved afterwards via {@link #getEventById(EventId)} when needed.
+	 * <p>
+	 * The default implementation derives the headers from a full query. Backends that transfer event
+	 * data over the network should override it to avoid reading the payloads altogether.
+	 *
+	 * @param query the event query defining type and tag filters
+	 * @param stream optional stream identifier to filter events by stream
+	 * @param after the reference point to start querying after (exclusive - events after this reference)
+	 * @param limit maximum number of events to return
+	 * @param queryDirection the direction of query traversal (FORWARD or BACKWARD)
+	 * @return a stream of event headers matching the query criteria
+	 * @throws EventStorageException if an error occurs during query execution
+	 * @see StoredEventHeader
+	 */
+	default Stream<StoredEventHeader> queryHeaders ( EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection queryDirection ) {
+		return query ( query, stream, after, limit, queryDirection ).map(StoredEvent::header);
+	}
+
+	/**
+	 * Returns the reference of the last event matching a query, the "head" of a consistency boundary.
+	 * <p>
+	 * This is the reference to pass as expected last event reference in {@link AppendCriteria} when no
+	 * events need to be read to make a decision. Direction and limit of the query are ignored.
+	 * <p>
+	 * The default implementation queries a single header backwards. Backends that keep track of the
+	 * latest positions per event type or tag should override it to avoid the query.
+	 *
+	 * @param query the event query defining type and tag filters
+	 * @param stream optional stream identifier to filter events by stream
+	 * @return the reference of the last matching event, or empty if no events match
+	 * @throws EventStorageException if an error occurs during the lookup
+	 */
+	default Optional<EventReference> headReference ( EventQuery query, Optional<EventStreamId> stream ) {
+		// closed explicitly, as a streaming backend may hold on to a connection until the stream is exhausted
+		try ( Stream<StoredEventHeader> headers = queryHeaders ( query, stream, null, Limit.to(1), QueryDirection.BACKWARD ) ) {
+			return headers.findFirst().map(StoredEventHeader::reference);
+		}
+	}
+
 	/**
 	 * Appends new events to storage with optimistic locking based on append criteria.
 	 * <p>
@@ -238,6 +291,29 @@ public interface EventStorage {
 	 */
 	Optional<StoredEvent> getEventById ( EventId eventId );
 
+	/**
+	 * Retrieves multiple events by their unique identifiers in a single call.
+	 * <p>
+	 * Ids that do not resolve to a stored event are silently skipped, duplicate ids yield a single result.
+	 * The returned events are ordered by their position in the event log, regardless of the order of the ids.
+	 * <p>
+	 * The default implementation resolves each id via {@link #getEventById(EventId)}. Backends for which a
+	 * lookup involves a round trip should override it to fetch all events at once.
+	 *
+	 * @param eventIds the unique identifiers of the events to retrieve
+	 * @return the events found, ordered by position; an empty list if none were found
+	 * @throws EventStorageException if an error occurs during retrieval
+	 * @see #getEventById(EventId)
+	 */
+	default List<StoredEvent> getEventsByIds ( Collection<EventId> eventIds ) {
+		return eventIds.stream()
+				.distinct()
+				.map(this::getEventById)
+				.flatMap(Optional::stream)
+				.sorted(Comparator.comparingLong(e -> e.reference().position()))
+				.toList();
+	}
+
 	/**
 	 * Registers a listener to receive notifications about storage events.
 	 * <p>
@@ -249,6 +325,8 @@ public interface EventStorage {
 	 * <p>
 	 * Implementations should ensure listeners are called in a thread-safe manner.
 	 * Listeners should perform minimal work and delegate to async processing where possible.
+	 * Append notifications need only be delivered to listeners whose {@link EventStoreListener#streamCriteria()}
+	 * can read the stream appended to; {@link EventStoreListenerRegistry} keeps track of listeners that way.
 	 *
 	 * @param listener the listener to register for storage notifications
 	 * @see EventStoreListener
@@ -391,13 +469,29 @@ public interface EventStorage {
 	 * The notification includes the stream where events were appended and a reference indicating
 	 * at least up to which point new events exist. Consumers should query for events after their
 	 * last known position.
+	 * <p>
+	 * When known, the notification also carries the event types and tags of the appended events, so
+	 * listeners that are only interested in some events can skip appends that cannot match their query.
+	 * When {@code null}, they are unknown and the notification is relevant for any query.
 	 *
 	 * @param stream the event stream where new events were appended
 	 * @param atLeastUntil reference indicating new events exist at least up to this point
+	 * @param eventTypes the types of the appended events, or null if unknown
+	 * @param tags all tags of the appended events combined, or null if unknown
 	 * @see EventStoreListener#notify(AppendsToEventStoreNotification)
 	 * @see #append(AppendCriteria, Optional, List)
 	 */
-	record AppendsToEventStoreNotification ( EventStreamId stream, EventReference atLeastUntil ) {
+	record AppendsToEventStoreNotification ( EventStreamId stream, EventReference atLeastUntil, Set<EventType> eventTypes, Tags tags ) {
+
+		/**
+		 * Creates a notification without information about the appended event types and tags.
+		 *
+		 * @param stream the event stream where new events were appended
+		 * @param atLeastUntil reference indicating new events exist at least up to this point
+		 */
+		public AppendsToEventStoreNotification ( EventStreamId stream, EventReference atLeastUntil ) {
+			this(stream, atLeastUntil, null, null);
+		}
 
 		/**
 		 * Checks if this notification is relevant for a given event stream criteria.
@@ -414,6 +508,46 @@ public interface EventStorage {
 			return eventStreamCriteria.canRead(stream);
 		}
 
+		/**
+		 * Checks if the appended events could match a query.
+		 * <p>
+		 * The check is conservative: it only returns false if none of the appended events can match,
+		 * based on their types and the tags of all appended events combined. Notifications without
+		 * type and tag information could match any query.
+		 *
+		 * @param query the query to check
+		 * @return false if no appended event matches the query, true if some might
+		 */
+		public boolean couldMatch ( EventQuery query ) {
+			if ( query.isMatchNone() ) {
+				return false;
+			}
+			if ( eventTypes == null || tags == null || query.isMatchAll() ) {
+				return true;
+			}
+			return query.items().stream().anyMatch(item ->
+				(item.eventTypes().eventTypes().isEmpty() || item.eventTypes().eventTypes().stream().anyMatch(eventTypes::contains))
+				&& tags.containsAll(item.tags()));
+		}
+
+		/**
+		 * Combines this notification with a later one about the same stream.
+		 * <p>
+		 * The result references the furthest of both positions and covers the event types and tags of both.
+		 *
+		 * @param other another notification about the same stream
+		 * @return a notification covering the appends of both notifications
+		 */
+		public AppendsToEventStoreNotification merge ( AppendsToEventStoreNotification other ) {
+			EventReference reference = other.atLeastUntil.position() > atLeastUntil.position() ? other.atLeastUntil : atLeastUntil;
+			if ( eventTypes == null || tags == null || other.eventTypes == null || other.tags == null ) {
+				return new AppendsToEventStoreNotification(stream, reference);
+			}
+			Set<EventType> mergedTypes = new HashSet<>(eventTypes);
+			mergedTypes.addAll(other.eventTypes);
+			return new AppendsToEventStoreNotification(stream, reference, mergedTypes, tags.merge(other.tags));
+		}
+
 	}
 
 	/**
@@ -498,6 +632,20 @@ public interface EventStorage {
 		 * @see BookmarkPlacedNotification
 		 */
 		void notify ( BookmarkPlacedNotification bookmarkPlaced );
+
+		/**
+		 * The event streams this listener wants to be notified about when events are appended.
+		 * <p>
+		 * Storages use this to route append notifications to interested listeners only, see
+		 * {@link EventStoreListenerRegistry}. It must not change after the listener subscribed.
+		 * Bookmark notifications are delivered to all listeners.
+		 *
+		 * @return criteria the appended stream must be readable by, all streams by default
+		 * @see AppendsToEventStoreNotification#isRelevantFor(EventStreamId)
+		 */
+		default EventStreamId streamCriteria ( ) {
+			return EventStreamId.anyContext();
+		}
 	}
 
 	/**
@@ -569,6 +717,32 @@ public interface EventStorage {
 	 */
 	public record StoredEvent ( EventStreamId stream, EventType type, EventReference reference, String immutableData, String erasableData, Tags tags, LocalDateTime timestamp ) {
 
+		/**
+		 * Returns the header of this event, leaving out the event data.
+		 *
+		 * @return the header of this stored event
+		 */
+		public StoredEventHeader header ( ) {
+			return new StoredEventHeader(stream, type, reference, tags, timestamp);
+		}
+
+	}
+
+	/**
+	 * Represents the metadata of a persisted event, without its (immutable or erasable) data.
+	 * <p>
+	 * Returned by {@link EventStorage#queryHeaders(EventQuery, Optional, EventReference, Limit, QueryDirection)}
+	 * for callers that only need to know which events exist, not what they contain.
+	 *
+	 * @param stream the event stream this event belongs to
+	 * @param type the event type as stored
+	 * @param reference the unique reference (ID and position) of this event
+	 * @param tags key-value pairs for dynamic event retrieval and consistency boundaries
+	 * @param timestamp the moment this event was stored, always in UTC
+	 * @see StoredEvent
+	 */
+	public record StoredEventHeader ( EventStreamId stream, EventType type, EventReference reference, Tags tags, LocalDateTime timestamp ) {
+
 	}
 
 }
@@ -0,0 +1,148 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.spi;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.BookmarkPlacedNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+/**
+ * Keeps the listeners subscribed to an {@link EventStorage}, indexed by the event streams they are interested in.
+ * <p>
+ * Listeners are grouped per {@link EventStoreListener#streamCriteria()}, so an append notification is only delivered to
+ * the listeners of at most four groups: those of the exact stream, of any purpose within its context, of its purpose
+ * in any context, and of any context. This keeps the cost of a notification independent of the number of listeners
+ * for other streams.
+ * <p>
+ * Listeners are weakly referenced, so subscribing does not keep them from being garbage collected. References that
+ * were cleared are removed as part of the next subscription or notification.
+ * <p>
+ * Thread-safe: listeners can subscribe while notifications are being delivered.
+ *
+ * @see EventStorage#subscribe(EventStoreListener)
+ */
+public final class EventStoreListenerRegistry {
+
+	private final Map<EventStreamId, List<ListenerReference>> listenersByStream = new ConcurrentHashMap<>();
+	private final ReferenceQueue<EventStoreListener> cleared = new ReferenceQueue<>();
+
+	/**
+	 * Creates an empty registry, typically one per {@link EventStorage} instance.
+	 */
+	public EventStoreListenerRegistry ( ) {
+	}
+
+	/**
+	 * Registers a listener for notifications about the streams it is interested in, and about all bookmarks.
+	 *
+	 * @param listener the listener to register, weakly referenced
+	 */
+	public void subscribe ( EventStoreListener listener ) {
+		removeCleared();
+		EventStreamId criteria = listener.streamCriteria();
+		ListenerReference reference = new ListenerReference(listener, criteria, cleared);
+		listenersByStream.compute(criteria, (key, listeners) -> {
+			List<ListenerReference> result = listeners == null ? new CopyOnWriteArrayList<>() : listeners;
+			result.add(reference);
+			return result;
+		});
+	}
+
+	/**
+	 * Delivers an append notification to the listeners of streams that can read the stream appended to.
+	 *
+	 * @param notification the notification to deliver
+	 */
+	public void notify ( AppendsToEventStoreNotification notification ) {
+		removeCleared();
+		EventStreamId stream = notification.stream();
+		notify(stream, notification);
+		notify(stream.anyPurpose(), notification);
+		notify(new EventStreamId(null, stream.purpose()), notification);
+		notify(EventStreamId.anyContext(), notification);
+	}
+
+	/**
+	 * Delivers a bookmark notification to all listeners.
+	 *
+	 * @param notification the notification to deliver
+	 */
+	public void notify ( BookmarkPlacedNotification notification ) {
+		removeCleared();
+		listenersByStream.values().forEach(listeners -> listeners.forEach(reference -> {
+			EventStoreListener listener = reference.get();
+			if ( listener != null ) {
+				listener.notify(notification);
+			}
+		}));
+	}
+
+	/**
+	 * Counts the registered listeners, mainly to verify that listeners are released.
+	 *
+	 * @return the number of registered listeners, including those that were garbage collected but not removed yet
+	 */
+	public int size ( ) {
+		return listenersByStream.values().stream().mapToInt(List::size).sum();
+	}
+
+	private void notify ( EventStreamId criteria, AppendsToEventStoreNotification notification ) {
+		List<ListenerReference> listeners = listenersByStream.get(criteria);
+		if ( listeners != null ) {
+			listeners.forEach(reference -> {
+				EventStoreListener listener = reference.get();
+				if ( listener != null ) {
+					listener.notify(notification);
+				}
+			});
+		}
+	}
+
+	private void removeCleared ( ) {
+		Reference<? extends EventStoreListener> reference;
+		while ( (reference = cleared.poll()) != null ) {
+			ListenerReference listenerReference = (ListenerReference) reference;
+			// the group is dropped once empty, atomically with subscriptions to it
+			listenersByStream.computeIfPresent(listenerReference.criteria, (key, listeners) -> {
+				listeners.remove(listenerReference);
+				return listeners.isEmpty() ? null : listeners;
+			});
+		}
+	}
+
+	private static final class ListenerReference extends WeakReference<EventStoreListener> {
+
+		private final EventStreamId criteria;
+
+		ListenerReference ( EventStoreListener listener, EventStreamId criteria, ReferenceQueue<EventStoreListener> queue ) {
+			super(listener, queue);
+			this.criteria = criteria;
+		}
+
+	}
+
+}
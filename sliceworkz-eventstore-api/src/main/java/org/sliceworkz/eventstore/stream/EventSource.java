@@ -17,13 +17,16 @@
  */
 package org.sliceworkz.eventstore.stream;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.sliceworkz.eventstore.events.Bookmark;
 import org.sliceworkz.eventstore.events.Event;
+import org.sliceworkz.eventstore.events.EventHeader;
 import org.sliceworkz.eventstore.events.EventId;
 import org.sliceworkz.eventstore.events.EventReference;
 import org.sliceworkz.eventstore.events.Tags;
@@ -187,6 +190,61 @@ public interface EventSource<DOMAIN_EVENT_TYPE> {
 		return query(query, null, query.limit());
 	}
 
+	/**
+	 * Queries the headers of events in the stream, without retrieving their data.
+	 * <p>
+	 * Selection, ordering and paging behave as in {@link #query(EventQuery, EventReference, Limit)},
+	 * but event payloads are neither read from storage nor deserialized. This is much cheaper when
+	 * only references, types or tags are needed. As no upcasting takes place, headers carry the event
+	 * type as stored, and legacy event types that are upcasted in regular queries are returned as-is.
+	 * <p>
+	 * Use {@link #getEvents(EventHeader)} to fetch the full event(s) for a header on demand.
+	 *
+	 * @param query the query criteria specifying which events to retrieve and in which direction
+	 * @param cursor optional reference for pagination (after for forward, before for backward), null to start from the beginning/end
+	 * @param limit maximum number of events to return (overrides the query's own limit)
+	 * @return a Stream of event headers matching the query criteria
+	 * @see EventHeader
+	 */
+	Stream<EventHeader> queryHeaders ( EventQuery query, EventReference cursor, Limit limit );
+
+	/**
+	 * Queries the headers of events in the stream, respecting the query's own direction and limit.
+	 *
+	 * @param query the query criteria specifying which events to retrieve
+	 * @return a Stream of event headers matching the query criteria
+	 * @see #queryHeaders(EventQuery, EventReference, Limit)
+	 */
+	default Stream<EventHeader> queryHeaders ( EventQuery query ) {
+		return queryHeaders(query, null, query.limit());
+	}
+
+	/**
+	 * Returns the reference of the last event in the stream matching a query.
+	 * <p>
+	 * Use this as the expected last event reference of {@link AppendCriteria} when a decision does not
+	 * need to look at the events in its consistency boundary, only guard against concurrent changes to it.
+	 * Depending on the storage, this is answered without querying the events at all.
+	 * Direction and limit of the query are ignored.
+	 *
+	 * @param query the query defining the consistency boundary
+	 * @return the reference of the last matching event, or empty if no events match
+	 */
+	Optional<EventReference> headReference ( EventQuery query );
+
+	/**
+	 * Fetches the full event(s) for a header obtained from {@link #queryHeaders(EventQuery, EventReference, Limit)}.
+	 * <p>
+	 * This is a convenience method that delegates to {@link #getEventById(EventId)} with the id of the header's
+	 * reference, so upcasting applies and a single stored event may result in multiple events.
+	 *
+	 * @param header the header of the event to fetch
+	 * @return a list of events produced from the stored event, or an empty list if not found
+	 */
+	default List<Event<DOMAIN_EVENT_TYPE>> getEvents ( EventHeader header ) {
+		return getEventById(header.reference().id());
+	}
+
 	/**
 	 * Retrieves events by their stored event ID.
 	 * <p>
@@ -201,6 +259,18 @@ public interface EventSource<DOMAIN_EVENT_TYPE> {
 	 */
 	List<Event<DOMAIN_EVENT_TYPE>> getEventById ( EventId eventId );
 
+	/**
+	 * Retrieves the events for multiple stored event IDs at once.
+	 * <p>
+	 * Equivalent to calling {@link #getEventById(EventId)} for each id, but resolved by the underlying storage
+	 * in a single lookup. Ids that are not found or not readable by this stream are skipped. The resulting events
+	 * are ordered by their position in the event store, and upcasting may produce multiple events per stored event.
+	 *
+	 * @param eventIds the unique identifiers of the stored events to retrieve
+	 * @return a list of events produced from the stored events found, or an empty list if none were found
+	 */
+	List<Event<DOMAIN_EVENT_TYPE>> getEventsByIds ( Collection<EventId> eventIds );
+
 
 	/**
 	 * Subscribes to be notified when events are appended to this stream (eventually consistent).
@@ -213,6 +283,40 @@ public interface EventSource<DOMAIN_EVENT_TYPE> {
 	 */
 	void subscribe ( EventStreamEventuallyConsistentAppendListener listener );
 
+	/**
+	 * Subscribes to be notified when events matching a query are appended to this stream (eventually consistent).
+	 * <p>
+	 * Like {@link #subscribe(EventStreamEventuallyConsistentAppendListener)}, but the listener is not woken up
+	 * for appends that are known not to contain any events matching the query. Notifications are a hint, not a
+	 * guarantee: a listener may still be notified of appends without matching events, for example when the
+	 * storage cannot tell which event types and tags were appended.
+	 * <p>
+	 * The default implementation ignores the query and notifies about all appends.
+	 *
+	 * @param listener the listener to receive append notifications
+	 * @param query the query the listener is interested in
+	 */
+	default void subscribe ( EventStreamEventuallyConsistentAppendListener listener, EventQuery query ) {
+		subscribe(listener, () -> query);
+	}
+
+	/**
+	 * Subscribes to be notified when events matching a query that may change over time are appended to this stream
+	 * (eventually consistent).
+	 * <p>
+	 * Like {@link #subscribe(EventStreamEventuallyConsistentAppendListener, EventQuery)}, but the query is obtained
+	 * from the supplier each time an append is filtered, so a listener whose query depends on its own state is woken
+	 * up for appends matching its current query.
+	 * <p>
+	 * The default implementation ignores the query and notifies about all appends.
+	 *
+	 * @param listener the listener to receive append notifications
+	 * @param query supplies the query the listener is currently interested in
+	 */
+	default void subscribe ( EventStreamEventuallyConsistentAppendListener listener, Supplier<EventQuery> query ) {
+		subscribe(listener);
+	}
+
 	/**
 	 * Subscribes to be notified when events are appended to this stream (strongly consistent).
 	 * <p>
@@ -0,0 +1,119 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventId;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.BookmarkPlacedNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class EventStoreListenerRegistryTest {
+
+	private static final EventReference REFERENCE = EventReference.of(EventId.of("0199a1b2-0000-7000-8000-000000000001"), 1, 1);
+
+	@Test
+	void testRoutesAppendsToListenersThatCanReadTheStream ( ) {
+		EventStoreListenerRegistry registry = new EventStoreListenerRegistry();
+		CollectingListener exact = new CollectingListener(EventStreamId.forContext("customer").withPurpose("1"));
+		CollectingListener otherPurpose = new CollectingListener(EventStreamId.forContext("customer").withPurpose("2"));
+		CollectingListener anyPurpose = new CollectingListener(EventStreamId.forContext("customer").anyPurpose());
+		CollectingListener otherContext = new CollectingListener(EventStreamId.forContext("supplier").anyPurpose());
+		CollectingListener samePurposeAnyContext = new CollectingListener(EventStreamId.anyContext().withPurpose("1"));
+		CollectingListener all = new CollectingListener(EventStreamId.anyContext());
+		List.of(exact, otherPurpose, anyPurpose, otherContext, samePurposeAnyContext, all).forEach(registry::subscribe);
+
+		registry.notify(new AppendsToEventStoreNotification(EventStreamId.forContext("customer").withPurpose("1"), REFERENCE));
+
+		assertEquals(1, exact.appends.size());
+		assertEquals(0, otherPurpose.appends.size());
+		assertEquals(1, anyPurpose.appends.size());
+		assertEquals(0, otherContext.appends.size());
+		assertEquals(1, samePurposeAnyContext.appends.size());
+		assertEquals(1, all.appends.size());
+	}
+
+	@Test
+	void testDeliversBookmarksToAllListeners ( ) {
+		EventStoreListenerRegistry registry = new EventStoreListenerRegistry();
+		CollectingListener customer = new CollectingListener(EventStreamId.forContext("customer").withPurpose("1"));
+		CollectingListener supplier = new CollectingListener(EventStreamId.forContext("supplier").anyPurpose());
+		registry.subscribe(customer);
+		registry.subscribe(supplier);
+
+		registry.notify(new BookmarkPlacedNotification("reader", REFERENCE));
+
+		assertEquals(1, customer.bookmarks.size());
+		assertEquals(1, supplier.bookmarks.size());
+	}
+
+	@Test
+	void testRemovesGarbageCollectedListeners ( ) throws InterruptedException {
+		EventStoreListenerRegistry registry = new EventStoreListenerRegistry();
+		CollectingListener kept = new CollectingListener(EventStreamId.forContext("customer").withPurpose("1"));
+		registry.subscribe(kept);
+		for ( int i = 0; i < 10; i++ ) {
+			registry.subscribe(new CollectingListener(EventStreamId.forContext("customer").withPurpose("garbage-" + i)));
+		}
+
+		for ( int i = 0; i < 50 && registry.size() > 1; i++ ) {
+			System.gc();
+			Thread.sleep(10);
+			registry.notify(new BookmarkPlacedNotification("reader", REFERENCE));
+		}
+
+		assertEquals(1, registry.size());
+		registry.notify(new AppendsToEventStoreNotification(EventStreamId.forContext("customer").withPurpose("1"), REFERENCE));
+		assertEquals(1, kept.appends.size());
+	}
+
+	private static class CollectingListener implements EventStoreListener {
+
+		private final EventStreamId criteria;
+		private final List<AppendsToEventStoreNotification> appends = new CopyOnWriteArrayList<>();
+		private final List<BookmarkPlacedNotification> bookmarks = new CopyOnWriteArrayList<>();
+
+		CollectingListener ( EventStreamId criteria ) {
+			this.criteria = criteria;
+		}
+
+		@Override
+		public void notify ( AppendsToEventStoreNotification newEventsInStore ) {
+			appends.add(newEventsInStore);
+		}
+
+		@Override
+		public void notify ( BookmarkPlacedNotification bookmarkPlaced ) {
+			bookmarks.add(bookmarkPlaced);
+		}
+
+		@Override
+		public EventStreamId streamCriteria ( ) {
+			return criteria;
+		}
+
+	}
+
+}
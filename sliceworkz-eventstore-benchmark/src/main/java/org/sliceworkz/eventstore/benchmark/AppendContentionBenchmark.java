@@ -0,0 +1,167 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.AppendLockingMode;
+import org.sliceworkz.eventstore.infra.postgres.PostgresEventStorage;
+import org.sliceworkz.eventstore.infra.postgres.PostgresEventStorageImpl;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+import org.sliceworkz.eventstore.stream.OptimisticLockingException;
+
+/**
+ * Measures conditional append throughput with {@link AppendLockingMode#ADVISORY} at different boundary overlap ratios.
+ * <p>
+ * Each worker repeatedly performs a DCB decision: it reads the last event of a consistency boundary and appends
+ * an event conditionally on that reference, retrying on an {@link OptimisticLockingException}. Every worker owns
+ * a boundary of its own; with the given overlap ratio, a decision targets one shared boundary instead.
+ * An overlap of 0 shows the parallel throughput of disjoint writers, an overlap of 1 fully serializes them.
+ * <p>
+ * After each run, the number of events in every boundary is compared to the number of successful appends,
+ * which only holds when no two writers ever passed the optimistic locking check on the same reference.
+ * <p>
+ * Uses the database configured for the other benchmarks (see {@code DataSourceFactory}).
+ * Optional arguments: number of workers (default 16), appends per worker (default 500).
+ */
+public class AppendContentionBenchmark {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AppendContentionBenchmark.class);
+
+	private static final double[] OVERLAP_RATIOS = { 0.0, 0.01, 0.1, 0.5, 1.0 };
+
+	private static final EventType DECIDED = EventType.ofType("Decided");
+	private static final EventStreamId STREAM = EventStreamId.forContext("contention").withPurpose("benchmark");
+
+	public static void main ( String[] args ) throws InterruptedException {
+		int workers = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+		int appendsPerWorker = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+		System.out.println("workers: %d, appends per worker: %d".formatted(workers, appendsPerWorker));
+		System.out.println("overlap   appends/sec   conflicts   consistent");
+
+		for ( double overlap : OVERLAP_RATIOS ) {
+			EventStorage storage = PostgresEventStorage.newBuilder()
+				.name("contention")
+				.prefix("contention_")
+				.appendLocking(AppendLockingMode.ADVISORY)
+				.initializeDatabase()
+				.build();
+
+			// tag boundaries per run, the table is shared between runs
+			String run = UUID.randomUUID().toString();
+			Result result = run(storage, run, workers, appendsPerWorker, overlap);
+			System.out.println("%7.2f   %11.0f   %9d   %10s".formatted(overlap, result.appendsPerSecond(), result.conflicts(), result.consistent()));
+
+			((PostgresEventStorageImpl)storage).stop();
+		}
+	}
+
+	record Result ( double appendsPerSecond, long conflicts, boolean consistent ) { }
+
+	static Result run ( EventStorage storage, String run, int workers, int appendsPerWorker, double overlap ) throws InterruptedException {
+		AtomicLong conflicts = new AtomicLong();
+		AtomicLong[] appendsPerBoundary = new AtomicLong[workers + 1];
+		for ( int i = 0; i < appendsPerBoundary.length; i++ ) {
+			appendsPerBoundary[i] = new AtomicLong();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		Instant start = Instant.now();
+
+		for ( int w = 0; w < workers; w++ ) {
+			int worker = w;
+			executor.execute(() -> {
+				for ( int i = 0; i < appendsPerWorker; i++ ) {
+					// boundary 0 is shared by all workers, the others are owned by a single worker
+					int boundary = ThreadLocalRandom.current().nextDouble() < overlap ? 0 : worker + 1;
+					while ( !decide(storage, run, boundary) ) {
+						conflicts.incrementAndGet();
+					}
+					appendsPerBoundary[boundary].incrementAndGet();
+				}
+			});
+		}
+
+		executor.shutdown();
+		if ( !executor.awaitTermination(1, TimeUnit.HOURS) ) {
+			LOGGER.warn("benchmark did not finish in time");
+		}
+		Duration duration = Duration.between(start, Instant.now());
+
+		boolean consistent = true;
+		for ( int boundary = 0; boundary < appendsPerBoundary.length; boundary++ ) {
+			long stored = storage.queryHeaders(boundaryQuery(run, boundary), Optional.of(STREAM), null, Limit.none(), QueryDirection.FORWARD).count();
+			consistent &= stored == appendsPerBoundary[boundary].get();
+		}
+
+		double appendsPerSecond = (workers * (double)appendsPerWorker) / Math.max(1, duration.toMillis()) * 1000;
+		return new Result(appendsPerSecond, conflicts.get(), consistent);
+	}
+
+	/**
+	 * One DCB decision: read the last event of the boundary, then append conditionally on it.
+	 *
+	 * @return false when the decision must be retried because of a concurrent append in the boundary
+	 */
+	private static boolean decide ( EventStorage storage, String run, int boundary ) {
+		EventQuery query = boundaryQuery(run, boundary);
+		EventReference last = storage.queryHeaders(query, Optional.of(STREAM), null, Limit.to(1), QueryDirection.BACKWARD)
+				.findFirst()
+				.map(h -> h.reference())
+				.orElse(null);
+		try {
+			EventToStore event = new EventToStore(STREAM, DECIDED, "{}", null, boundaryTags(run, boundary), null);
+			storage.append(AppendCriteria.of(query.filter(), last), Optional.of(STREAM), List.of(event));
+			return true;
+		} catch (OptimisticLockingException e) {
+			return false;
+		}
+	}
+
+	private static EventQuery boundaryQuery ( String run, int boundary ) {
+		return EventQuery.forEvents(EventTypesFilter.of(Set.of(DECIDED)), boundaryTags(run, boundary));
+	}
+
+	private static Tags boundaryTags ( String run, int boundary ) {
+		return Tags.of("boundary", run + "/" + boundary);
+	}
+
+}
@@ -17,16 +17,22 @@
  */
 package org.sliceworkz.eventstore.impl;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -36,8 +42,10 @@ import org.sliceworkz.eventstore.EventStore;
 import org.sliceworkz.eventstore.events.Bookmark;
 import org.sliceworkz.eventstore.events.EphemeralEvent;
 import org.sliceworkz.eventstore.events.Event;
+import org.sliceworkz.eventstore.events.EventHeader;
 import org.sliceworkz.eventstore.events.EventId;
 import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
 import org.sliceworkz.eventstore.events.Tags;
 import org.sliceworkz.eventstore.impl.serde.EventPayloadSerializerDeserializer;
 import org.sliceworkz.eventstore.impl.serde.EventPayloadSerializerDeserializer.TypeAndPayload;
@@ -54,6 +62,7 @@ import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
 import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
 import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
 import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStoreListenerRegistry;
 import org.sliceworkz.eventstore.stream.AppendCriteria;
 import org.sliceworkz.eventstore.stream.EventStream;
 import org.sliceworkz.eventstore.stream.EventStreamConsistentAppendListener;
@@ -87,6 +96,12 @@ import io.micrometer.core.instrument.Timer;
  * <p>
  * The implementation uses virtual threads for asynchronous notification of eventually consistent subscribers,
  * ensuring efficient handling of concurrent event processing without blocking the main append operations.
+ * Appends through a stream of this event store are signalled to the eventually consistent subscribers of all its
+ * streams right after they succeed; the notification that follows from the storage for the same reference is then
+ * skipped. Subscribers in other processes depend on the storage notifications only.
+ * Subscribers that registered the query they are interested in are only woken up for appends that could match it.
+ * Each subscriber has a bounded mailbox: notifications that arrive while it is still busy are coalesced into the
+ * latest one, so a slow subscriber delays only itself and never makes notifications pile up in memory.
  *
  * <h2>Event Payload Modes:</h2>
  * <ul>
@@ -119,36 +134,59 @@ public class EventStoreImpl implements EventStore {
 	private final EventStorage eventStorage;
 
 	/**
-	 * Executor service using virtual threads for asynchronously notifying eventually consistent subscribers
-	 * about new event appends. Named threads help with debugging and monitoring.
+	 * Maximum number of references signalled by local appends that are remembered per eventually consistent
+	 * subscriber, to skip the notifications by the storage that follow.
 	 */
-	private final ExecutorService executorServiceForEventAppends;
+	private static final int MAX_LOCALLY_SIGNALLED_REFERENCES = 64;
+
+	/**
+	 * Maximum number of readers with a bookmark update pending for a single bookmark listener.
+	 * Updates for other readers are dropped until the listener catches up.
+	 */
+	private static final int MAX_PENDING_BOOKMARK_UPDATES = 1024;
 
 	/**
 	 * Executor service using virtual threads for asynchronously notifying eventually consistent subscribers
-	 * about bookmark updates. This uses a single-threaded executor to ensure bookmark notifications are
-	 * processed sequentially. Named threads help with debugging and monitoring.
+	 * about new event appends and bookmark updates. Each subscriber has at most one task running at a time,
+	 * draining its mailbox. Named threads help with debugging and monitoring.
+	 */
+	private final ExecutorService executorServiceForListeners;
+
+	/**
+	 * Number of append notifications waiting in the mailboxes of eventually consistent subscribers.
+	 */
+	private final AtomicInteger pendingAppendNotifications = new AtomicInteger();
+
+	/**
+	 * Number of bookmark updates waiting in the mailboxes of bookmark listeners.
 	 */
-	private final ExecutorService executorServiceForBookmarkUpdates;
+	private final AtomicInteger pendingBookmarkNotifications = new AtomicInteger();
 
 	/**
 	 * The Micrometer meter registry for collecting metrics and observability data.
 	 * Used to track event store operations such as event stream creation, appends, and queries.
 	 */
 	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Event streams obtained from this event store, indexed by their stream criteria like the storages do with their listeners.
+	 * Appends through any of them are signalled to the streams that can read them directly, ahead of the notification by the storage.
+	 */
+	private final EventStoreListenerRegistry localStreams = new EventStoreListenerRegistry();
 	
 	/**
 	 * Constructs a new EventStoreImpl instance backed by the specified storage with observability support.
 	 * <p>
 	 * This constructor is invoked by {@link EventStoreFactoryImpl} and should not be called directly.
-	 * The constructor initializes a single-threaded executor using virtual threads for handling
-	 * eventually consistent event notifications without blocking append operations.
+	 * The constructor initializes an executor using virtual threads for handling eventually consistent
+	 * event notifications without blocking append operations.
 	 * <p>
 	 * The meter registry is used to collect metrics about event store operations including:
 	 * <ul>
 	 *   <li>Event stream creation counts (tagged by context, purpose, and whether typed or raw)</li>
 	 *   <li>Event append operations</li>
 	 *   <li>Query performance</li>
+	 *   <li>Notifications pending for eventually consistent listeners, their dispatch latency and the ones coalesced or dropped</li>
 	 * </ul>
 	 *
 	 * @param eventStorage the storage backend implementation (in-memory, PostgreSQL, etc.)
@@ -166,9 +204,12 @@ public class EventStoreImpl implements EventStore {
 		this.meterRegistry = meterRegistry;
 		
 		ThreadFactory threadFactory = Thread.ofVirtual().name("eventually-consistent-listener-notifier/" + eventStorage.name(), 0).factory();
-		this.executorServiceForEventAppends = Executors.newThreadPerTaskExecutor(threadFactory);
+		this.executorServiceForListeners = Executors.newThreadPerTaskExecutor(threadFactory);
 
-		this.executorServiceForBookmarkUpdates = Executors.newSingleThreadExecutor(threadFactory);
+		// register gauges for the notifications waiting in listener mailboxes
+		io.micrometer.core.instrument.Tags storageTags = io.micrometer.core.instrument.Tags.of("storage", eventStorage.name());
+		meterRegistry.gauge("sliceworkz.eventstore.listener.queue.depth", storageTags.and("kind", "append"), pendingAppendNotifications);
+		meterRegistry.gauge("sliceworkz.eventstore.listener.queue.depth", storageTags.and("kind", "bookmark"), pendingBookmarkNotifications);
 	}
 
 	@Override
@@ -185,7 +226,17 @@ public class EventStoreImpl implements EventStore {
 			serde = EventPayloadSerializerDeserializer.raw();
 		}
 		
-		return new EventStreamImpl<EVENT_TYPE> ( eventStorage, eventStreamId, serde );
+		EventStreamImpl<EVENT_TYPE> result = new EventStreamImpl<EVENT_TYPE> ( eventStorage, eventStreamId, serde );
+		localStreams.subscribe(result.localAppendSignals);
+		return result;
+	}
+
+	/**
+	 * Signals an append to the event streams of this event store, without waiting for the storage to notify about it.
+	 * The later notification by the storage about the same reference is skipped by each subscriber that was signalled.
+	 */
+	private void notifyLocalStreams ( AppendsToEventStoreNotification appended ) {
+		localStreams.notify(appended);
 	}
 
 	class EventStreamImpl<EVENT_TYPE> implements EventStream<EVENT_TYPE>, EventStoreListener {
@@ -199,6 +250,7 @@ public class EventStoreImpl implements EventStore {
 		private Counter meterAppend;
 		private Counter meterAppendOptimisticLock;
 		private Counter meterQuery;
+		private Counter meterQueryHeaders;
 		private Counter meterGetEvent;
 		private Counter meterBookmarkPlace;
 		private Counter meterBookmarkGet;
@@ -209,9 +261,27 @@ public class EventStoreImpl implements EventStore {
 		private final io.micrometer.core.instrument.Tags baseTags;
 		private final AtomicReference<Long> gaugeHighestEventPosition = new AtomicReference<>();
 
-		private final List<EventStreamEventuallyConsistentAppendListener> eventuallyConsistentSubscribers = new CopyOnWriteArrayList<>();
+		private final List<EventuallyConsistentSubscriber> eventuallyConsistentSubscribers = new CopyOnWriteArrayList<>();
+
+		// receives the appends through streams of this event store, strongly referenced as the registry only keeps a weak reference
+		private final EventStoreListener localAppendSignals = new EventStoreListener() {
+			@Override
+			public void notify ( AppendsToEventStoreNotification appended ) {
+				dispatch(appended, true);
+			}
+
+			@Override
+			public void notify ( BookmarkPlacedNotification bookmarkPlaced ) {
+				// bookmarks are only notified by the storage
+			}
+
+			@Override
+			public EventStreamId streamCriteria ( ) {
+				return eventStreamId;
+			}
+		};
 		private final List<EventStreamConsistentAppendListener<EVENT_TYPE>> consistentSubscribers = new CopyOnWriteArrayList<>();
-		private final List<EventStreamEventuallyConsistentBookmarkListener> bookmarkSubscribers = new CopyOnWriteArrayList<>();
+		private final List<ListenerMailbox<String, EventReference>> bookmarkSubscribers = new CopyOnWriteArrayList<>();
 
 		public EventStreamImpl ( EventStorage eventStorage, EventStreamId eventStreamId, EventPayloadSerializerDeserializer serde ) {
 			this.eventStorage = eventStorage;
@@ -229,6 +299,7 @@ public class EventStoreImpl implements EventStore {
 			// prepare counters for metering
 			this.meterAppend = meterRegistry.counter("sliceworkz.eventstore.append", baseTags);
 			this.meterQuery = meterRegistry.counter("sliceworkz.eventstore.query", baseTags);
+			this.meterQueryHeaders = meterRegistry.counter("sliceworkz.eventstore.query.headers", baseTags);
 			this.meterAppendOptimisticLock = meterRegistry.counter("sliceworkz.eventstore.append.optimisticlock", baseTags);
 			this.meterGetEvent = meterRegistry.counter("sliceworkz.eventstore.get.event", baseTags);
 			this.meterBookmarkPlace = meterRegistry.counter("sliceworkz.eventstore.bookmark.place", baseTags);
@@ -250,9 +321,37 @@ public class EventStoreImpl implements EventStore {
 			return eventStreamId;
 		}
 
+		@Override
+		public EventStreamId streamCriteria() {
+			// lets the storage skip notifying this stream about appends to streams it cannot read
+			return eventStreamId;
+		}
+
 		@Override
 		public void subscribe(EventStreamEventuallyConsistentAppendListener eventuallyConsistentSubscriber) {
-			this.eventuallyConsistentSubscribers.add(new OptimizingApendListenerDecorator(eventuallyConsistentSubscriber));
+			subscribe(eventuallyConsistentSubscriber, EventQuery.matchAll());
+		}
+
+		@Override
+		public void subscribe(EventStreamEventuallyConsistentAppendListener eventuallyConsistentSubscriber, EventQuery query) {
+			// a fixed query only needs its legacy event types resolved once
+			EventQuery queryWithLegacyEventTypes = includeLegacyEventTypes(query);
+			addEventuallyConsistentSubscriber(eventuallyConsistentSubscriber, () -> queryWithLegacyEventTypes);
+		}
+
+		@Override
+		public void subscribe(EventStreamEventuallyConsistentAppendListener eventuallyConsistentSubscriber, Supplier<EventQuery> query) {
+			addEventuallyConsistentSubscriber(eventuallyConsistentSubscriber, () -> includeLegacyEventTypes(query.get()));
+		}
+
+		private void addEventuallyConsistentSubscriber(EventStreamEventuallyConsistentAppendListener eventuallyConsistentSubscriber, Supplier<EventQuery> query) {
+			EventStreamEventuallyConsistentAppendListener listener = new OptimizingApendListenerDecorator(eventuallyConsistentSubscriber);
+			// a single pending reference per subscriber, the latest one wins
+			ListenerMailbox<EventStreamId, EventReference> mailbox = new ListenerMailbox<>(executorServiceForListeners,
+					(stream, reference) -> listener.eventsAppended(reference),
+					(pending, next) -> next.happenedAfter(pending) ? next : pending,
+					1, pendingAppendNotifications, dispatchLatency("append"), coalesced("append"), dropped("append"));
+			this.eventuallyConsistentSubscribers.add(new EventuallyConsistentSubscriber(mailbox, query, EventuallyConsistentSubscriber.recentReferences()));
 		}
 
 		@Override
@@ -262,7 +361,21 @@ public class EventStoreImpl implements EventStore {
 
 		@Override
 		public void subscribe(EventStreamEventuallyConsistentBookmarkListener listener) {
-			this.bookmarkSubscribers.add(listener);
+			// a single pending update per reader, the latest one wins
+			this.bookmarkSubscribers.add(new ListenerMailbox<>(executorServiceForListeners, listener::bookmarkUpdated, (pending, next) -> next,
+					MAX_PENDING_BOOKMARK_UPDATES, pendingBookmarkNotifications, dispatchLatency("bookmark"), coalesced("bookmark"), dropped("bookmark")));
+		}
+
+		private Timer dispatchLatency ( String kind ) {
+			return meterRegistry.timer("sliceworkz.eventstore.listener.dispatch.latency", baseTags.and("kind", kind));
+		}
+
+		private Counter coalesced ( String kind ) {
+			return meterRegistry.counter("sliceworkz.eventstore.listener.coalesced", baseTags.and("kind", kind));
+		}
+
+		private Counter dropped ( String kind ) {
+			return meterRegistry.counter("sliceworkz.eventstore.listener.dropped", baseTags.and("kind", kind));
 		}
 
 		@Override
@@ -276,6 +389,21 @@ public class EventStoreImpl implements EventStore {
 				.filter(e->originalFilter.matches(e)));
 		}
 
+		@Override
+		public Stream<EventHeader> queryHeaders(EventQuery query, EventReference cursor, Limit limit) {
+			meterQueryHeaders.increment();
+			QueryDirection direction = query.isBackwards() ? QueryDirection.BACKWARD : QueryDirection.FORWARD;
+			// headers are not upcasted, so legacy event types are included and reported as stored
+			return timerQuery.record(()->eventStorage.queryHeaders(includeLegacyEventTypes(query),Optional.of(eventStreamId), cursor, limit, direction)
+				.map(h->new EventHeader(h.stream(), h.type(), h.reference(), h.tags(), h.timestamp())));
+		}
+
+		@Override
+		public Optional<EventReference> headReference(EventQuery query) {
+			meterQueryHeaders.increment();
+			return timerQuery.record(()->eventStorage.headReference(includeLegacyEventTypes(query), Optional.of(eventStreamId)));
+		}
+
 		private Stream<Event<EVENT_TYPE>> enrichAfterQuery ( StoredEvent storedEvent, QueryDirection direction ) {
 			meterRegistry.counter("sliceworkz.eventstore.query.event", baseTags.and("eventtype", storedEvent.type().name())).increment();
 			return enrich(storedEvent, direction);
@@ -359,6 +487,14 @@ public class EventStoreImpl implements EventStore {
 				// ... and dispatch events directly back to the kernel for update of consistent readmodels etc...
 				LOGGER.debug("Notifying {} consistent clients of stream {} about append of {} events", consistentSubscribers.size(), streamToAppendTo, appendedEvents.size());
 				consistentSubscribers.forEach(s->s.eventsAppended(appendedEvents));
+
+				// ... and signal eventually consistent subscribers in this process right away, instead of after a roundtrip through the storage
+				if ( !appendedEvents.isEmpty() ) {
+					EventReference last = appendedEvents.getLast().reference();
+					Set<EventType> types = events.stream().map(EphemeralEvent::type).collect(Collectors.toSet());
+					Tags tags = events.stream().map(EphemeralEvent::tags).reduce(Tags.none(), Tags::merge);
+					notifyLocalStreams(new AppendsToEventStoreNotification(streamToAppendTo, EventReference.of(last.id(), last.position(), last.tx()), types, tags));
+				}
 			} catch (OptimisticLockingException optimisticLockingException) {
 				meterAppendOptimisticLock.increment();
 				throw optimisticLockingException;
@@ -389,27 +525,41 @@ public class EventStoreImpl implements EventStore {
 
 		@Override
 		public void notify(AppendsToEventStoreNotification newEventsInStore) {
+			dispatch(newEventsInStore, false);
+		}
+
+		/**
+		 * Hands an append over to the eventually consistent subscribers, either signalled right after an append through
+		 * this event store, or notified by the storage.
+		 */
+		private void dispatch ( AppendsToEventStoreNotification newEventsInStore, boolean local ) {
 			// if the events are in the logical stream we care about...
 			if ( newEventsInStore.isRelevantFor(eventStreamId) ) {
-				LOGGER.debug("Must asynchronously notify {} eventually consistent clients of stream {} about append up until at least {}", eventuallyConsistentSubscribers.size(), eventStreamId, newEventsInStore.atLeastUntil());
+				EventReference reference = newEventsInStore.atLeastUntil();
+
+				// ... only wake up the subscribers that could be interested, and weren't signalled this exact reference locally
+				List<EventuallyConsistentSubscriber> toNotify = eventuallyConsistentSubscribers.stream()
+						.filter(s->newEventsInStore.couldMatch(s.query().get()))
+						.filter(s->s.signal(reference, local))
+						.toList();
+				if ( toNotify.isEmpty() ) {
+					LOGGER.debug("Skipping notification of stream {} up until {}, no interested subscribers left to notify", eventStreamId, reference);
+					return;
+				}
+
+				LOGGER.debug("Must asynchronously notify {} of {} eventually consistent clients of stream {} about append up until at least {}", toNotify.size(), eventuallyConsistentSubscribers.size(), eventStreamId, reference);
 				
-				// schedule for execution on different thread to notify/interrupt any waiting eventual consistent processors 
-				executorServiceForEventAppends.execute( ( ) -> {
-						LOGGER.debug("Notifying {} eventually consistent clients of stream {} about append up until at least {}", eventuallyConsistentSubscribers.size(), eventStreamId, newEventsInStore.atLeastUntil());
-						eventuallyConsistentSubscribers.stream().forEach(s->s.eventsAppended(newEventsInStore.atLeastUntil()));
-				});
+				// hand over to the mailbox of each subscriber, which notifies/interrupts any waiting eventual consistent processor on a different thread
+				toNotify.forEach(s->s.mailbox().offer(eventStreamId, reference));
 			}
 		}
 
 		@Override
 		public void notify(BookmarkPlacedNotification bookmarkPlaced) {
-			LOGGER.debug("Must asynchronously notify {} eventually consistent bookmark listeners on {} of update for {} to {}", eventuallyConsistentSubscribers.size(), eventStreamId, bookmarkPlaced.reader(), bookmarkPlaced.bookmark());
+			LOGGER.debug("Must asynchronously notify {} eventually consistent bookmark listeners on {} of update for {} to {}", bookmarkSubscribers.size(), eventStreamId, bookmarkPlaced.reader(), bookmarkPlaced.bookmark());
 			
-			// schedule for execution on different thread to notify/interrupt any waiting eventual consistent processors 
-			executorServiceForBookmarkUpdates.execute( ( ) -> {
-					LOGGER.debug("Notifying {} eventually consistent bookmark listeners on {} of update for {} to {}", eventuallyConsistentSubscribers.size(), eventStreamId, bookmarkPlaced.reader(), bookmarkPlaced.bookmark());
-					bookmarkSubscribers.stream().forEach(s->s.bookmarkUpdated(bookmarkPlaced.reader(), bookmarkPlaced.bookmark()));
-			});
+			// hand over to the mailbox of each listener, which notifies/interrupts any waiting eventual consistent processor on a different thread
+			bookmarkSubscribers.forEach(s->s.offer(bookmarkPlaced.reader(), bookmarkPlaced.bookmark()));
 		}
 
 		@Override
@@ -450,6 +600,49 @@ public class EventStoreImpl implements EventStore {
 				.orElse(List.of());
 		}
 
+		@Override
+		public List<Event<EVENT_TYPE>> getEventsByIds(Collection<EventId> eventIds) {
+			meterGetEvent.increment();
+			if ( eventIds.isEmpty() ) {
+				return List.of();
+			}
+			// single lookup in storage, then the same filtering and upcasting as getEventById
+			return eventStorage.getEventsByIds(eventIds).stream()
+				.filter(e->eventStreamId.canRead(e.stream()))
+				.flatMap(e->enrich(e, QueryDirection.FORWARD))
+				.toList();
+		}
+
+		/**
+		 * An eventually consistent subscriber, with a supplier of the query it is currently interested in (including legacy
+		 * event types) and the most recent references it was signalled by local appends.
+		 * <p>
+		 * Only the storage notifications about exactly those references are skipped. Notifications are not skipped for
+		 * being older than one signalled before: the storage may notify appends in commit order rather than in the order
+		 * of their references, and a subscriber may not have seen a newer append while an older one was uncommitted.
+		 */
+		private record EventuallyConsistentSubscriber ( ListenerMailbox<EventStreamId, EventReference> mailbox, Supplier<EventQuery> query, Set<EventReference> signalledLocally ) {
+
+			static Set<EventReference> recentReferences ( ) {
+				// bounded, as a storage may not notify about every append (or not at all)
+				return Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>() {
+					@Override
+					protected boolean removeEldestEntry ( Map.Entry<EventReference, Boolean> eldest ) {
+						return size() > MAX_LOCALLY_SIGNALLED_REFERENCES;
+					}
+				}));
+			}
+
+			boolean signal ( EventReference reference, boolean local ) {
+				if ( local ) {
+					signalledLocally.add(reference);
+					return true;
+				}
+				return !signalledLocally.remove(reference);
+			}
+
+		}
+
 	}
 
 }
@@ -0,0 +1,161 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded, coalescing mailbox that hands notifications to a single listener, one at a time.
+ * <p>
+ * Each key holds at most one pending value: a value offered for a key that is still pending replaces it
+ * (latest wins, as decided by the merge function), so a slow listener cannot make notifications pile up.
+ * At most {@code capacity} keys are pending at once; values for new keys offered beyond that are dropped.
+ * A single drain task is scheduled on the executor while values are pending, delivering them in the order
+ * their keys were first offered.
+ * <p>
+ * Pending values are counted in a depth counter that can be shared between mailboxes and exposed as a gauge.
+ * The time between the first offer of a key and its delivery is recorded as dispatch latency.
+ *
+ * @param <K> the key values are coalesced on
+ * @param <V> the type of the values delivered to the listener
+ */
+final class ListenerMailbox<K, V> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ListenerMailbox.class);
+
+	private final Executor executor;
+	private final BiConsumer<K, V> listener;
+	private final BinaryOperator<V> merge;
+	private final int capacity;
+
+	private final AtomicInteger depth;
+	private final Timer dispatchLatency;
+	private final Counter coalesced;
+	private final Counter dropped;
+
+	private final Map<K, Pending<V>> pending = new LinkedHashMap<>();
+	private boolean draining;
+
+	/**
+	 * @param executor the executor to run the drain task on
+	 * @param listener receives the pending values, never concurrently
+	 * @param merge combines a pending value with a newly offered one for the same key
+	 * @param capacity the maximum number of keys pending at once
+	 * @param depth counts the values pending in this mailbox, may be shared with other mailboxes
+	 * @param dispatchLatency records the time between the first offer of a key and its delivery
+	 * @param coalesced counts values merged into a pending one
+	 * @param dropped counts values dropped because the mailbox was full
+	 */
+	ListenerMailbox ( Executor executor, BiConsumer<K, V> listener, BinaryOperator<V> merge, int capacity, AtomicInteger depth, Timer dispatchLatency, Counter coalesced, Counter dropped ) {
+		if ( capacity < 1 ) {
+			throw new IllegalArgumentException("capacity must be at least 1");
+		}
+		this.executor = executor;
+		this.listener = listener;
+		this.merge = merge;
+		this.capacity = capacity;
+		this.depth = depth;
+		this.dispatchLatency = dispatchLatency;
+		this.coalesced = coalesced;
+		this.dropped = dropped;
+	}
+
+	/**
+	 * Offers a value for delivery, without blocking on the listener.
+	 *
+	 * @return false if the value was dropped because the mailbox was full
+	 */
+	boolean offer ( K key, V value ) {
+		synchronized ( this ) {
+			Pending<V> current = pending.get(key);
+			if ( current != null ) {
+				pending.put(key, new Pending<>(merge.apply(current.value(), value), current.since()));
+				coalesced.increment();
+			} else if ( pending.size() >= capacity ) {
+				dropped.increment();
+				LOGGER.warn("Dropped notification {} for {}, {} notifications are still pending", value, key, pending.size());
+				return false;
+			} else {
+				pending.put(key, new Pending<>(value, System.nanoTime()));
+				depth.incrementAndGet();
+			}
+			if ( draining ) {
+				return true; // the running drain task picks it up
+			}
+			draining = true;
+		}
+		try {
+			executor.execute(this::drain);
+		} catch ( RuntimeException e ) {
+			synchronized ( this ) {
+				draining = false;
+			}
+			throw e;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of values waiting for delivery
+	 */
+	synchronized int size ( ) {
+		return pending.size();
+	}
+
+	private void drain ( ) {
+		while ( true ) {
+			K key;
+			Pending<V> next;
+			synchronized ( this ) {
+				Iterator<Map.Entry<K, Pending<V>>> it = pending.entrySet().iterator();
+				if ( !it.hasNext() ) {
+					draining = false;
+					return;
+				}
+				Map.Entry<K, Pending<V>> entry = it.next();
+				it.remove();
+				depth.decrementAndGet();
+				key = entry.getKey();
+				next = entry.getValue();
+			}
+			dispatchLatency.record(System.nanoTime() - next.since(), TimeUnit.NANOSECONDS);
+			try {
+				listener.accept(key, next.value());
+			} catch ( RuntimeException e ) {
+				LOGGER.error("Listener failed to handle notification {} for {}", next.value(), key, e);
+			}
+		}
+	}
+
+	private record Pending<V> ( V value, long since ) {
+	}
+
+}
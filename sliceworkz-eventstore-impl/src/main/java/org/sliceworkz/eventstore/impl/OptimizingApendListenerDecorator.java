@@ -42,15 +42,18 @@ import org.sliceworkz.eventstore.stream.EventStreamEventuallyConsistentAppendLis
  * <p>
  * The optimization leverages the return value of {@link EventStreamEventuallyConsistentAppendListener#eventsAppended(EventReference)}
  * to track what the delegate listener has actually processed, allowing it to skip notifications
- * for event references already handled.
+ * for event references already handled. Notifications are not skipped just because a newer reference was
+ * notified before: appends are not always notified in the order of their references, and the delegate may not
+ * have been able to see a newer append while an older one was still being committed.
  *
  * @see EventStreamEventuallyConsistentAppendListener
  */
 public class OptimizingApendListenerDecorator implements EventStreamEventuallyConsistentAppendListener {
     private final EventStreamEventuallyConsistentAppendListener delegate;
     private final ReentrantLock lock;
-    private final AtomicReference<EventReference> lastNotifiedReference;
+    private final AtomicReference<EventReference> lastProcessedReference;
     private final AtomicReference<EventReference> nextEventReference;
+    private volatile boolean pending;
     private volatile boolean updateInProgress;
     
     /**
@@ -61,8 +64,9 @@ public class OptimizingApendListenerDecorator implements EventStreamEventuallyCo
     public OptimizingApendListenerDecorator(EventStreamEventuallyConsistentAppendListener delegate) {
         this.delegate = delegate;
         this.lock = new ReentrantLock();
-        this.lastNotifiedReference = new AtomicReference<>();
+        this.lastProcessedReference = new AtomicReference<>();
         this.nextEventReference = new AtomicReference<>();
+        this.pending = false;
         this.updateInProgress = false;
     }
 
@@ -84,20 +88,20 @@ public class OptimizingApendListenerDecorator implements EventStreamEventuallyCo
      */
     @Override
     public EventReference eventsAppended ( EventReference atLeastUntil ) {
-        if ((lastNotifiedReference.get() != null) && !atLeastUntil.happenedAfter(lastNotifiedReference.get())) {
+        EventReference processed = lastProcessedReference.get();
+        if ((processed != null) && !atLeastUntil.happenedAfter(processed)) {
             return atLeastUntil;
         }
 
-        // Update target to the latest event reference seen
+        // Update target to the latest event reference seen, and make sure the delegate is called (again) after this notification
         nextEventReference.updateAndGet(current -> (current == null || current.happenedBefore(atLeastUntil))? atLeastUntil:current);
+        pending = true;
         
-        if (!lock.tryLock()) {
-            return atLeastUntil; // Someone else is handling it
-        }
-        
+        // only held for bookkeeping, never while the delegate is called
+        lock.lock();
         try {
             if (updateInProgress) {
-                return atLeastUntil; // Update in progress, target already registered
+                return atLeastUntil; // Update in progress, it will pick up the pending notification
             }
             
             notifyDecoratedListener();
@@ -110,12 +114,9 @@ public class OptimizingApendListenerDecorator implements EventStreamEventuallyCo
     }
     
     private void notifyDecoratedListener() {
-        while (true) {
+        while (pending) {
+            pending = false;
             EventReference target = nextEventReference.get();
-
-            if (lastNotifiedReference.get() != null && !target.happenedAfter(lastNotifiedReference.get())) {
-                return;
-            }
             
             updateInProgress = true;
             lock.unlock();
@@ -123,7 +124,7 @@ public class OptimizingApendListenerDecorator implements EventStreamEventuallyCo
             try {
                 EventReference lastSeenByDelegate = delegate.eventsAppended(target);
                 if ( lastSeenByDelegate != null ) {
-                	lastNotifiedReference.set(lastSeenByDelegate.happenedAfter(target)?lastSeenByDelegate:target);
+                	lastProcessedReference.accumulateAndGet(lastSeenByDelegate, (current, seen) -> current == null || seen.happenedAfter(current) ? seen : current);
                 }
             } finally {
                 lock.lock();
@@ -22,6 +22,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -116,6 +117,11 @@ class InMemoryFsEventStorageImpl implements EventStorage {
 		return delegate.getEventById(eventId);
 	}
 
+	@Override
+	public List<StoredEvent> getEventsByIds ( Collection<EventId> eventIds ) {
+		return delegate.getEventsByIds(eventIds);
+	}
+
 	@Override
 	public void subscribe ( EventStoreListener listener ) {
 		delegate.subscribe(listener);
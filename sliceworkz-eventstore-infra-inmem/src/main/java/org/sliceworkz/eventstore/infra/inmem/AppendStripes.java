@@ -0,0 +1,141 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.inmem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
+import org.sliceworkz.eventstore.query.EventFilterItem;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+
+/**
+ * Striped locks that let appends to disjoint consistency boundaries proceed concurrently, following the same
+ * keys as the advisory locks of the Postgres storage.
+ * <p>
+ * Keys are hashed onto a fixed number of read-write lock stripes. An append takes a <em>shared</em> lock on the
+ * keys of each event it writes: its type and each of its tags. A conditional append also takes an <em>exclusive</em>
+ * lock on keys that every event matching its consistency boundary is guaranteed to carry:
+ * <ul>
+ *   <li>an item with tags: a single one of its tags (a matching event carries all of them)</li>
+ *   <li>an item with types only: each of its types (a matching event has one of them)</li>
+ *   <li>an item matching any event, or a match-all boundary: the global lock, which every append shares</li>
+ * </ul>
+ * Idempotency keys are locked exclusively, so that checking and registering them is atomic.
+ * Stripes are acquired in ascending order, each once in its strongest mode, after the global lock, which rules
+ * out deadlocks between appends. Keys sharing a stripe merely serialize more than strictly needed.
+ */
+final class AppendStripes {
+
+	private final ReentrantReadWriteLock global = new ReentrantReadWriteLock();
+	private final ReentrantReadWriteLock[] stripes;
+
+	AppendStripes ( int count ) {
+		this.stripes = new ReentrantReadWriteLock[count];
+		for ( int i = 0; i < count; i++ ) {
+			stripes[i] = new ReentrantReadWriteLock();
+		}
+	}
+
+	/**
+	 * Acquires the locks for an append, blocking until they are all held.
+	 *
+	 * @return the held locks, to be released by closing them
+	 */
+	Locked lock ( AppendCriteria criteria, List<EventToStore> events ) {
+		boolean exclusiveGlobal = false;
+		Map<Integer, Boolean> keys = new TreeMap<>(); // stripe index to exclusive
+
+		for ( EventToStore event: events ) {
+			keys.putIfAbsent(stripe("t:" + event.type().name()), false);
+			for ( Tag tag: event.tags().tags() ) {
+				keys.putIfAbsent(stripe("g:" + tag), false);
+			}
+			if ( event.idempotencyKey() != null ) {
+				keys.put(stripe("i:" + event.idempotencyKey()), true);
+			}
+		}
+
+		if ( !criteria.isNone() ) {
+			if ( criteria.eventFilter().isMatchAll() ) {
+				exclusiveGlobal = true;
+			} else {
+				for ( EventFilterItem item: criteria.eventFilter().items() ) {
+					if ( !item.tags().tags().isEmpty() ) {
+						// any tag of the item will do, take the smallest to make the choice deterministic
+						keys.put(stripe("g:" + Collections.min(item.tags().toStrings())), true);
+					} else if ( !item.eventTypes().eventTypes().isEmpty() ) {
+						for ( EventType type: item.eventTypes().eventTypes() ) {
+							keys.put(stripe("t:" + type.name()), true);
+						}
+					} else {
+						exclusiveGlobal = true;
+					}
+				}
+			}
+		}
+
+		Lock[] locks = new Lock[keys.size() + 1];
+		int n = 0;
+		locks[n++] = exclusiveGlobal ? global.writeLock() : global.readLock();
+		for ( Map.Entry<Integer, Boolean> key: keys.entrySet() ) {
+			ReentrantReadWriteLock stripe = stripes[key.getKey()];
+			locks[n++] = key.getValue() ? stripe.writeLock() : stripe.readLock();
+		}
+
+		Locked locked = new Locked(locks);
+		for ( Lock lock: locks ) {
+			lock.lock();
+			locked.acquired++;
+		}
+		return locked;
+	}
+
+	private int stripe ( String key ) {
+		int hash = key.hashCode();
+		return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+	}
+
+	/**
+	 * Locks held for an append, released in reverse order when closed.
+	 */
+	static final class Locked implements AutoCloseable {
+
+		private final Lock[] locks;
+		private int acquired;
+
+		private Locked ( Lock[] locks ) {
+			this.locks = locks;
+		}
+
+		@Override
+		public void close ( ) {
+			while ( acquired > 0 ) {
+				locks[--acquired].unlock();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.inmem;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of elements, stored in fixed-size chunks.
+ * <p>
+ * Appending never copies the elements already in the log: a new chunk is allocated when the last one is full,
+ * and only the (small) directory of chunks is copied when it has to grow. Appends are O(1), where a
+ * {@link java.util.concurrent.CopyOnWriteArrayList} copies the whole log on every append.
+ * <p>
+ * Appends must be done by one thread at a time, readers need no lock. Appended elements become visible to readers
+ * when they are published: the size is then written to a volatile field, so a reader that reads the size sees all
+ * elements up to it. Publishing several appends at once makes them visible together. Streams iterate the range
+ * requested within the prefix that was published when they were created, and are not affected by later appends.
+ *
+ * @param <E> the type of elements in the log
+ */
+final class ChunkedEventLog<E> {
+
+	private static final int CHUNK_BITS = 12;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private volatile Object[][] chunks = new Object[16][];
+	private volatile int size;
+	private int appended; // only accessed by the appending thread
+
+	/**
+	 * Appends an element at the end of the log, without publishing it; callers must not append concurrently.
+	 *
+	 * @return the index of the element in the log
+	 */
+	int add ( E element ) {
+		int index = appended;
+		int chunk = index >>> CHUNK_BITS;
+		Object[][] directory = chunks;
+		if ( chunk == directory.length ) {
+			directory = Arrays.copyOf(directory, directory.length * 2);
+		}
+		if ( directory[chunk] == null ) {
+			directory[chunk] = new Object[CHUNK_SIZE];
+		}
+		directory[chunk][index & CHUNK_MASK] = element;
+		chunks = directory;
+		appended = index + 1;
+		return index;
+	}
+
+	/**
+	 * Makes all elements appended so far visible to readers; must be called by the appending thread.
+	 */
+	void publish ( ) {
+		size = appended;
+	}
+
+	/**
+	 * @return the number of elements published in the log
+	 */
+	int size ( ) {
+		return size;
+	}
+
+	/**
+	 * @param index zero-based index, lower than a size obtained earlier
+	 * @return the element at the given index
+	 */
+	E get ( int index ) {
+		int published = size;
+		if ( index < 0 || index >= published ) {
+			throw new IndexOutOfBoundsException("index %d out of bounds for size %d".formatted(index, published));
+		}
+		return elementAt(chunks, index);
+	}
+
+	/**
+	 * @return the elements published so far, from first to last
+	 */
+	Stream<E> stream ( ) {
+		return stream(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return the elements published so far, from last to first
+	 */
+	Stream<E> reversedStream ( ) {
+		return reversedStream(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param from the index of the first element, inclusive
+	 * @param to the index to stop before, capped to the published size
+	 * @return the published elements in the range, from first to last
+	 */
+	Stream<E> stream ( int from, int to ) {
+		int end = Math.min(to, size);
+		Object[][] directory = chunks;
+		return IntStream.range(Math.max(from, 0), end).mapToObj(i -> elementAt(directory, i));
+	}
+
+	/**
+	 * @param from the index of the last element returned, inclusive
+	 * @param to the index of the first element returned is just below this one, capped to the published size
+	 * @return the published elements in the range, from last to first
+	 */
+	Stream<E> reversedStream ( int from, int to ) {
+		int start = Math.max(from, 0);
+		int end = Math.min(to, size);
+		Object[][] directory = chunks;
+		return IntStream.range(start, Math.max(start, end)).mapToObj(i -> elementAt(directory, end - 1 - (i - start)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> E elementAt ( Object[][] directory, int index ) {
+		return (E) directory[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.inmem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
+import org.sliceworkz.eventstore.query.EventFilter;
+import org.sliceworkz.eventstore.query.EventFilterItem;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+
+/**
+ * Keeps the position of the last event per event type ({@code t:<type>}), per tag ({@code g:<tag>}) and per
+ * combination of both ({@code b:<type>|<tag>}), like the head catalog of the Postgres storage.
+ * <p>
+ * Appends use it to validate their consistency boundary by looking up a few heads instead of querying the events.
+ * Per filter item, the bound on the position of the last matching event is:
+ * <ul>
+ *   <li>types only: the highest head of its types, which is exact</li>
+ *   <li>tags only: the lowest head of its tags, as a matching event carries all of them</li>
+ *   <li>types and tags: per type the lowest head of the type combined with each tag, then the highest of those</li>
+ * </ul>
+ * Items with a single tag therefore yield an exact head. The catalog spans all streams, so a stream restriction
+ * can only make the actual head lower.
+ */
+final class HeadCatalog {
+
+	private final Map<String, Long> heads = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers an appended event; must be done before the event is published.
+	 */
+	void update ( StoredEvent event ) {
+		long position = event.reference().position();
+		heads.merge(typeKey(event.type()), position, Math::max);
+		for ( Tag tag: event.tags().tags() ) {
+			heads.merge(tagKey(tag), position, Math::max);
+			heads.merge(typeAndTagKey(event.type(), tag), position, Math::max);
+		}
+	}
+
+	/**
+	 * @return an upper bound for the position of the last event matching the filter, {@code 0} if none can
+	 *         match, or {@link Long#MAX_VALUE} if the filter has an item matching any event
+	 */
+	long bound ( EventFilter filter ) {
+		if ( filter.isMatchAll() ) {
+			return Long.MAX_VALUE;
+		}
+		long result = 0;
+		for ( EventFilterItem item: filter.items() ) {
+			result = Math.max(result, bound(item));
+		}
+		return result;
+	}
+
+	private long bound ( EventFilterItem item ) {
+		List<EventType> types = List.copyOf(item.eventTypes().eventTypes());
+		List<Tag> tags = List.copyOf(item.tags().tags());
+		long result = 0;
+		if ( types.isEmpty() && tags.isEmpty() ) {
+			result = Long.MAX_VALUE;
+		} else if ( tags.isEmpty() ) {
+			for ( EventType type: types ) {
+				result = Math.max(result, head(typeKey(type)));
+			}
+		} else if ( types.isEmpty() ) {
+			result = lowestHead(tags.stream().map(HeadCatalog::tagKey).toList());
+		} else {
+			for ( EventType type: types ) {
+				result = Math.max(result, lowestHead(tags.stream().map(tag -> typeAndTagKey(type, tag)).toList()));
+			}
+		}
+		return result;
+	}
+
+	private long lowestHead ( List<String> keys ) {
+		long result = Long.MAX_VALUE;
+		for ( String key: keys ) {
+			result = Math.min(result, head(key));
+		}
+		return result;
+	}
+
+	private long head ( String key ) {
+		return heads.getOrDefault(key, 0L);
+	}
+
+	private static String typeKey ( EventType type ) {
+		return "t:" + type.name();
+	}
+
+	private static String tagKey ( Tag tag ) {
+		return "g:" + tag;
+	}
+
+	private static String typeAndTagKey ( EventType type, Tag tag ) {
+		return "b:" + type.name() + "|" + tag;
+	}
+
+}
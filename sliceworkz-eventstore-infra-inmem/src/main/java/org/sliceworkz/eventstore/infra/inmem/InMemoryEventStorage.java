@@ -46,7 +46,7 @@ import io.micrometer.core.instrument.Metrics;
  *   <li>Tag-based event retrieval for Dynamic Consistency Boundaries (DCB)</li>
  * </ul>
  * <p>
- * The in-memory storage uses a simple list-based structure with synchronization to ensure thread safety.
+ * The in-memory storage uses an append-only log that queries read without locking to ensure thread safety.
  * All events are stored in append-only order with immutable references, making it a faithful implementation
  * of event sourcing principles.
  *
@@ -77,8 +77,10 @@ import io.micrometer.core.instrument.Metrics;
  * }</pre>
  *
  * <h2>Thread Safety:</h2>
- * The in-memory storage implementation is fully thread-safe. All append and query operations are synchronized
- * to ensure consistency, especially for optimistic locking scenarios where queries and appends must be atomic.
+ * The in-memory storage implementation is fully thread-safe. Queries read a consistent snapshot of the event log
+ * without locking, so they scale across threads and never block appends. Appends lock stripes derived from their
+ * consistency boundary and events, which makes the optimistic locking check and the append atomic while appends
+ * to disjoint boundaries proceed concurrently.
  *
  * <h2>Limitations:</h2>
  * <ul>
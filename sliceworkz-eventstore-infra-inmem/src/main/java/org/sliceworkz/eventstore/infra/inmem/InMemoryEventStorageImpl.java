@@ -17,21 +17,23 @@
  */
 package org.sliceworkz.eventstore.infra.inmem;
 
-import java.lang.ref.WeakReference;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.sliceworkz.eventstore.events.Bookmark;
@@ -42,6 +44,7 @@ import org.sliceworkz.eventstore.query.EventQuery;
 import org.sliceworkz.eventstore.query.Limit;
 import org.sliceworkz.eventstore.spi.EventStorage;
 import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.spi.EventStoreListenerRegistry;
 import org.sliceworkz.eventstore.stream.AppendCriteria;
 import org.sliceworkz.eventstore.stream.EventStreamId;
 import org.sliceworkz.eventstore.stream.OptimisticLockingException;
@@ -59,21 +62,32 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
  * <p>
  * Key characteristics:
  * <ul>
- *   <li>Thread-safe: All critical operations are synchronized to ensure consistency</li>
+ *   <li>Thread-safe: Queries read a consistent snapshot without locking, appends are serialized by a lock</li>
  *   <li>Non-persistent: Events exist only in memory and are lost on restart</li>
  *   <li>Fast: Direct memory access without I/O overhead</li>
  *   <li>Full feature support: Implements all EventStorage capabilities including subscriptions and bookmarks</li>
  *   <li>JSON validation: Validates that events can be serialized and deserialized using Jackson</li>
  * </ul>
  * <p>
- * This implementation uses a {@link LinkedList} for the event log to provide efficient append operations,
- * and a {@link HashMap} for bookmark storage. All queries are performed by streaming over the event log
- * and applying filters.
+ * This implementation uses a {@link ChunkedEventLog} for the event log, which appends in constant time without
+ * copying the events already stored, and a {@link ConcurrentHashMap} for bookmark storage. Queries that select on event types,
+ * tags or streams only visit the candidate events found in the {@link PostingListIndex} maintained alongside the log,
+ * other queries stream over the event log; both apply the query filters to the events visited.
+ * Lookups by {@link EventId} are served from a hash index maintained alongside the log.
+ *
+ * <h2>Concurrency:</h2>
+ * Queries take no lock: they read the number of events published in the log once, and only look at the events
+ * below it. The events of an append are published together, after they have been indexed, so a query sees either
+ * all or none of them. Appends hold the {@link AppendStripes} for their consistency boundary and events, so appends
+ * to disjoint boundaries proceed concurrently; only assigning positions and publishing is serialized by a
+ * {@link ReentrantLock}. Neither pins virtual threads the way a monitor does.
  *
  * <h2>Optimistic Locking:</h2>
- * Optimistic locking is implemented by synchronizing both the query and append operations within the
- * {@link #append(AppendCriteria, Optional, List)} method. This ensures that checking for new events
- * and appending are atomic, preventing race conditions in concurrent scenarios.
+ * Optimistic locking is implemented by checking for new events and appending within the stripes held by
+ * {@link #append(AppendCriteria, Optional, List)}. This ensures that checking for new events
+ * and appending are atomic, preventing race conditions in concurrent scenarios. The check looks up the
+ * {@link HeadCatalog} first, and only queries the events when the heads cannot rule out a conflict.
+ * Listeners are notified after the locks are released.
  *
  * <h2>Event Validation:</h2>
  * Before appending, all events are validated by serializing and deserializing them to JSON using Jackson.
@@ -99,14 +113,22 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
  */
 public class InMemoryEventStorageImpl implements EventStorage {
 
+	private static final int APPEND_STRIPES = 64;
+
 	private String name;
-	private List<StoredEvent> eventlog = new CopyOnWriteArrayList<>();
-	private Set<String> idempotencyKeys = new HashSet<>();
-	private List<WeakReference<EventStoreListener>> listeners = new CopyOnWriteArrayList<>();
-	private Map<String,Bookmark> bookmarks = new HashMap<>();
+	private final ChunkedEventLog<StoredEvent> eventlog = new ChunkedEventLog<>();
+	private final PostingListIndex index = new PostingListIndex();
+	private Map<EventId,StoredEvent> eventsById = new ConcurrentHashMap<>();
+	private final HeadCatalog heads = new HeadCatalog();
+	private Set<String> idempotencyKeys = ConcurrentHashMap.newKeySet(); // each key guarded by its append stripe
+	private final EventStoreListenerRegistry listeners = new EventStoreListenerRegistry();
+	private Map<String,Bookmark> bookmarks = new ConcurrentHashMap<>();
 	private JsonMapper jsonMapper;
 	private Limit absoluteLimit;
-	private long txCounter;
+	private final AppendStripes appendStripes = new AppendStripes(APPEND_STRIPES);
+	private final ReentrantLock logLock = new ReentrantLock();
+	private long txCounter; // guarded by logLock
+	private long positionCounter; // guarded by logLock
 
 	/**
 	 * Constructs a new in-memory event storage instance with the specified name and absolute query limit.
@@ -116,8 +138,8 @@ public class InMemoryEventStorageImpl implements EventStorage {
 	 * <p>
 	 * The constructor initializes:
 	 * <ul>
-	 *   <li>An empty event log backed by a {@link CopyOnWriteArrayList}</li>
-	 *   <li>An empty list of event listeners</li>
+	 *   <li>An empty event log backed by a {@link ChunkedEventLog}</li>
+	 *   <li>An empty registry of event listeners</li>
 	 *   <li>An empty bookmark map</li>
 	 *   <li>A Jackson {@link JsonMapper} with auto-discovered modules for event serialization validation</li>
 	 * </ul>
@@ -139,19 +161,28 @@ public class InMemoryEventStorageImpl implements EventStorage {
 		this.jsonMapper = new JsonMapper();
 		this.jsonMapper.findAndRegisterModules();
 		this.absoluteLimit = absoluteLimit;
-		this.eventlog.addAll(initialEvents);
+		initialEvents.forEach(e->{
+			index.add(eventlog.add(e), e);
+			heads.update(e);
+		});
+		eventlog.publish();
+		initialEvents.forEach(e->eventsById.put(e.reference().id(), e));
 		this.bookmarks.putAll(initialBookmarks);
 		this.txCounter = initialEvents.stream()
 				.mapToLong(e -> e.reference().tx())
 				.max()
 				.orElse(0);
+		this.positionCounter = initialEvents.stream()
+				.mapToLong(e -> e.reference().position())
+				.max()
+				.orElse(0);
 	}
 
 	/**
 	 * Queries the event store for events matching the specified criteria, starting after a given reference.
 	 * <p>
-	 * This method is synchronized to ensure thread-safe access to the event log, which is critical for
-	 * optimistic locking scenarios where the query result is used to determine whether to allow an append.
+	 * This method takes no lock: it looks at the events published in the log when it starts, so appends
+	 * that complete while the query runs are not part of its result.
 	 * <p>
 	 * The query processes events in the specified direction (forward or backward) and applies:
 	 * <ul>
@@ -174,29 +205,43 @@ public class InMemoryEventStorageImpl implements EventStorage {
 	 * @see QueryDirection
 	 */
 	@Override
-	public synchronized Stream<StoredEvent> query(EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection direction ) {
+	public Stream<StoredEvent> query(EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection direction ) {
 		Stream<StoredEvent> on;
+		Limit effectiveLimit = effectiveLimit(limit);
 
-		switch ( direction ) {
-			case BACKWARD:
-				on = eventlog.reversed().stream();
-				break;
-			case FORWARD:
-			default:
-				on = eventlog.stream();
-		}
-
+		// range of log indexes to look at: after the cursor going forward, before it going backward, never beyond until
+		int size = eventlog.size();
+		int from = 0;
+		int to = size;
 		if ( after != null ) {
 			if ( direction == QueryDirection.FORWARD ) {
-				on = on.skip(after.position());
+				from = slotsUpTo(after.position(), size);
 			} else {
-				on = on.skip(eventlog.size()-after.position()+1);
+				to = slotsUpTo(after.position()-1, size);
 			}
 		}
-		
-		// if we only need to read until a certain event, we stop after we have reached it
 		if ( query.until() != null ) {
-			on = on.takeWhile(e->e.reference().position()<=query.until().position());
+			to = Math.max(from, Math.min(slotsUpTo(query.until().position(), size), to));
+		}
+
+		Optional<int[]> candidates = index.candidates(query, stream, from, to);
+		if ( candidates.isPresent() ) {
+			// only visit the events found in the posting lists, which are exactly the matching ones, so the limit applies to them
+			int[] indexes = candidates.get();
+			if ( effectiveLimit != null && effectiveLimit.isSet() && indexes.length > effectiveLimit.value() ) {
+				int n = (int)Math.min(effectiveLimit.value(), Integer.MAX_VALUE);
+				indexes = direction == QueryDirection.BACKWARD ? Arrays.copyOfRange(indexes, indexes.length-n, indexes.length) : Arrays.copyOf(indexes, n);
+			}
+			if ( direction == QueryDirection.BACKWARD ) {
+				int[] slots = indexes;
+				on = IntStream.range(0, slots.length).mapToObj(i->eventlog.get(slots[slots.length-1-i]));
+			} else {
+				on = Arrays.stream(indexes).mapToObj(eventlog::get);
+			}
+		} else if ( direction == QueryDirection.BACKWARD ) {
+			on = eventlog.reversedStream(from, to);
+		} else {
+			on = eventlog.stream(from, to);
 		}
 		
 		Stream<StoredEvent> result = on;
@@ -209,13 +254,11 @@ public class InMemoryEventStorageImpl implements EventStorage {
 		
 		result = result.filter(query::matches);
 
-		Limit effectiveLimit = effectiveLimit(limit);
-		
 		if ( effectiveLimit != null && effectiveLimit.isSet() ) {
 			result = result.limit(effectiveLimit.value());
 		}
 
-		var returnValue = new ArrayList<>(result.toList()); // to list and back to avoid ConcurrentUpdateExceptions when writing next event in log (?)
+		var returnValue = new ArrayList<>(result.toList()); // materialized to enforce the absolute limit
 		
 		if ( absoluteLimit != null && absoluteLimit.isSet() && returnValue.size() > absoluteLimit.value() ) {
 			throw new EventStorageException("query returned more results than the configured absolute limit of %d".formatted(absoluteLimit.value()));
@@ -224,35 +267,71 @@ public class InMemoryEventStorageImpl implements EventStorage {
 		return returnValue.stream();
 	}
 	
-	/*
-	 *  Synchronized method, to allow re-querying and storing in one shot (required for optimistic locking)
+	/**
+	 * Translates a position into a log index: the number of events in the published prefix with a position up to it.
+	 * Positions normally equal the log index plus one, which is checked in constant time; otherwise (e.g. initial
+	 * events with gaps in their positions) the index is found with a binary search on the ascending positions.
 	 */
+	private int slotsUpTo ( long position, int size ) {
+		if ( position <= 0 || size == 0 ) {
+			return 0;
+		}
+		int candidate = (int)Math.min(position, size);
+		if ( eventlog.get(candidate-1).reference().position() == position
+				|| candidate == size && eventlog.get(size-1).reference().position() <= position ) {
+			return candidate;
+		}
+		int low = 0;
+		int high = size;
+		while ( low < high ) {
+			int mid = (low + high) >>> 1;
+			if ( eventlog.get(mid).reference().position() <= position ) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	@Override
-	public synchronized List<StoredEvent> append(AppendCriteria appendCriteria, Optional<EventStreamId> streamId, List<EventToStore> events) {
+	public List<StoredEvent> append(AppendCriteria appendCriteria, Optional<EventStreamId> streamId, List<EventToStore> events) {
 		
 		verifyPersistableJson(events);
+
+		List<StoredEvent> result;
+		try ( AppendStripes.Locked locked = appendStripes.lock(appendCriteria, events) ) {
+			result = appendUnderLock(appendCriteria, streamId, events);
+		}
+
+		notifyListeners(result);
+		return result;
+	}
+
+	/*
+	 *  Runs with the append stripes held, to allow re-querying and storing in one shot (required for optimistic locking)
+	 */
+	private List<StoredEvent> appendUnderLock(AppendCriteria appendCriteria, Optional<EventStreamId> streamId, List<EventToStore> events) {
 		
 		List<StoredEvent> result = Collections.emptyList();
+
+		// an already stored idempotency key means this append was processed before, silently skip it
+		if ( events.stream().anyMatch(e -> e.idempotencyKey() != null && idempotencyKeys.contains(e.idempotencyKey())) ) {
+			return result;
+		}
 		
 		// if we should just append and not check, or no reference was present to a last event id (empty stream)
 		if ( appendCriteria.isNone() || appendCriteria.expectedLastEventReference() == null ) {
-			result = addAndNotifyListeners(events);
+			result = addToEventLog(events);
 			
 		// otherwise, we'll need to be aware of any optimistic locking issues
 		} else {
 			
-			// we query the stream with the event filter from the last event known as our reference
-			// we only need to fetch max 1 event to prove a locking issue
-			EventQuery lockingQuery = new EventQuery(appendCriteria.eventFilter(), EventQuery.Direction.FORWARD, Limit.none());
-			Stream<StoredEvent> newEventStream = query(lockingQuery, streamId, appendCriteria.expectedLastEventReference().orElse(null), Limit.to(1), QueryDirection.FORWARD);
-
-			List<StoredEvent> newEvents = newEventStream.toList();
-
 			// if there are no new events in the stream ...
-			if ( newEvents.isEmpty() ) {
+			if ( !hasEventsAfterExpected(appendCriteria, streamId) ) {
 
 				// we can safely append to the event log
-				result = addAndNotifyListeners(events);
+				result = addToEventLog(events);
 
 			} else {
 				// new events means an optimistic lock !
@@ -263,6 +342,21 @@ public class InMemoryEventStorageImpl implements EventStorage {
 		return result;
 	}
 	
+	private boolean hasEventsAfterExpected ( AppendCriteria appendCriteria, Optional<EventStreamId> streamId ) {
+		EventReference expected = appendCriteria.expectedLastEventReference().orElse(null);
+
+		// the head catalog proves most appends conflict-free without looking at the events
+		long expectedPosition = expected == null ? 0 : expected.position();
+		if ( heads.bound(appendCriteria.eventFilter()) <= expectedPosition ) {
+			return false;
+		}
+
+		// we query the stream with the event filter from the last event known as our reference
+		// we only need to fetch max 1 event to prove a locking issue
+		EventQuery lockingQuery = new EventQuery(appendCriteria.eventFilter(), EventQuery.Direction.FORWARD, Limit.none());
+		return query(lockingQuery, streamId, expected, Limit.to(1), QueryDirection.FORWARD).findAny().isPresent();
+	}
+
 	private void verifyPersistableJson ( List<EventToStore> newEvents ) {
 		try {
 			for ( EventToStore e: newEvents ) {
@@ -283,25 +377,34 @@ public class InMemoryEventStorageImpl implements EventStorage {
 		}
 	}
 	
-	private List<StoredEvent> addAndNotifyListeners ( List<EventToStore> events ) {
-		long tx = ++txCounter;
-		var addedEvents = events.stream().map(e -> addEventToEventLog(e, tx)).filter(e->e!=null).toList();
-		
-		// notify each Listener about the appends, but if multiple Events were appended, only notify about the last one
+	private List<StoredEvent> addToEventLog ( List<EventToStore> events ) {
+		List<StoredEvent> addedEvents;
+		// only assigning positions and publishing is serialized across all appends
+		logLock.lock();
+		try {
+			long tx = ++txCounter;
+			addedEvents = events.stream().map(e -> addEventToEventLog(e, tx)).filter(e->e!=null).toList();
+			// resolvable by id before any query can return them
+			addedEvents.forEach(e->eventsById.put(e.reference().id(), e));
+	
+			// all events of the append become visible to queries at once
+			eventlog.publish();
+		} finally {
+			logLock.unlock();
+		}
+		return addedEvents;
+	}
+
+	private void notifyListeners ( List<StoredEvent> addedEvents ) {
+		// notify each Listener about the appends, but if multiple Events were appended, only notify about the last one (with the types and tags of all of them)
 		addedEvents.stream()
 			    .collect(Collectors.toMap(
 			        StoredEvent::stream,
-			        event -> new AppendsToEventStoreNotification(event.stream(), event.reference()),
-			        (existing, replacement) -> replacement // in sequence, only useful to notify about the last one
+			        event -> new AppendsToEventStoreNotification(event.stream(), event.reference(), Set.of(event.type()), event.tags()),
+			        AppendsToEventStoreNotification::merge
 			    ))
 			    .values()
-			    .forEach(notification->listeners.forEach(listener->{
-			    	if (listener.get()!=null){
-			    		listener.get().notify(notification);
-			    	};
-			    }));
-		
-		return addedEvents;
+			    .forEach(listeners::notify);
 	}
 	
 	private StoredEvent addEventToEventLog ( EventToStore event, long tx ) {
@@ -313,49 +416,56 @@ public class InMemoryEventStorageImpl implements EventStorage {
 			idempotencyKeys.add(event.idempotencyKey());
 		}
 
-		long position = eventlog.size() + 1;
+		long position = ++positionCounter;
 		EventReference reference = EventReference.create(position, tx);
 		StoredEvent storedEvent = event.positionAt(reference, LocalDateTime.now(ZoneOffset.UTC));
-		eventlog.add(storedEvent);
+		index.add(eventlog.add(storedEvent), storedEvent); // indexed before published in the log
+		heads.update(storedEvent);
 		return storedEvent;
 	}
 
 	@Override
 	public Optional<StoredEvent> getEventById(EventId eventId) {
-		return eventlog.stream().filter(e->e.reference().id().equals(eventId)).findFirst();
+		return eventId == null ? Optional.empty() : Optional.ofNullable(eventsById.get(eventId));
+	}
+
+	@Override
+	public List<StoredEvent> getEventsByIds(Collection<EventId> eventIds) {
+		return eventIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.map(eventsById::get)
+				.filter(Objects::nonNull)
+				.sorted(Comparator.comparingLong(e -> e.reference().position()))
+				.toList();
 	}
 
 	@Override
 	public void subscribe(EventStoreListener listener) {
-		listeners.add(new WeakReference<>(listener));
-		listeners.removeIf(ref -> ref.get() == null);
+		listeners.subscribe(listener);
 	}
 
 	@Override
-	public synchronized Optional<EventReference> getBookmark(String reader) {
+	public Optional<EventReference> getBookmark(String reader) {
 		return Optional.ofNullable(bookmarks.get(reader)).map(Bookmark::reference);
 	}
 
 	@Override
-	public synchronized List<Bookmark> getBookmarks() {
+	public List<Bookmark> getBookmarks() {
 		return List.copyOf(bookmarks.values());
 	}
 
 	@Override
-	public synchronized void removeBookmark(String reader) {
+	public void removeBookmark(String reader) {
 		bookmarks.remove(reader);
 	}
 
 	@Override
-	public synchronized void bookmark(String reader, EventReference eventReference, Tags tags ) {
+	public void bookmark(String reader, EventReference eventReference, Tags tags ) {
 		Tags effectiveTags = tags == null ? Tags.none() : tags;
 		bookmarks.put(reader, new Bookmark(reader, eventReference, effectiveTags, Instant.now()));
 		BookmarkPlacedNotification notification = new BookmarkPlacedNotification(reader, eventReference);
-		listeners.forEach(l->{
-			if ( l.get() != null ) {
-				l.get().notify(notification);
-			}
-		});
+		listeners.notify(notification);
 	}
 
 	/**
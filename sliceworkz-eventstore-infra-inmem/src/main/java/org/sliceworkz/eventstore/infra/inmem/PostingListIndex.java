@@ -0,0 +1,226 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.inmem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
+import org.sliceworkz.eventstore.query.EventFilterItem;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+/**
+ * Secondary indexes over a {@link ChunkedEventLog}: posting lists with the ascending log indexes of the events
+ * per event type, per tag and per stream.
+ * <p>
+ * A query is translated into the log indexes of its candidate events by following the structure of its filter:
+ * within an item the posting lists of its event types are united and those of its tags intersected, the items
+ * of the query are united, and the result is intersected with the posting lists of the streams that can be read.
+ * Only the part of each posting list within the requested index range is looked at. When neither the filter nor
+ * the stream narrow down the events, there are no candidates and the log must be scanned.
+ * <p>
+ * Candidates are exactly the events in the range that match the query and stream, so a limit can be applied to
+ * them before any event is read from the log; callers still apply the query to the events as a safeguard.
+ * Events are indexed by one thread at a time, before they are published in the log, so readers that only
+ * look at indexes below the published size of the log see complete posting lists without locking.
+ */
+final class PostingListIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private final Map<EventType, PostingList> byType = new ConcurrentHashMap<>();
+	private final Map<Tag, PostingList> byTag = new ConcurrentHashMap<>();
+	private final Map<EventStreamId, PostingList> byStream = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds an event to the posting lists; callers must not add concurrently, and must add in log order.
+	 *
+	 * @param index the index of the event in the log
+	 */
+	void add ( int index, StoredEvent event ) {
+		byType.computeIfAbsent(event.type(), t -> new PostingList()).add(index);
+		event.tags().tags().forEach(tag -> byTag.computeIfAbsent(tag, t -> new PostingList()).add(index));
+		byStream.computeIfAbsent(event.stream(), s -> new PostingList()).add(index);
+	}
+
+	/**
+	 * Determines the log indexes of the events that could match a query on a stream.
+	 *
+	 * @param from the lowest log index to consider
+	 * @param to the log index to stop before
+	 * @return the ascending log indexes of the candidate events in the range, or empty if the query and stream
+	 *         do not narrow down the events and the range of the log must be scanned
+	 */
+	Optional<int[]> candidates ( EventQuery query, Optional<EventStreamId> stream, int from, int to ) {
+		if ( from >= to || query.isMatchNone() ) {
+			return Optional.of(NONE);
+		}
+		int[] byFilter = query.isMatchAll() ? null : candidates(query.items(), from, to);
+		int[] byStreams = stream.isPresent() ? candidates(stream.get(), from, to) : null;
+		if ( byFilter == null ) {
+			return Optional.ofNullable(byStreams);
+		} else if ( byStreams == null ) {
+			return Optional.of(byFilter);
+		} else {
+			return Optional.of(intersect(byFilter, byStreams));
+		}
+	}
+
+	private int[] candidates ( List<EventFilterItem> items, int from, int to ) {
+		int[] result = NONE;
+		for ( EventFilterItem item: items ) {
+			int[] itemCandidates = candidates(item, from, to);
+			if ( itemCandidates == null ) {
+				return null; // an item without criteria matches any event
+			}
+			result = union(result, itemCandidates);
+		}
+		return result;
+	}
+
+	private int[] candidates ( EventFilterItem item, int from, int to ) {
+		int[] result = null;
+		if ( !item.eventTypes().eventTypes().isEmpty() ) {
+			result = NONE;
+			for ( EventType type: item.eventTypes().eventTypes() ) {
+				result = union(result, range(byType.get(type), from, to));
+			}
+		}
+		for ( Tag tag: item.tags().tags() ) {
+			int[] tagged = range(byTag.get(tag), from, to);
+			result = result == null ? tagged : intersect(result, tagged);
+		}
+		return result;
+	}
+
+	private int[] candidates ( EventStreamId stream, int from, int to ) {
+		if ( stream.isAnyContext() && stream.isAnyPurpose() ) {
+			return null; // all streams can be read
+		} else if ( stream.canAppend() ) {
+			return range(byStream.get(stream), from, to);
+		} else {
+			int[] result = NONE;
+			for ( Map.Entry<EventStreamId, PostingList> entry: byStream.entrySet() ) {
+				if ( stream.canRead(entry.getKey()) ) {
+					result = union(result, entry.getValue().range(from, to));
+				}
+			}
+			return result;
+		}
+	}
+
+	private static int[] range ( PostingList list, int from, int to ) {
+		return list == null ? NONE : list.range(from, to);
+	}
+
+	static int[] union ( int[] a, int[] b ) {
+		if ( a.length == 0 ) {
+			return b;
+		} else if ( b.length == 0 ) {
+			return a;
+		}
+		int[] result = new int[a.length + b.length];
+		int i = 0, j = 0, n = 0;
+		while ( i < a.length && j < b.length ) {
+			if ( a[i] < b[j] ) {
+				result[n++] = a[i++];
+			} else if ( a[i] > b[j] ) {
+				result[n++] = b[j++];
+			} else {
+				result[n++] = a[i++];
+				j++;
+			}
+		}
+		while ( i < a.length ) {
+			result[n++] = a[i++];
+		}
+		while ( j < b.length ) {
+			result[n++] = b[j++];
+		}
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+
+	static int[] intersect ( int[] a, int[] b ) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int i = 0, j = 0, n = 0;
+		while ( i < a.length && j < b.length ) {
+			if ( a[i] < b[j] ) {
+				i++;
+			} else if ( a[i] > b[j] ) {
+				j++;
+			} else {
+				result[n++] = a[i++];
+				j++;
+			}
+		}
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * Growable, append-only list of ascending log indexes, with a single writer and lock-free readers.
+	 */
+	private static final class PostingList {
+
+		private volatile int[] indexes = new int[4];
+		private volatile int size;
+
+		void add ( int index ) {
+			int n = size;
+			int[] current = indexes;
+			if ( n == current.length ) {
+				current = Arrays.copyOf(current, n * 2);
+			}
+			current[n] = index;
+			indexes = current;
+			size = n + 1; // publishes the index to readers
+		}
+
+		/**
+		 * @return the indexes in the list from {@code from} (inclusive) to {@code to} (exclusive)
+		 */
+		int[] range ( int from, int to ) {
+			int n = size;
+			int[] current = indexes;
+			int start = lowerBound(current, n, from);
+			int end = lowerBound(current, n, to);
+			return start >= end ? NONE : Arrays.copyOfRange(current, start, end);
+		}
+
+		private static int lowerBound ( int[] values, int size, int value ) {
+			int low = 0;
+			int high = size;
+			while ( low < high ) {
+				int mid = (low + high) >>> 1;
+				if ( values[mid] < value ) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+	}
+
+}
@@ -24,7 +24,7 @@
  * <h2>Key Characteristics:</h2>
  * <ul>
  *   <li><strong>Non-persistent:</strong> All data is lost when the application stops</li>
- *   <li><strong>Thread-safe:</strong> Synchronized access for concurrent operations</li>
+ *   <li><strong>Thread-safe:</strong> Lock-free snapshot reads, appends locked per consistency boundary</li>
  *   <li><strong>Full-featured:</strong> Supports all EventStore capabilities including subscriptions and bookmarks</li>
  *   <li><strong>Fast:</strong> No I/O overhead, suitable for high-speed testing</li>
  *   <li><strong>Simple:</strong> No configuration or setup required</li>
@@ -0,0 +1,68 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.inmem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedEventLogTest {
+
+	@Test
+	void testAppendAcrossChunks ( ) {
+		ChunkedEventLog<Integer> log = new ChunkedEventLog<>();
+		int count = 100_000; // spans many chunks and grows the chunk directory
+		IntStream.range(0, count).forEach(log::add);
+		log.publish();
+
+		assertEquals(count, log.size());
+		assertEquals(0, log.get(0));
+		assertEquals(4096, log.get(4096));
+		assertEquals(count - 1, log.get(count - 1));
+		assertEquals(IntStream.range(0, count).boxed().toList(), log.stream().toList());
+		assertEquals(List.of(count - 1, count - 2, count - 3), log.reversedStream().limit(3).toList());
+		assertEquals(List.of(4097, 4098), log.stream(4097, 4099).toList());
+		assertEquals(List.of(4098, 4097), log.reversedStream(4097, 4099).toList());
+		assertEquals(List.of(count - 1), log.stream(count - 1, count + 10).toList());
+		assertThrows(IndexOutOfBoundsException.class, ()->log.get(count));
+	}
+
+	@Test
+	void testStreamIteratesPrefixPublishedAtCreation ( ) {
+		ChunkedEventLog<String> log = new ChunkedEventLog<>();
+		log.add("a");
+		log.add("b");
+		log.publish();
+
+		Stream<String> forward = log.stream();
+		Stream<String> backward = log.reversedStream();
+		log.add("c");
+		assertEquals(2, log.size()); // not published yet
+		log.publish();
+
+		assertEquals(List.of("a", "b"), forward.toList());
+		assertEquals(List.of("b", "a"), backward.toList());
+		assertEquals(List.of("a", "b", "c"), log.stream().toList());
+	}
+
+}
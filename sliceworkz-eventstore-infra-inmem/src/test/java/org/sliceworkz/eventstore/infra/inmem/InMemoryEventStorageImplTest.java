@@ -22,16 +22,34 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.sliceworkz.eventstore.EventStore;
 import org.sliceworkz.eventstore.events.Event;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
 import org.sliceworkz.eventstore.events.Tags;
 import org.sliceworkz.eventstore.infra.inmem.InMemoryEventStorageImplTest.ProblematicParsing.ProblematicParsingRecord;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
+import org.sliceworkz.eventstore.query.Limit;
 import org.sliceworkz.eventstore.spi.EventStorage;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
 import org.sliceworkz.eventstore.stream.AppendCriteria;
 import org.sliceworkz.eventstore.stream.EventStreamId;
+import org.sliceworkz.eventstore.stream.OptimisticLockingException;
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
@@ -90,6 +108,135 @@ public class InMemoryEventStorageImplTest {
 	}
 	
 	
+	@Test
+	void testIndexedQueriesMatchFilteredScan ( ) {
+		EventStorage storage = InMemoryEventStorage.newBuilder().build();
+		EventStreamId first = EventStreamId.forContext("ctx").withPurpose("first");
+		EventStreamId second = EventStreamId.forContext("ctx").withPurpose("second");
+		for ( int i = 0; i < 1000; i++ ) {
+			storage.append(AppendCriteria.none(), Optional.empty(), List.of(new EventToStore(i % 3 == 0 ? first : second, EventType.ofType(i % 2 == 0 ? "Even" : "Odd"), "{}", null, Tags.of(Tag.of("customer", i % 10), Tag.of("batch", i / 100)), null)));
+		}
+		List<StoredEvent> all = storage.query(EventQuery.matchAll(), Optional.empty(), null, Limit.none(), QueryDirection.FORWARD).toList();
+		EventReference after = all.get(249).reference();
+		EventReference until = all.get(749).reference();
+
+		List<EventQuery> queries = List.of(
+				EventQuery.forEvents(EventTypesFilter.any(), Tags.of("customer", 3)),
+				EventQuery.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Even"))), Tags.of(Tag.of("customer", 4), Tag.of("batch", 2))),
+				EventQuery.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Odd"))), Tags.none()).combineWith(EventQuery.forEvents(EventTypesFilter.any(), Tags.of("batch", 9))),
+				EventQuery.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Unknown"))), Tags.none()),
+				EventQuery.matchAll());
+		List<Optional<EventStreamId>> streams = List.of(Optional.empty(), Optional.of(first), Optional.of(EventStreamId.forContext("ctx").anyPurpose()));
+
+		for ( EventQuery query: queries ) {
+			for ( Optional<EventStreamId> stream: streams ) {
+				List<StoredEvent> expected = all.stream().filter(query::matches).filter(e->stream.map(s->s.canRead(e.stream())).orElse(true)).toList();
+				assertEquals(expected, storage.query(query, stream, null, Limit.none(), QueryDirection.FORWARD).toList());
+				assertEquals(expected.reversed(), storage.query(query, stream, null, Limit.none(), QueryDirection.BACKWARD).toList());
+
+				List<StoredEvent> ranged = expected.stream().filter(e->e.reference().happenedAfter(after) && !e.reference().happenedAfter(until)).toList();
+				assertEquals(ranged, storage.query(query.until(until), stream, after, Limit.none(), QueryDirection.FORWARD).toList());
+				assertEquals(expected.stream().filter(e->e.reference().happenedBefore(until)).toList().reversed().stream().limit(5).toList(),
+						storage.query(query, stream, until, Limit.to(5), QueryDirection.BACKWARD).toList());
+			}
+		}
+	}
+
+	@Test
+	void testQueriesSeeWholeAppendsWhileAppending ( ) throws Exception {
+		EventStorage storage = InMemoryEventStorage.newBuilder().build();
+		EventStreamId stream = EventStreamId.forContext("ctx").withPurpose("pairs");
+		EventToStore event = new EventToStore(stream, EventType.ofType("Paired"), "{}", null, Tags.of("pair", "x"), null);
+
+		Thread writer = Thread.ofVirtual().start(()->{
+			for ( int i = 0; i < 2000; i++ ) {
+				storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event, event));
+			}
+		});
+		AtomicInteger unevenSnapshots = new AtomicInteger();
+		List<Thread> readers = IntStream.range(0, 4).mapToObj(r->Thread.ofVirtual().start(()->{
+			while ( writer.isAlive() ) {
+				long scanned = storage.query(EventQuery.matchAll(), Optional.empty(), null, Limit.none(), QueryDirection.BACKWARD).count();
+				long indexed = storage.query(EventQuery.forEvents(EventTypesFilter.any(), Tags.of("pair", "x")), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD).count();
+				if ( scanned % 2 != 0 || indexed % 2 != 0 ) {
+					unevenSnapshots.incrementAndGet();
+				}
+			}
+		})).toList();
+
+		writer.join();
+		for ( Thread reader: readers ) {
+			reader.join();
+		}
+		assertEquals(0, unevenSnapshots.get());
+		assertEquals(4000, storage.query(EventQuery.matchAll(), Optional.empty(), null, Limit.none(), QueryDirection.FORWARD).count());
+	}
+
+	@Test
+	void testConcurrentConditionalAppendsNeverBothSucceedOnSameBoundary ( ) throws Exception {
+		EventStorage storage = InMemoryEventStorage.newBuilder().build();
+		EventStreamId stream = EventStreamId.forContext("ctx").withPurpose("counters");
+		int counters = 4;
+		int incrementsPerWriter = 50;
+
+		// two writers per counter compete on its boundary, writers of different counters don't
+		List<Thread> writers = IntStream.range(0, counters * 2).mapToObj(w->Thread.ofVirtual().start(()->{
+			EventQuery boundary = EventQuery.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Incremented"))), Tags.of("counter", w % counters));
+			int done = 0;
+			while ( done < incrementsPerWriter ) {
+				Optional<EventReference> last = storage.query(boundary.backwards(), Optional.of(stream), null, Limit.to(1), QueryDirection.BACKWARD).findFirst().map(StoredEvent::reference);
+				String data = "{\"after\":%d}".formatted(last.map(EventReference::position).orElse(0L));
+				try {
+					storage.append(new AppendCriteria(boundary.filter(), last), Optional.of(stream), List.of(new EventToStore(stream, EventType.ofType("Incremented"), data, null, Tags.of("counter", w % counters), null)));
+					done++;
+				} catch ( OptimisticLockingException e ) {
+					// another writer appended to the same counter first, retry
+				}
+			}
+		})).toList();
+		for ( Thread writer: writers ) {
+			writer.join();
+		}
+
+		List<StoredEvent> all = storage.query(EventQuery.matchAll(), Optional.empty(), null, Limit.none(), QueryDirection.FORWARD).toList();
+		assertEquals(counters * 2 * incrementsPerWriter, all.size());
+		for ( int c = 0; c < counters; c++ ) {
+			Tags counter = Tags.of("counter", c);
+			// every increment builds on the one before it in its counter, none was lost
+			List<String> predecessors = all.stream().filter(e->e.tags().containsAll(counter)).map(StoredEvent::immutableData).toList();
+			assertEquals(predecessors.size(), Set.copyOf(predecessors).size());
+		}
+	}
+
+	@Test
+	void testCursorsOnInitialEventsWithGapsInPositions ( ) {
+		EventStreamId stream = EventStreamId.forContext("ctx").withPurpose("gaps");
+		// positions 3, 6, 9, ... as left behind by events that were removed from the files
+		List<StoredEvent> initial = IntStream.rangeClosed(1, 100)
+				.mapToObj(i->new StoredEvent(stream, EventType.ofType(i % 10 == 0 ? "Snapshot" : "Changed"), EventReference.create(i * 3L, i), "{}", null, Tags.of("aggregate", i % 2), LocalDateTime.now()))
+				.toList();
+		EventStorage storage = new InMemoryEventStorageImpl("gaps", Limit.none(), initial, Map.of());
+		EventQuery snapshots = EventQuery.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Snapshot"))), Tags.of("aggregate", 0));
+
+		// the latest snapshot, also when the cursor doesn't point at an existing position
+		assertEquals(300, storage.query(snapshots, Optional.of(stream), null, Limit.to(1), QueryDirection.BACKWARD).findFirst().get().reference().position());
+		assertEquals(240, storage.query(snapshots, Optional.of(stream), initial.get(89).reference(), Limit.to(1), QueryDirection.BACKWARD).findFirst().get().reference().position());
+		assertEquals(List.of(27L, 24L), positions(storage.query(EventQuery.matchAll(), Optional.empty(), EventReference.create(29, 10), Limit.to(2), QueryDirection.BACKWARD)));
+
+		assertEquals(List.of(33L, 36L), positions(storage.query(EventQuery.matchAll(), Optional.empty(), EventReference.create(31, 11), Limit.to(2), QueryDirection.FORWARD)));
+		assertEquals(List.of(6L, 9L), positions(storage.query(EventQuery.matchAll().until(EventReference.create(10, 3)), Optional.empty(), initial.get(0).reference(), Limit.none(), QueryDirection.FORWARD)));
+		assertEquals(List.of(300L), positions(storage.query(EventQuery.matchAll(), Optional.empty(), initial.get(98).reference(), Limit.none(), QueryDirection.FORWARD)));
+		assertEquals(List.of(), positions(storage.query(EventQuery.matchAll(), Optional.empty(), EventReference.create(500, 200), Limit.none(), QueryDirection.FORWARD)));
+
+		// appends continue after the highest position
+		storage.append(AppendCriteria.none(), Optional.of(stream), List.of(new EventToStore(stream, EventType.ofType("Changed"), "{}", null, Tags.none(), null)));
+		assertEquals(List.of(301L), positions(storage.query(EventQuery.matchAll(), Optional.empty(), initial.get(99).reference(), Limit.none(), QueryDirection.FORWARD)));
+	}
+
+	private static List<Long> positions ( Stream<StoredEvent> events ) {
+		return events.map(e->e.reference().position()).toList();
+	}
+
 	// more documentation of a pattern that a test
 	@Test
 	public void parseInvalidOldValue ( ) throws Exception {
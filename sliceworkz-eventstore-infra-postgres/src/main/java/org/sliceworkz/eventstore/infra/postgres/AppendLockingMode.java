@@ -0,0 +1,54 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+/**
+ * Selects how concurrent conditional appends are isolated from each other.
+ * <p>
+ * A conditional append checks that no event matching its consistency boundary was stored after the expected
+ * reference, and inserts its events in the same statement. Under PostgreSQL's default READ COMMITTED isolation,
+ * two such appends running at the same time do not see each other's uncommitted events, so both may pass the
+ * check. The mode is set on the {@link PostgresEventStorage.Builder} via
+ * {@link PostgresEventStorage.Builder#appendLocking(AppendLockingMode)}.
+ *
+ * @see PostgresEventStorage.Builder
+ */
+public enum AppendLockingMode {
+
+	/**
+	 * No locks are taken; concurrent appends are not isolated beyond the single-statement check.
+	 * <p>
+	 * This is the default, and suitable when writers for overlapping consistency boundaries are serialized
+	 * by the application itself (e.g. a single writer per aggregate or partition).
+	 */
+	NONE,
+
+	/**
+	 * Each append takes transaction-scoped advisory locks derived from the types and tags of its consistency
+	 * boundary and of the events it appends, before inserting.
+	 * <p>
+	 * Appends whose boundaries and events do not overlap proceed fully in parallel, while overlapping ones
+	 * are serialized for the duration of their (short) transactions, so the optimistic locking check always
+	 * sees events committed by a conflicting writer. Unconditional appends only take shared locks and never
+	 * block each other. Bulk imports take the same shared locks per batch as an unconditional append of the
+	 * batch's events. Advisory lock keys of different event stores in one database are kept apart by the
+	 * table prefix.
+	 */
+	ADVISORY
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
+import org.sliceworkz.eventstore.query.EventFilterItem;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+
+/**
+ * Derives the transaction-scoped advisory locks an append takes in {@link AppendLockingMode#ADVISORY} mode.
+ * <p>
+ * Every event gets lock keys for each of its tags, for its type, and one global key. An append takes a
+ * <em>shared</em> lock on the keys of each event it writes. A conditional append also takes an
+ * <em>exclusive</em> lock on keys that every event matching its consistency boundary is guaranteed to carry:
+ * <ul>
+ *   <li>an item with tags: a single one of its tags (a matching event carries all of them)</li>
+ *   <li>an item with types only: each of its types (a matching event has one of them)</li>
+ *   <li>an item matching any event, or a match-all boundary: the global key</li>
+ * </ul>
+ * A writer that could append an event inside another writer's boundary therefore always contends on at least
+ * one key, while writers with disjoint boundaries and events proceed in parallel. Unconditional appends only
+ * share locks, so they never block each other. Keys are acquired in ascending order, each once in its strongest
+ * mode, which rules out deadlocks between appends.
+ * <p>
+ * The stream of the append is deliberately not part of the keys: boundaries may span streams, so this errs on
+ * the side of serializing slightly more than strictly needed.
+ */
+final class AppendLocks {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private AppendLocks ( ) {
+
+	}
+
+	/**
+	 * Computes the lock keys for an append.
+	 *
+	 * @param prefix the table prefix of the event store, so separate stores in one database do not contend
+	 * @param criteria the append criteria defining the consistency boundary
+	 * @param events the events to append
+	 * @return the lock keys in ascending order, mapped to {@code true} for exclusive and {@code false} for shared locks
+	 */
+	static SortedMap<Long, Boolean> keys ( String prefix, AppendCriteria criteria, List<EventToStore> events ) {
+		SortedMap<Long, Boolean> keys = new TreeMap<>();
+
+		for ( EventToStore event : events ) {
+			addEventKeys(keys, prefix, event);
+		}
+
+		if ( !criteria.isNone() ) {
+			List<EventFilterItem> items = criteria.eventFilter().isMatchAll() ? null : criteria.eventFilter().items();
+			if ( items == null ) {
+				keys.put(globalKey(prefix), true);
+			} else {
+				for ( EventFilterItem item : items ) {
+					if ( !item.tags().tags().isEmpty() ) {
+						// any tag of the item will do, take the smallest to make the choice deterministic
+						String tag = Collections.min(item.tags().toStrings());
+						keys.put(tagKey(prefix, tag), true);
+					} else if ( !item.eventTypes().eventTypes().isEmpty() ) {
+						for ( EventType type : item.eventTypes().eventTypes() ) {
+							keys.put(typeKey(prefix, type), true);
+						}
+					} else {
+						keys.put(globalKey(prefix), true);
+					}
+				}
+			}
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Adds the shared lock keys of an event that is written, unless the key is already present.
+	 *
+	 * @param keys the lock keys collected so far, mapped to {@code true} for exclusive and {@code false} for shared locks
+	 * @param prefix the table prefix of the event store
+	 * @param event the event to write
+	 */
+	static void addEventKeys ( SortedMap<Long, Boolean> keys, String prefix, EventToStore event ) {
+		keys.putIfAbsent(globalKey(prefix), false);
+		keys.putIfAbsent(typeKey(prefix, event.type()), false);
+		for ( Tag tag : event.tags().tags() ) {
+			keys.putIfAbsent(tagKey(prefix, tag.toString()), false);
+		}
+	}
+
+	static long globalKey ( String prefix ) {
+		return hash(prefix + "*");
+	}
+
+	static long typeKey ( String prefix, EventType type ) {
+		return hash(prefix + "t:" + type.name());
+	}
+
+	static long tagKey ( String prefix, String tag ) {
+		return hash(prefix + "g:" + tag);
+	}
+
+	/**
+	 * 64-bit FNV-1a hash over the UTF-8 bytes; stable across JVMs, unlike {@link String#hashCode()} which is only 32 bits.
+	 */
+	static long hash ( String value ) {
+		long hash = FNV_OFFSET_BASIS;
+		for ( byte b : value.getBytes(StandardCharsets.UTF_8) ) {
+			hash ^= (b & 0xff);
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Minimal thread-safe cache with an upper bound on the number of entries.
+ * <p>
+ * Intended for values that are cheap to recompute and drawn from a small, mostly stable domain
+ * (generated SQL per statement shape, interned identifiers, ...). Rather than tracking usage, the
+ * cache is simply cleared once it grows beyond its capacity, which keeps lookups as fast as a plain
+ * {@link ConcurrentHashMap} while protecting against unbounded growth on unexpected input.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class BoundedCache<K, V> {
+
+	private final int capacity;
+	private final Map<K, V> entries = new ConcurrentHashMap<>();
+
+	BoundedCache ( int capacity ) {
+		if ( capacity <= 0 ) {
+			throw new IllegalArgumentException("capacity must be positive: %d".formatted(capacity));
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the cached value for the key, computing and caching it when absent.
+	 */
+	V computeIfAbsent ( K key, Function<? super K, ? extends V> mappingFunction ) {
+		V value = entries.get(key);
+		if ( value == null ) {
+			if ( entries.size() >= capacity ) {
+				entries.clear();
+			}
+			value = entries.computeIfAbsent(key, mappingFunction);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached value for the key, or {@code null} when absent.
+	 */
+	V get ( K key ) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Caches a value for the key, replacing any previous value.
+	 */
+	void put ( K key, V value ) {
+		if ( entries.size() >= capacity && !entries.containsKey(key) ) {
+			entries.clear();
+		}
+		entries.put(key, value);
+	}
+
+	int size ( ) {
+		return entries.size();
+	}
+
+}
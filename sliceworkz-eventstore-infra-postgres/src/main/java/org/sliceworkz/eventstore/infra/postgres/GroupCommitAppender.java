@@ -0,0 +1,202 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStorageException;
+
+/**
+ * Coalesces concurrently submitted unconditional appends into a single multi-row insert and commit.
+ * <p>
+ * Callers of {@link #append(List)} block until the batch their events were part of has been committed.
+ * Appends are rejected until the drain thread has been handed to an executor with {@link #start(Executor)}.
+ * A single drain thread takes the first pending append, then keeps collecting appends that arrive within
+ * the configured window, until the window has elapsed or the maximum number of events is reached.
+ * The combined events are written in one transaction, and each caller receives the stored events
+ * corresponding to its own submission, in submission order.
+ * <p>
+ * Only appends without {@link org.sliceworkz.eventstore.stream.AppendCriteria} and without idempotency keys
+ * can be grouped: they cannot fail individually, so a failure of the combined write fails every caller in
+ * the batch with the same exception.
+ */
+final class GroupCommitAppender implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitAppender.class);
+
+	private static final long IDLE_POLL_MS = 500;
+
+	private final String name;
+	private final Function<List<EventToStore>, List<StoredEvent>> writer;
+	private final long windowNanos;
+	private final int maxEvents;
+
+	private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+	private volatile boolean started;
+	private volatile boolean stopped;
+
+	// taken from the queue but did not fit in the previous batch, only accessed by the drain thread
+	private PendingAppend carryOver;
+
+	private record PendingAppend ( List<EventToStore> events, CompletableFuture<List<StoredEvent>> result ) { }
+
+	/**
+	 * @param name name used for logging
+	 * @param writer writes a combined batch of events in a single transaction, returning the stored events in the same order
+	 * @param window how long to wait for more appends after the first one of a batch arrived
+	 * @param maxEvents the maximum number of events per batch; a single larger append is written on its own
+	 */
+	GroupCommitAppender ( String name, Function<List<EventToStore>, List<StoredEvent>> writer, Duration window, int maxEvents ) {
+		if ( window.isNegative() ) {
+			throw new IllegalArgumentException("group commit window cannot be negative: %s".formatted(window));
+		}
+		if ( maxEvents <= 0 ) {
+			throw new IllegalArgumentException("group commit batch size must be positive: %d".formatted(maxEvents));
+		}
+		this.name = name;
+		this.writer = writer;
+		this.windowNanos = window.toNanos();
+		this.maxEvents = maxEvents;
+	}
+
+	/**
+	 * Submits events for the next group commit and waits until they have been committed.
+	 *
+	 * @param events the events to append
+	 * @return the stored events, in the order they were submitted
+	 * @throws EventStorageException if the combined write failed, or the appender was not started or already stopped
+	 */
+	List<StoredEvent> append ( List<EventToStore> events ) {
+		if ( !started ) {
+			throw new EventStorageException("group commit appender %s is not started".formatted(name));
+		}
+		if ( stopped ) {
+			throw new EventStorageException("group commit appender %s is stopped".formatted(name));
+		}
+		CompletableFuture<List<StoredEvent>> result = new CompletableFuture<>();
+		PendingAppend pending = new PendingAppend(events, result);
+		queue.add(pending);
+		if ( stopped && queue.remove(pending) ) {
+			// stopped concurrently, the drain thread may no longer pick it up
+			throw new EventStorageException("group commit appender %s is stopped".formatted(name));
+		}
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EventStorageException("interrupted while waiting for group commit", e);
+		} catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException re ) {
+				throw re;
+			}
+			throw new EventStorageException("group commit failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Starts the drain thread on the given executor; appends are accepted from then on.
+	 *
+	 * @param executor the executor to run the drain thread on
+	 */
+	void start ( Executor executor ) {
+		executor.execute(this);
+		started = true;
+	}
+
+	void stop ( ) {
+		stopped = true;
+	}
+
+	@Override
+	public void run ( ) {
+		Thread.currentThread().setName("group-commit/" + name);
+		List<PendingAppend> batch = new ArrayList<>();
+		try {
+			while ( !stopped || !queue.isEmpty() || carryOver != null ) {
+				PendingAppend first = carryOver != null ? carryOver : queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+				carryOver = null;
+				if ( first == null ) {
+					continue;
+				}
+				batch.add(first);
+				int events = first.events().size();
+
+				long deadline = System.nanoTime() + windowNanos;
+				while ( events < maxEvents ) {
+					long remaining = deadline - System.nanoTime();
+					PendingAppend next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if ( next == null ) {
+						break;
+					}
+					if ( events + next.events().size() > maxEvents ) {
+						carryOver = next; // starts the next batch
+						break;
+					}
+					batch.add(next);
+					events += next.events().size();
+				}
+
+				write(batch, events);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			EventStorageException stoppedException = new EventStorageException("group commit appender %s is stopped".formatted(name));
+			batch.forEach(p -> p.result().completeExceptionally(stoppedException));
+			if ( carryOver != null ) {
+				carryOver.result().completeExceptionally(stoppedException);
+			}
+			PendingAppend pending;
+			while ( (pending = queue.poll()) != null ) {
+				pending.result().completeExceptionally(stoppedException);
+			}
+		}
+	}
+
+	private void write ( List<PendingAppend> batch, int events ) {
+		List<EventToStore> combined = new ArrayList<>(events);
+		batch.forEach(p -> combined.addAll(p.events()));
+		try {
+			List<StoredEvent> stored = writer.apply(combined);
+			LOGGER.debug("group commit of {} appends with {} events", batch.size(), events);
+			int offset = 0;
+			for ( PendingAppend p : batch ) {
+				int size = p.events().size();
+				p.result().complete(List.copyOf(stored.subList(offset, offset + size)));
+				offset += size;
+			}
+		} catch (RuntimeException e) {
+			batch.forEach(p -> p.result().completeExceptionally(e));
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+/**
+ * Selects how the database notifies listeners about appended events.
+ * <p>
+ * Both trigger variants send the same notification payload on the {@code PREFIX_event_appended} channel;
+ * they differ in how many notifications an append produces. The mode is set on the
+ * {@link PostgresEventStorage.Builder} via
+ * {@link PostgresEventStorage.Builder#notificationTrigger(NotificationTriggerMode)}, and applied to
+ * the database schema when it is ensured or initialized.
+ *
+ * @see PostgresEventStorage.Builder
+ */
+public enum NotificationTriggerMode {
+
+	/**
+	 * A {@code FOR EACH ROW} trigger sends one notification per appended event.
+	 * <p>
+	 * This is the default mode, installed by the plain {@code ensure-schema.sql} script.
+	 */
+	PER_ROW,
+
+	/**
+	 * A {@code FOR EACH STATEMENT} trigger sends one notification per stream per append,
+	 * referencing the last event appended to that stream.
+	 * <p>
+	 * This removes the per-row trigger overhead from large appends and avoids notification storms
+	 * towards listeners, which only need the most recent reference to catch up.
+	 */
+	PER_STATEMENT,
+
+	/**
+	 * No append notification trigger is installed, appends don't send any notification.
+	 * <p>
+	 * Used together with a change feed (see {@link PostgresEventStorage.Builder#changeFeed(String, javax.sql.DataSource)}),
+	 * which derives the notifications from the write-ahead log instead, so inserts carry no trigger overhead at all.
+	 */
+	NONE
+
+}
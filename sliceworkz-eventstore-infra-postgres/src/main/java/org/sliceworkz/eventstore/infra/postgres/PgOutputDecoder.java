@@ -0,0 +1,241 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.sliceworkz.eventstore.events.EventId;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+/**
+ * Decodes the messages of the {@code pgoutput} logical decoding plugin (protocol version 1) into append notifications.
+ * <p>
+ * Inserts into the events table are collected per transaction, keeping the last event per stream and the types and tags
+ * of all its events, and handed out as notifications once the transaction commits, like the statement-level notification
+ * trigger does. Messages about
+ * other tables, and message types that don't concern inserts, are skipped.
+ * <p>
+ * An instance keeps the relations announced by the server and the transaction in progress, so it must see all
+ * messages of a replication stream in order. Not thread-safe.
+ */
+final class PgOutputDecoder {
+
+	private static final String[] COLUMNS = { "stream_context", "stream_purpose", "event_position", "event_tx", "event_id", "event_type", "event_tags" };
+	private static final int STREAM_CONTEXT = 0;
+	private static final int STREAM_PURPOSE = 1;
+	private static final int EVENT_POSITION = 2;
+	private static final int EVENT_TX = 3;
+	private static final int EVENT_ID = 4;
+	private static final int EVENT_TYPE = 5;
+	private static final int EVENT_TAGS = 6;
+
+	private final String tableName;
+
+	// column index of each of COLUMNS, per relation id of the events table
+	private final Map<Integer, int[]> relations = new HashMap<>();
+
+	private final Map<EventStreamId, AppendsToEventStoreNotification> lastPerStream = new LinkedHashMap<>();
+	private boolean inTransaction;
+	private List<AppendsToEventStoreNotification> committed = List.of();
+	private long committedLsn;
+
+	/**
+	 * @param tableName the name of the events table, including the prefix of the event store
+	 */
+	PgOutputDecoder ( String tableName ) {
+		this.tableName = tableName;
+	}
+
+	/**
+	 * Decodes the next message of the replication stream.
+	 *
+	 * @param message the message, positioned at its type byte
+	 * @return {@code true} if the message ends a transaction, its notifications are then available from {@link #committed()}
+	 * @throws IllegalStateException if the message is malformed
+	 */
+	boolean decode ( ByteBuffer message ) {
+		try {
+			char type = (char) message.get();
+			switch ( type ) {
+				case 'B' -> {
+					lastPerStream.clear();
+					inTransaction = true;
+				}
+				case 'R' -> relation(message);
+				case 'I' -> insert(message);
+				case 'C' -> {
+					message.get(); // flags
+					message.getLong(); // commit LSN
+					committedLsn = message.getLong();
+					committed = List.copyOf(lastPerStream.values());
+					lastPerStream.clear();
+					inTransaction = false;
+					return true;
+				}
+				default -> { } // origin, type, update, delete, truncate and logical messages don't concern appends
+			}
+			return false;
+		} catch (RuntimeException e) {
+			throw new IllegalStateException("Malformed pgoutput message", e);
+		}
+	}
+
+	/**
+	 * @return the notifications of the transaction that committed last, one per stream, referencing its last event
+	 *         and covering the types and tags of all its events
+	 */
+	List<AppendsToEventStoreNotification> committed ( ) {
+		return committed;
+	}
+
+	/**
+	 * @return the end of the commit record of the transaction that committed last, as WAL position
+	 */
+	long committedLsn ( ) {
+		return committedLsn;
+	}
+
+	/**
+	 * @return {@code true} between the begin and the commit message of a transaction
+	 */
+	boolean inTransaction ( ) {
+		return inTransaction;
+	}
+
+	private void relation ( ByteBuffer message ) {
+		int relationId = message.getInt();
+		readString(message); // namespace
+		String name = readString(message);
+		message.get(); // replica identity
+		int columnCount = message.getShort();
+
+		int[] indexes = new int[COLUMNS.length];
+		Arrays.fill(indexes, -1);
+		for ( int i = 0; i < columnCount; i++ ) {
+			message.get(); // flags
+			String column = readString(message);
+			message.getInt(); // type oid
+			message.getInt(); // type modifier
+			for ( int c = 0; c < COLUMNS.length; c++ ) {
+				if ( COLUMNS[c].equals(column) ) {
+					indexes[c] = i;
+				}
+			}
+		}
+
+		if ( name.equals(tableName) ) {
+			for ( int c = 0; c < COLUMNS.length; c++ ) {
+				if ( indexes[c] < 0 ) {
+					throw new IllegalStateException("Column '%s' missing from relation '%s'".formatted(COLUMNS[c], name));
+				}
+			}
+			relations.put(relationId, indexes);
+		} else {
+			relations.remove(relationId);
+		}
+	}
+
+	private void insert ( ByteBuffer message ) {
+		int relationId = message.getInt();
+		message.get(); // 'N', new tuple
+		int[] indexes = relations.get(relationId);
+		if ( indexes == null ) {
+			return;
+		}
+
+		int columnCount = message.getShort();
+		String[] values = new String[columnCount];
+		for ( int i = 0; i < columnCount; i++ ) {
+			char kind = (char) message.get();
+			if ( kind == 't' || kind == 'b' ) {
+				byte[] value = new byte[message.getInt()];
+				message.get(value);
+				values[i] = new String(value, StandardCharsets.UTF_8);
+			}
+			// 'n' (null) and 'u' (unchanged toasted value) carry no data
+		}
+
+		EventStreamId stream = StoredEventRowMapper.streamId(values[indexes[STREAM_CONTEXT]], values[indexes[STREAM_PURPOSE]]);
+		EventReference reference = EventReference.of(EventId.of(values[indexes[EVENT_ID]]), Long.parseLong(values[indexes[EVENT_POSITION]]), Long.parseLong(values[indexes[EVENT_TX]]));
+		String tags = values[indexes[EVENT_TAGS]];
+		AppendsToEventStoreNotification appended = new AppendsToEventStoreNotification(stream, reference,
+				Set.of(EventType.ofType(values[indexes[EVENT_TYPE]])),
+				tags == null ? Tags.none() : Tags.parse(parseTextArray(tags).toArray(String[]::new)));
+		lastPerStream.merge(stream, appended, AppendsToEventStoreNotification::merge);
+	}
+
+	/**
+	 * Parses the text representation of a one-dimensional {@code text[]} value, like {@code {a,"b c",NULL}}.
+	 * Elements that are {@code NULL} are skipped.
+	 */
+	static List<String> parseTextArray ( String value ) {
+		if ( value.length() < 2 || value.charAt(0) != '{' || value.charAt(value.length() - 1) != '}' ) {
+			throw new IllegalStateException("Not a text array: " + value);
+		}
+		List<String> result = new ArrayList<>();
+		int i = 1;
+		int end = value.length() - 1;
+		while ( i < end ) {
+			StringBuilder element = new StringBuilder();
+			boolean quoted = value.charAt(i) == '"';
+			if ( quoted ) {
+				i++;
+				while ( value.charAt(i) != '"' ) {
+					if ( value.charAt(i) == '\\' ) {
+						i++;
+					}
+					element.append(value.charAt(i++));
+				}
+				i++; // closing quote
+			} else {
+				while ( i < end && value.charAt(i) != ',' ) {
+					element.append(value.charAt(i++));
+				}
+			}
+			if ( quoted || !element.toString().equals("NULL") ) {
+				result.add(element.toString());
+			}
+			i++; // separator
+		}
+		return result;
+	}
+
+	private static String readString ( ByteBuffer message ) {
+		int end = message.position();
+		while ( message.get(end) != 0 ) {
+			end++;
+		}
+		byte[] value = new byte[end - message.position()];
+		message.get(value);
+		message.get(); // terminating zero byte
+		return new String(value, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.util.stream.Stream;
+
+import org.sliceworkz.eventstore.spi.EventStorage;
+
+/**
+ * A PostgreSQL {@link EventStorage} that can also bulk import events, for migrating large volumes of (historical)
+ * data into an event store.
+ * <p>
+ * Obtained via {@link PostgresEventStorage.Builder#buildBulkImporter()}. Besides importing, it can be used as any
+ * other event storage, for instance to create an {@link org.sliceworkz.eventstore.EventStore} on top of it.
+ * <p>
+ * Events are streamed to the database with the PostgreSQL {@code COPY} protocol into a temporary staging table
+ * and then moved into the events table with a single {@code INSERT ... SELECT} per batch, so the statement size
+ * does not grow with the number of events. Positions, transaction ids and timestamps are assigned server-side,
+ * preserving the order of the given events.
+ * <p>
+ * Compared to {@link EventStorage#append}:
+ * <ul>
+ *   <li>no {@link org.sliceworkz.eventstore.stream.AppendCriteria} are evaluated, the import is unconditional</li>
+ *   <li>events with an idempotency key that is already present are silently skipped</li>
+ *   <li>each batch is committed separately; a failure leaves earlier batches in place, so an interrupted
+ *       import can be resumed safely when idempotency keys are used</li>
+ *   <li>the per-row append trigger is suppressed; one append notification per stream is sent after the
+ *       last batch, referencing the last event imported in that stream (with a change feed, one per stream
+ *       per batch instead)</li>
+ * </ul>
+ * With {@link AppendLockingMode#ADVISORY}, each batch takes the same shared locks an unconditional append of
+ * its events would take, so conditional appends on an overlapping consistency boundary wait for it to commit.
+ *
+ * @see PostgresEventStorage.Builder#buildBulkImporter()
+ */
+public interface PostgresBulkImporter extends EventStorage {
+
+	/**
+	 * The number of events copied and committed per transaction when no batch size is given.
+	 */
+	int DEFAULT_BATCH_SIZE = 50_000;
+
+	/**
+	 * Bulk imports events using the default batch size of {@value #DEFAULT_BATCH_SIZE} events.
+	 *
+	 * @param events the events to import, in the order they should be positioned
+	 * @return the number of events imported, excluding events skipped because of their idempotency key
+	 * @throws org.sliceworkz.eventstore.spi.EventStorageException if the import fails
+	 * @see #bulkImport(Stream, int)
+	 */
+	default long bulkImport ( Stream<EventToStore> events ) {
+		return bulkImport(events, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Bulk imports events, bypassing the regular append path.
+	 *
+	 * @param events the events to import, in the order they should be positioned
+	 * @param batchSize the number of events copied and committed per transaction
+	 * @return the number of events imported, excluding events skipped because of their idempotency key
+	 * @throws IllegalArgumentException if batchSize is not positive
+	 * @throws org.sliceworkz.eventstore.spi.EventStorageException if the import fails
+	 */
+	long bulkImport ( Stream<EventToStore> events, int batchSize );
+
+	/**
+	 * Stops listening for notifications and the background threads of this storage, for instance once a
+	 * standalone import is done. The DataSources are not closed.
+	 */
+	void stop ( );
+
+}
@@ -19,6 +19,8 @@ package org.sliceworkz.eventstore.infra.postgres;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Properties;
 
 import javax.sql.DataSource;
@@ -166,6 +168,12 @@ public interface PostgresEventStorage {
 
 		private static final Logger LOGGER = LoggerFactory.getLogger(Builder.class);
 
+		/**
+		 * Default time a read waits for a replica to catch up, see {@link #readReplicas(DataSource...)}.
+		 */
+		public static final long DEFAULT_REPLICA_MAX_WAIT_MS = 1_000;
+		private static final Duration DEFAULT_REPLICA_MAX_WAIT = Duration.ofMillis(DEFAULT_REPLICA_MAX_WAIT_MS);
+
 		/**
 		 * Major PostgreSQL version from which the native {@code uuidv7()} function is available.
 		 * Servers reporting a lower major version use {@link PostgresLegacyEventStorageImpl}.
@@ -179,6 +187,18 @@ public interface PostgresEventStorage {
 		private DatabaseInitMode databaseInitMode = DatabaseInitMode.ENSURE;
 		private Limit limit = Limit.none();
 		private MeterRegistry meterRegistry = Metrics.globalRegistry;
+		private int queryFetchSize = 0;
+		private Duration groupCommitWindow;
+		private NotificationTriggerMode notificationTriggerMode = NotificationTriggerMode.PER_ROW;
+		private int recentIdempotencyKeys = 0;
+		private AppendLockingMode appendLockingMode = AppendLockingMode.NONE;
+		private boolean headCatalog;
+		private long partitionSize;
+		private List<DataSource> readReplicas = List.of();
+		private Duration replicaMaxWait = DEFAULT_REPLICA_MAX_WAIT;
+		private String changeFeedSlot;
+		private DataSource changeFeedDataSource;
+		private int groupCommitMaxEvents;
 
 		private Builder ( ) {
 
@@ -240,6 +260,10 @@ public interface PostgresEventStorage {
 		 *   <li>Listening for bookmark update notifications</li>
 		 * </ul>
 		 * <p>
+		 * Event stores built with the same DataSource instance share a single listening connection for all their
+		 * prefixes and channels, so passing one monitoring DataSource to the event stores of many tenants keeps the
+		 * number of connections constant. The connection is closed when the last of these event stores is stopped.
+		 * <p>
 		 * If not set explicitly, defaults to the main DataSource. When using automatic configuration
 		 * from {@code db.properties}, a separate non-pooled DataSource is created automatically.
 		 *
@@ -252,6 +276,40 @@ public interface PostgresEventStorage {
 			return this;
 		}
 
+		/**
+		 * Sets read replicas (streaming replication standbys of the primary) to serve queries, event lookups by id
+		 * and bookmark reads, taking that read traffic off the primary. Replicas are used round-robin.
+		 * <p>
+		 * Reads remain consistent with the writes of this event store instance: before a read is served, the replica
+		 * must have replayed the WAL up to the last append or bookmark written by this instance, and up to the last
+		 * append notification received, so listeners always find the events they were notified about. A query bounded
+		 * by an {@code until} reference additionally waits until the transaction of that reference is visible.
+		 * <p>
+		 * When a replica does not catch up within {@code maxWait}, or cannot be reached, the read is served by the primary.
+		 * Appends, conflict checks and all other writes always use the primary.
+		 *
+		 * @param replicas the DataSources of the read replicas
+		 * @param maxWait how long a read waits for a replica to catch up before falling back to the primary
+		 * @return this Builder for method chaining
+		 * @see #dataSource(DataSource)
+		 */
+		public Builder readReplicas ( List<DataSource> replicas, Duration maxWait ) {
+			this.readReplicas = replicas;
+			this.replicaMaxWait = maxWait;
+			return this;
+		}
+
+		/**
+		 * Sets read replicas, waiting at most {@value #DEFAULT_REPLICA_MAX_WAIT_MS} ms for a replica to catch up.
+		 *
+		 * @param replicas the DataSources of the read replicas
+		 * @return this Builder for method chaining
+		 * @see #readReplicas(List, Duration)
+		 */
+		public Builder readReplicas ( DataSource... replicas ) {
+			return readReplicas(List.of(replicas), DEFAULT_REPLICA_MAX_WAIT);
+		}
+
 		/**
 		 * Sets the table name prefix for database schema isolation.
 		 * <p>
@@ -298,6 +356,184 @@ public interface PostgresEventStorage {
 			return this;
 		}
 
+		/**
+		 * Enables streaming queries, backed by a server-side cursor that fetches rows in batches.
+		 * <p>
+		 * By default, all events matching a query are read into memory before the resulting stream is
+		 * returned. With streaming enabled, events are fetched from the database {@code fetchSize} rows
+		 * at a time while the stream is consumed, keeping memory usage bounded for large replays and
+		 * projection rebuilds.
+		 * <p>
+		 * A streaming query holds on to a database connection until its stream is fully consumed or
+		 * closed. Consumers that stop reading early should close the stream, preferably with
+		 * try-with-resources. The {@link #resultLimit(int) absolute result limit} is enforced while
+		 * iterating, so an {@link org.sliceworkz.eventstore.spi.EventStorageException} may be raised
+		 * after part of the results has been consumed.
+		 *
+		 * @param fetchSize the number of rows fetched per roundtrip, or {@code 0} to disable streaming (default)
+		 * @return this Builder for method chaining
+		 */
+		public Builder streamingQueries ( int fetchSize ) {
+			this.queryFetchSize = fetchSize;
+			return this;
+		}
+
+		/**
+		 * Enables group commit for concurrent unconditional appends.
+		 * <p>
+		 * By default every append runs in its own transaction, so under many concurrent writers throughput
+		 * is bounded by commit latency. With group commit enabled, appends without
+		 * {@link org.sliceworkz.eventstore.stream.AppendCriteria} and without idempotency keys are collected
+		 * for up to {@code window} after the first one arrives (or until {@code maxEvents} events are pending),
+		 * and written with a single multi-row insert and commit. Each caller blocks until its group is
+		 * committed and receives only its own stored events.
+		 * <p>
+		 * Conditional and idempotent appends are never grouped, since they may fail or be skipped individually.
+		 * Grouping adds up to {@code window} of latency to a lone append, so keep the window small
+		 * (typically a few milliseconds).
+		 *
+		 * @param window how long to collect appends for one group commit
+		 * @param maxEvents the maximum number of events written per group commit, at most 8000
+		 * @return this Builder for method chaining
+		 */
+		public Builder groupCommit ( Duration window, int maxEvents ) {
+			this.groupCommitWindow = window;
+			this.groupCommitMaxEvents = maxEvents;
+			return this;
+		}
+
+		/**
+		 * Sets the variant of the append notification trigger installed in the database.
+		 * <p>
+		 * With {@link NotificationTriggerMode#PER_ROW} (the default) every appended event results in a
+		 * notification. {@link NotificationTriggerMode#PER_STATEMENT} sends a single notification per stream
+		 * per append, carrying the last reference, which keeps large appends cheap.
+		 * {@link NotificationTriggerMode#NONE} installs no trigger, for use with {@link #changeFeed(String, DataSource)}.
+		 * <p>
+		 * The mode is applied when the database is ensured or initialized, replacing the other variant if
+		 * present. With {@link DatabaseInitMode#NONE} or {@link DatabaseInitMode#VALIDATE}, the variant
+		 * present in the database is used as-is; validation accepts either one.
+		 *
+		 * @param mode the notification trigger mode
+		 * @return this Builder for method chaining
+		 */
+		public Builder notificationTrigger ( NotificationTriggerMode mode ) {
+			this.notificationTriggerMode = mode;
+			return this;
+		}
+
+		/**
+		 * Reads append notifications from a logical replication slot, instead of having them sent by a trigger.
+		 * <p>
+		 * Inserts into the events table are published for logical decoding ({@code pgoutput}) and streamed from the
+		 * given slot, which is created on startup when missing. Listeners are notified once per stream per committed
+		 * transaction, in commit order. The slot keeps the position up to which notifications were dispatched, so no
+		 * append is missed across reconnects or restarts, and notifications are not limited in size or number.
+		 * <p>
+		 * This selects {@link NotificationTriggerMode#NONE}, so appends don't fire any notification trigger.
+		 * <p>
+		 * Requirements and caveats:
+		 * <ul>
+		 *   <li>the server runs with {@code wal_level = logical}, and the user may replicate</li>
+		 *   <li>the DataSource opens replication connections, for instance a {@code PGSimpleDataSource} with
+		 *       {@code replication=database}, {@code preferQueryMode=simple} and {@code assumeMinServerVersion=9.4};
+		 *       it is not pooled, a single connection is kept open while streaming</li>
+		 *   <li>a slot serves one consumer at a time, each event store instance needs a slot of its own</li>
+		 *   <li>the server retains WAL for a slot until it is consumed; drop the slot with
+		 *       {@code pg_drop_replication_slot} when an instance is decommissioned</li>
+		 * </ul>
+		 *
+		 * @param slotName the name of the replication slot, lowercase letters, digits and underscores only
+		 * @param replicationDataSource a DataSource opening replication connections to the primary
+		 * @return this Builder for method chaining
+		 */
+		public Builder changeFeed ( String slotName, DataSource replicationDataSource ) {
+			this.changeFeedSlot = slotName;
+			this.changeFeedDataSource = replicationDataSource;
+			this.notificationTriggerMode = NotificationTriggerMode.NONE;
+			return this;
+		}
+
+		/**
+		 * Keeps the idempotency keys of recently appended events in memory, to skip repeated appends early.
+		 * <p>
+		 * Appends carrying an idempotency key that was already stored are always skipped (returning no events).
+		 * With this cache enabled, keys appended or seen as duplicates by this instance are remembered, and a
+		 * repeated append with such a key returns immediately, without a database roundtrip. This mainly helps
+		 * at-least-once consumers that redeliver batches of already processed messages.
+		 * <p>
+		 * Only keys known to be stored are remembered, so the cache never causes a new event to be skipped.
+		 * Once the capacity is reached, the cache is cleared and starts over.
+		 *
+		 * @param capacity the maximum number of idempotency keys remembered, or {@code 0} to disable (default)
+		 * @return this Builder for method chaining
+		 */
+		public Builder recentIdempotencyKeys ( int capacity ) {
+			this.recentIdempotencyKeys = capacity;
+			return this;
+		}
+
+		/**
+		 * Sets how concurrent conditional appends are isolated from each other.
+		 * <p>
+		 * With {@link AppendLockingMode#NONE} (the default), the optimistic locking check of an append cannot
+		 * see events of a concurrent, not yet committed append, so overlapping writers must be serialized by the
+		 * application. {@link AppendLockingMode#ADVISORY} takes advisory locks derived from the consistency
+		 * boundary of each append, so writers on overlapping boundaries are serialized briefly by the database,
+		 * while writers on disjoint boundaries proceed in parallel.
+		 *
+		 * @param mode the append locking mode
+		 * @return this Builder for method chaining
+		 * @see AppendLockingMode
+		 */
+		public Builder appendLocking ( AppendLockingMode mode ) {
+			this.appendLockingMode = mode;
+			return this;
+		}
+
+		/**
+		 * Maintains a head catalog: the position of the last event per event type, per tag and per combination
+		 * of both, kept up to date by a trigger in the same transaction as each append.
+		 * <p>
+		 * Conditional appends compare the expected last event reference to a handful of head positions instead of
+		 * scanning the events table, and only fall back to the scan when the catalog cannot rule out a conflict
+		 * (for instance with multiple tags per filter item, or a stream restriction). The cost of the check no
+		 * longer grows with the number of stored events. {@link org.sliceworkz.eventstore.stream.EventSource#headReference}
+		 * is answered from the catalog as well.
+		 * <p>
+		 * In exchange, concurrent appends of events with the same type or tag briefly wait on each other to update
+		 * the catalog. The catalog is created (and filled from existing events) when the database is ensured or
+		 * initialized; once installed, it is maintained for every writer.
+		 *
+		 * @return this Builder for method chaining
+		 */
+		public Builder headCatalog ( ) {
+			this.headCatalog = true;
+			return this;
+		}
+
+		/**
+		 * Uses the partitioned schema variant: the events table is range-partitioned by event position, with
+		 * a fixed number of positions per partition.
+		 * <p>
+		 * Indexes, vacuum and scans of recent events then only touch the most recent partitions: the check of a
+		 * conditional append only visits the partitions after its expected reference, and queries up to a reference
+		 * only the ones before it. Partitions are created
+		 * ahead of time when the event store starts, and again whenever appends reach the last one created.
+		 * <p>
+		 * A partitioned table cannot enforce uniqueness on anything but the event position, so idempotency keys
+		 * are tracked in a separate table and bookmarks have no foreign key to the events. The partitioned schema
+		 * is created when the database is ensured or initialized; an existing regular schema is not converted.
+		 * The partition size must not change during the lifetime of the event store.
+		 *
+		 * @param partitionSize the number of event positions per partition, for instance {@code 10_000_000}
+		 * @return this Builder for method chaining
+		 */
+		public Builder partitioned ( long partitionSize ) {
+			this.partitionSize = partitionSize;
+			return this;
+		}
+
 		/**
 		 * Sets the database initialization mode.
 		 * <p>
@@ -393,7 +629,9 @@ public interface PostgresEventStorage {
 		 * <p>
 		 * The meter registry is used to track event store operations including event stream creation,
 		 * append operations, and query performance. Additionally, if HikariCP datasources are used,
-		 * they will be configured to publish connection pool metrics to this registry.
+		 * they will be configured to publish connection pool metrics to this registry. The storage itself counts
+		 * the append notifications received from the database ({@code sliceworkz.eventstore.notifications.received})
+		 * and dispatched to listeners after coalescing them per stream ({@code sliceworkz.eventstore.notifications.dispatched}).
 		 * <p>
 		 * If not specified, defaults to {@code Metrics.globalRegistry}.
 		 *
@@ -432,6 +670,22 @@ public interface PostgresEventStorage {
 		 * @see EventStoreFactory#eventStore(EventStorage)
 		 */
 		public EventStorage build ( ) {
+			return buildBulkImporter();
+		}
+
+		/**
+		 * Builds and returns the configured storage, typed to also expose bulk imports.
+		 * <p>
+		 * The result is configured and started exactly like the one returned by {@link #build()}, and can be used
+		 * as any other {@link EventStorage}. Use it to migrate large volumes of (historical) events into the
+		 * store with {@link PostgresBulkImporter#bulkImport(java.util.stream.Stream, int)}, bypassing the regular
+		 * append path.
+		 *
+		 * @return a configured EventStorage instance backed by PostgreSQL that can bulk import events
+		 * @throws RuntimeException if database configuration cannot be loaded or schema operations fail
+		 * @see PostgresBulkImporter
+		 */
+		public PostgresBulkImporter buildBulkImporter ( ) {
 			if ( dataSource == null ) {
 				Properties dbProperties = DataSourceFactory.loadProperties();
 				if ( dataSource == null ) {
@@ -464,6 +718,23 @@ public interface PostgresEventStorage {
 				? new PostgresEventStorageImpl(name, dataSource, monitoringDataSource, limit, prefix)
 				: new PostgresLegacyEventStorageImpl(name, dataSource, monitoringDataSource, limit, prefix);
 
+			result.queryFetchSize(queryFetchSize);
+			result.meterRegistry(meterRegistry);
+			result.notificationTriggerMode(notificationTriggerMode);
+			result.recentIdempotencyKeys(recentIdempotencyKeys);
+			result.appendLockingMode(appendLockingMode);
+			result.headCatalog(headCatalog);
+			result.partitioned(partitionSize);
+			result.readReplicas(readReplicas, replicaMaxWait);
+			if ( changeFeedSlot != null || changeFeedDataSource != null ) {
+				result.changeFeed(changeFeedSlot, changeFeedDataSource);
+			} else if ( notificationTriggerMode == NotificationTriggerMode.NONE ) {
+				LOGGER.warn("No append notification trigger and no change feed configured, listeners won't be notified of appends");
+			}
+			if ( groupCommitWindow != null ) {
+				result.groupCommit(groupCommitWindow, groupCommitMaxEvents);
+			}
+
 			switch ( databaseInitMode ) {
 				case NONE       -> { }
 				case VALIDATE   -> result.validateDatabase();
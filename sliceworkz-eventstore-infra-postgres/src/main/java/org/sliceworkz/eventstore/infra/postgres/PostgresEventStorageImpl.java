@@ -19,34 +19,46 @@ package org.sliceworkz.eventstore.infra.postgres;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.TimeZone;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.postgresql.PGConnection;
 import org.postgresql.PGNotification;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sliceworkz.eventstore.events.Bookmark;
@@ -61,13 +73,19 @@ import org.sliceworkz.eventstore.query.EventFilterItem;
 import org.sliceworkz.eventstore.query.Limit;
 import org.sliceworkz.eventstore.spi.EventStorage;
 import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.spi.EventStoreListenerRegistry;
 import org.sliceworkz.eventstore.stream.AppendCriteria;
 import org.sliceworkz.eventstore.stream.EventStreamId;
 import org.sliceworkz.eventstore.stream.OptimisticLockingException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * PostgreSQL-backed implementation of the {@link EventStorage} interface.
  * <p>
@@ -86,14 +104,14 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
  * event streams can be accessed concurrently without coordination.
  * <p>
  * <strong>Internal Architecture:</strong><br>
- * The implementation uses two background virtual threads for monitoring PostgreSQL notifications:
+ * PostgreSQL notifications are received through a {@link PostgresNotificationHub}, shared by all event stores
+ * using the same monitoring DataSource, which listens on a single connection for:
  * <ul>
- *   <li>{@code NewEventsAppendedMonitor}: Listens for event append notifications on the
- *       {@code PREFIX_event_appended} channel</li>
- *   <li>{@code BookmarkPlacedMonitor}: Listens for bookmark update notifications on the
- *       {@code PREFIX_bookmark_placed} channel</li>
+ *   <li>event append notifications on the {@code PREFIX_event_appended} channel</li>
+ *   <li>bookmark update notifications on the {@code PREFIX_bookmark_placed} channel</li>
  * </ul>
- * These monitors enable eventually-consistent event processing without polling.
+ * These notifications enable eventually-consistent event processing without polling. With a change feed configured,
+ * a {@code ChangeFeedMonitor} reading a logical replication slot takes the place of the append notifications.
  * <p>
  * <strong>Database Schema:</strong><br>
  * The implementation expects the following tables (where PREFIX_ is the configured prefix):
@@ -117,7 +135,7 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
  * @see EventStorage
  * @see org.sliceworkz.eventstore.EventStore
  */
-public class PostgresEventStorageImpl implements EventStorage {
+public class PostgresEventStorageImpl implements PostgresBulkImporter {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(PostgresEventStorageImpl.class);
 
@@ -127,20 +145,69 @@ public class PostgresEventStorageImpl implements EventStorage {
 	private final DataSource monitoringDataSource;
 	private final Limit absoluteLimit;
 
-	private final List<WeakReference<EventStoreListener>> listeners = new CopyOnWriteArrayList<>();
+	private final EventStoreListenerRegistry listeners = new EventStoreListenerRegistry();
 	private final ExecutorService executorService;
 	private volatile boolean stopped;
 
-	private static final JsonMapper JSONMAPPER = new JsonMapper();
+	// shared with the other event stores using the same monitoring DataSource, while started
+	private PostgresNotificationHub notificationHub;
+	private final PostgresNotificationHub.NotificationHandler eventsAppendedHandler = this::eventsAppended;
+	private final PostgresNotificationHub.NotificationHandler bookmarksPlacedHandler = this::bookmarksPlaced;
 
-	private static final int THIRTY_SECONDS = 30*1000;
-	public static final int WAIT_FOR_NOTIFICATIONS_TIMEOUT = THIRTY_SECONDS;
+	private static final JsonMapper JSONMAPPER = new JsonMapper();
+	private static final ObjectReader EVENT_APPENDED_READER = JSONMAPPER.readerFor(EventAppendedPostgresNotification.class);
+	private static final ObjectReader BOOKMARK_PLACED_READER = JSONMAPPER.readerFor(BookmarkPlacedPostgresNotification.class);
 
 	private static final long INITIAL_RETRY_DELAY_MS = 1_000;
 	private static final long MAX_RETRY_DELAY_MS = 30_000;
 
 	private static final int MAX_PREFIX_LENGTH = 32;
 
+	private static final int MAX_SQL_TEMPLATES = 512;
+
+	// keeps the transaction of a single group commit, and the locks it holds, short
+	static final int MAX_GROUP_COMMIT_EVENTS = 8_000;
+	private static final int BULK_IMPORT_COPY_BUFFER = 64*1024;
+
+	private static final long REPLICA_POLL_MS = 5;
+
+	private static final long CHANGE_FEED_POLL_MS = 5;
+	private static final int CHANGE_FEED_STATUS_INTERVAL_SECONDS = 10;
+	private static final Pattern SLOT_NAME = Pattern.compile("[a-z0-9_]{1,63}");
+
+	private int queryFetchSize;
+	private GroupCommitAppender groupCommitAppender;
+	private NotificationTriggerMode notificationTriggerMode = NotificationTriggerMode.PER_ROW;
+	private AppendLockingMode appendLockingMode = AppendLockingMode.NONE;
+	private boolean headCatalog;
+
+	// size of the range partitions of the events table in event positions, 0 for the regular schema
+	private long partitionSize;
+	// exclusive upper bound of the event positions covered by the partitions created so far
+	private volatile long partitionsUntil;
+
+	// replicas serving queries, event lookups and bookmark reads (empty when all reads go to the primary)
+	private List<DataSource> readReplicas = List.of();
+	private long replicaMaxWaitNanos;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	// WAL position a replica must have replayed before serving reads: after our last write or the last notification received
+	private final AtomicLong requiredWalPosition = new AtomicLong();
+
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+	// append notifications received from the database, and dispatched to listeners after coalescing per stream
+	private Counter meterNotificationsReceived;
+	private Counter meterNotificationsDispatched;
+
+	// logical replication slot the append notifications are read from (null when notified by a trigger)
+	private String changeFeedSlot;
+	private DataSource changeFeedDataSource;
+
+	// references of recently stored idempotency keys, to skip known duplicates without a roundtrip (null when disabled)
+	private BoundedCache<String, EventReference> recentIdempotencyKeys;
+
+	// generated SQL per statement shape, so equally shaped queries reuse the same SQL text and server-side prepared statements
+	private final BoundedCache<String, String> sqlTemplates = new BoundedCache<>(MAX_SQL_TEMPLATES);
+
 	/**
 	 * Constructs a new PostgreSQL-backed event storage instance with observability support.
 	 * <p>
@@ -149,8 +216,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 	 * <p>
 	 * The constructor initializes:
 	 * <ul>
-	 *   <li>Virtual thread executors for PostgreSQL LISTEN/NOTIFY monitoring</li>
-	 *   <li>Background monitors for event append and bookmark notifications</li>
+	 *   <li>A virtual thread executor for the change feed and group commit, when configured</li>
 	 * </ul>
 	 *
 	 * @param name the logical name for this storage instance (used in logging and monitoring)
@@ -170,6 +236,183 @@ public class PostgresEventStorageImpl implements EventStorage {
 		this.executorService = Executors.newVirtualThreadPerTaskExecutor();
 	}
 	
+	/**
+	 * Enables streaming queries, fetching results from a server-side cursor in batches of the given size.
+	 * <p>
+	 * With streaming enabled, {@link #query} returns a lazily evaluated stream that holds a database
+	 * connection until it is exhausted or closed, instead of materializing all matching events in memory.
+	 * A fetch size of {@code 0} (the default) keeps the materializing behaviour.
+	 *
+	 * @param fetchSize the number of rows fetched per roundtrip, or {@code 0} to disable streaming
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#streamingQueries(int)
+	 */
+	PostgresEventStorageImpl queryFetchSize ( int fetchSize ) {
+		if ( fetchSize < 0 ) {
+			throw new IllegalArgumentException("fetch size cannot be negative: %d".formatted(fetchSize));
+		}
+		this.queryFetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Enables group commit for unconditional appends.
+	 * <p>
+	 * Appends without {@link AppendCriteria} and without idempotency keys that arrive concurrently are
+	 * combined into a single multi-row insert and a single commit. After the first append of a group arrives,
+	 * others are collected for at most {@code window}, or until {@code maxEvents} events are pending.
+	 * Each caller still receives only its own stored events.
+	 *
+	 * @param window how long to collect appends for one group commit
+	 * @param maxEvents the maximum number of events written in one group commit (at most {@value #MAX_GROUP_COMMIT_EVENTS})
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#groupCommit(Duration, int)
+	 */
+	PostgresEventStorageImpl groupCommit ( Duration window, int maxEvents ) {
+		if ( maxEvents > MAX_GROUP_COMMIT_EVENTS ) {
+			throw new IllegalArgumentException("group commit batch size cannot exceed %d: %d".formatted(MAX_GROUP_COMMIT_EVENTS, maxEvents));
+		}
+		this.groupCommitAppender = new GroupCommitAppender(name, events -> insert(AppendCriteria.none(), Optional.empty(), events), window, maxEvents);
+		return this;
+	}
+
+	/**
+	 * Selects the append notification trigger variant installed when the database is ensured or initialized.
+	 *
+	 * @param mode the notification trigger mode
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#notificationTrigger(NotificationTriggerMode)
+	 */
+	PostgresEventStorageImpl notificationTriggerMode ( NotificationTriggerMode mode ) {
+		if ( mode == null ) {
+			throw new IllegalArgumentException("notification trigger mode cannot be null");
+		}
+		this.notificationTriggerMode = mode;
+		return this;
+	}
+
+	/**
+	 * Remembers the idempotency keys of recently appended events in memory, so appends repeating one of them
+	 * are skipped without a database roundtrip.
+	 * <p>
+	 * The cache only holds keys known to be stored, so it never skips an event that was not appended before.
+	 * Keys stored by other processes are detected by the database as usual, and remembered afterwards.
+	 *
+	 * @param capacity the maximum number of keys remembered, or {@code 0} to disable the cache
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#recentIdempotencyKeys(int)
+	 */
+	PostgresEventStorageImpl recentIdempotencyKeys ( int capacity ) {
+		if ( capacity < 0 ) {
+			throw new IllegalArgumentException("idempotency key cache capacity cannot be negative: %d".formatted(capacity));
+		}
+		this.recentIdempotencyKeys = capacity == 0 ? null : new BoundedCache<>(capacity);
+		return this;
+	}
+
+	/**
+	 * Selects how concurrent conditional appends are isolated from each other.
+	 *
+	 * @param mode the append locking mode
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#appendLocking(AppendLockingMode)
+	 */
+	PostgresEventStorageImpl appendLockingMode ( AppendLockingMode mode ) {
+		if ( mode == null ) {
+			throw new IllegalArgumentException("append locking mode cannot be null");
+		}
+		this.appendLockingMode = mode;
+		return this;
+	}
+
+	/**
+	 * Maintains a catalog of the last event position per event type and tag, and uses it to validate
+	 * conditional appends and to look up head references without scanning the events table.
+	 *
+	 * @param enabled whether the head catalog is installed and used
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#headCatalog()
+	 */
+	PostgresEventStorageImpl headCatalog ( boolean enabled ) {
+		this.headCatalog = enabled;
+		return this;
+	}
+
+	/**
+	 * Routes queries, event lookups and bookmark reads to read replicas, round-robin.
+	 * <p>
+	 * Before serving a read, a replica must have replayed the writes of this instance and the appends it was notified
+	 * about, and must see the transaction of the reference a query is bounded by. Reads fall back to the primary when
+	 * a replica does not catch up within {@code maxWait}, or fails.
+	 *
+	 * @param replicas the replica data sources, empty to read from the primary
+	 * @param maxWait how long to wait for a replica to catch up
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#readReplicas(List, Duration)
+	 */
+	PostgresEventStorageImpl readReplicas ( List<DataSource> replicas, Duration maxWait ) {
+		if ( maxWait.isNegative() ) {
+			throw new IllegalArgumentException("replica wait time cannot be negative: %s".formatted(maxWait));
+		}
+		this.readReplicas = List.copyOf(replicas);
+		this.replicaMaxWaitNanos = maxWait.toNanos();
+		return this;
+	}
+
+	/**
+	 * Sets the registry the notification metrics of this instance are registered in, when started.
+	 *
+	 * @param meterRegistry the meter registry
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#meterRegistry(MeterRegistry)
+	 */
+	PostgresEventStorageImpl meterRegistry ( MeterRegistry meterRegistry ) {
+		if ( meterRegistry == null ) {
+			throw new IllegalArgumentException("meter registry cannot be null");
+		}
+		this.meterRegistry = meterRegistry;
+		return this;
+	}
+
+	/**
+	 * Derives append notifications from a logical replication slot instead of the {@code LISTEN}/{@code NOTIFY}
+	 * notifications sent by the append trigger.
+	 * <p>
+	 * The slot is created when missing, on start. It keeps the position up to which notifications were dispatched,
+	 * so after a reconnect or restart streaming resumes there, without missing appends.
+	 *
+	 * @param slotName the name of the replication slot, lowercase letters, digits and underscores only
+	 * @param replicationDataSource a DataSource opening replication connections to the primary
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#changeFeed(String, DataSource)
+	 */
+	PostgresEventStorageImpl changeFeed ( String slotName, DataSource replicationDataSource ) {
+		if ( slotName == null || !SLOT_NAME.matcher(slotName).matches() ) {
+			throw new IllegalArgumentException("invalid replication slot name: %s".formatted(slotName));
+		}
+		if ( replicationDataSource == null ) {
+			throw new IllegalArgumentException("replication data source cannot be null");
+		}
+		this.changeFeedSlot = slotName;
+		this.changeFeedDataSource = replicationDataSource;
+		return this;
+	}
+
+	/**
+	 * Uses the partitioned schema variant, with the events table range-partitioned by event position.
+	 *
+	 * @param partitionSize the number of event positions per partition, or {@code 0} for the regular schema
+	 * @return this instance for method chaining
+	 * @see PostgresEventStorage.Builder#partitioned(long)
+	 */
+	PostgresEventStorageImpl partitioned ( long partitionSize ) {
+		if ( partitionSize < 0 ) {
+			throw new IllegalArgumentException("partition size cannot be negative: %d".formatted(partitionSize));
+		}
+		this.partitionSize = partitionSize;
+		return this;
+	}
+
 	static String validatePrefix(String prefix) {
 		if (prefix == null) {
 			throw new IllegalArgumentException("Prefix cannot be null");
@@ -221,7 +464,17 @@ public class PostgresEventStorageImpl implements EventStorage {
 	 */
 	public PostgresEventStorageImpl ensureDatabase ( ) {
 		LOGGER.info("Ensuring database schema for prefix '{}'", prefix);
+		if ( partitionSize > 0 ) {
+			executeSqlScript("ensure-schema-partitioned.sql");
+		}
 		executeSqlScript("ensure-schema.sql");
+		executeSqlScript(notificationTriggerScript());
+		if ( changeFeedSlot != null ) {
+			executeSqlScript("ensure-change-feed.sql");
+		}
+		if ( headCatalog ) {
+			executeSqlScript("ensure-heads.sql");
+		}
 		checkDatabase();
 		return this;
 	}
@@ -238,12 +491,34 @@ public class PostgresEventStorageImpl implements EventStorage {
 	 */
 	public PostgresEventStorageImpl initializeDatabase ( ) {
 		LOGGER.info("Initializing database schema for prefix '{}' (drop and recreate)", prefix);
+		if ( changeFeedSlot != null ) {
+			// the slot depends on the publication that is dropped, and would replay appends of the dropped tables
+			dropChangeFeedSlot();
+		}
 		executeSqlScript("drop-schema.sql");
+		if ( partitionSize > 0 ) {
+			executeSqlScript("ensure-schema-partitioned.sql");
+		}
 		executeSqlScript("ensure-schema.sql");
+		executeSqlScript(notificationTriggerScript());
+		if ( changeFeedSlot != null ) {
+			executeSqlScript("ensure-change-feed.sql");
+		}
+		if ( headCatalog ) {
+			executeSqlScript("ensure-heads.sql");
+		}
 		checkDatabase();
 		return this;
 	}
 
+	private String notificationTriggerScript ( ) {
+		return switch ( notificationTriggerMode ) {
+			case PER_ROW       -> "ensure-trigger-per-row.sql";
+			case PER_STATEMENT -> "ensure-trigger-per-statement.sql";
+			case NONE          -> "ensure-trigger-none.sql";
+		};
+	}
+
 	private void executeSqlScript ( String scriptName ) {
 		try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(scriptName)) {
 			if (inputStream == null) {
@@ -284,13 +559,17 @@ public class PostgresEventStorageImpl implements EventStorage {
 			checkBookmarksTable(readConnection);
 
 			// Check functions
-			checkFunction(readConnection, prefix + "notify_event_appended");
 			checkFunction(readConnection, prefix + "notify_bookmark_placed");
 
 			// Check triggers
-			checkTrigger(readConnection, prefix + "events", "table_insert_trigger");
+			checkEventAppendedTrigger(readConnection);
 			checkTrigger(readConnection, prefix + "bookmarks", "table_insert_or_update_trigger");
 
+			// Check the publication of the change feed
+			if ( changeFeedSlot != null ) {
+				checkPublication(readConnection, prefix + "events_feed");
+			}
+
 			// Check indexes
 			checkIndex(readConnection, prefix + "idx_events_position_brin");
 			checkIndex(readConnection, prefix + "idx_events_stream_type_position");
@@ -298,6 +577,12 @@ public class PostgresEventStorageImpl implements EventStorage {
 			checkIndex(readConnection, prefix + "idx_events_stream_position");
 			checkIndex(readConnection, prefix + "idx_bookmarks_event_id");
 
+			if ( headCatalog ) {
+				checkHeadsTable(readConnection);
+			}
+
+			checkPartitioning(readConnection);
+
 			LOGGER.info("Database schema validation completed successfully for prefix '{}'", prefix);
 
 		} catch (SQLException e) {
@@ -345,12 +630,59 @@ public class PostgresEventStorageImpl implements EventStorage {
 		checkColumn(connection, tableName, "updated_at", "timestamp with time zone", true);
 		checkColumn(connection, tableName, "updated_tags", "ARRAY", true);
 
-		// Check foreign key constraint
-		checkForeignKey(connection, tableName, "fk_bookmarks_event_id");
+		// Check foreign key constraint, which a partitioned events table cannot support
+		if ( partitionSize == 0 ) {
+			checkForeignKey(connection, tableName, "fk_bookmarks_event_id");
+		}
+
+		LOGGER.debug("Table {} validated successfully", tableName);
+	}
+
+	private void checkHeadsTable(Connection connection) throws SQLException {
+		String tableName = prefix + "heads";
+		LOGGER.debug("Checking table: {}", tableName);
+
+		if (!tableExists(connection, tableName)) {
+			throw new EventStorageException("Required table '%s' does not exist".formatted(tableName));
+		}
+
+		checkColumn(connection, tableName, "head_key", "text", false);
+		checkColumn(connection, tableName, "event_position", "bigint", false);
+
+		checkFunction(connection, prefix + "update_heads");
+		checkTrigger(connection, prefix + "events", "table_insert_heads_trigger");
 
 		LOGGER.debug("Table {} validated successfully", tableName);
 	}
 
+	private void checkPartitioning(Connection connection) throws SQLException {
+		String tableName = prefix + "events";
+		boolean partitioned;
+		try (PreparedStatement stmt = connection.prepareStatement("SELECT c.relkind = 'p' FROM pg_class c JOIN pg_namespace n ON c.relnamespace = n.oid WHERE n.nspname = current_schema() AND c.relname = ?")) {
+			stmt.setString(1, tableName);
+			try (ResultSet rs = stmt.executeQuery()) {
+				partitioned = rs.next() && rs.getBoolean(1);
+			}
+		}
+
+		if ( partitioned && partitionSize == 0 ) {
+			throw new EventStorageException("Table '%s' is partitioned, configure the event store as partitioned to use it".formatted(tableName));
+		}
+		if ( !partitioned && partitionSize > 0 ) {
+			throw new EventStorageException("Table '%s' is not partitioned, but a partitioned event store is configured".formatted(tableName));
+		}
+
+		if ( partitioned ) {
+			if (!tableExists(connection, prefix + "idempotency_keys")) {
+				throw new EventStorageException("Required table '%s' does not exist".formatted(prefix + "idempotency_keys"));
+			}
+			checkFunction(connection, prefix + "ensure_event_partitions");
+			checkFunction(connection, prefix + "claim_idempotency_key");
+			checkTrigger(connection, tableName, "table_insert_idempotency_trigger");
+			checkIndex(connection, prefix + "idx_events_idempotency_key");
+		}
+	}
+
 	private boolean tableExists(Connection connection, String tableName) throws SQLException {
 		String sql = """
 			SELECT EXISTS (
@@ -479,6 +811,63 @@ public class PostgresEventStorageImpl implements EventStorage {
 	private void checkTrigger(Connection connection, String tableName, String triggerName) throws SQLException {
 		LOGGER.debug("Checking trigger: {} on table {}", triggerName, tableName);
 
+		if ( !triggerExists(connection, tableName, triggerName) ) {
+			throw new EventStorageException(
+				"Required trigger '%s' does not exist on table '%s'"
+					.formatted(triggerName, tableName)
+			);
+		}
+	}
+
+	/**
+	 * Accepts either the per-row or the statement-level append notification trigger, regardless of the configured mode,
+	 * so a schema managed externally can use either variant. No trigger at all is only accepted in mode
+	 * {@link NotificationTriggerMode#NONE}.
+	 */
+	private void checkEventAppendedTrigger(Connection connection) throws SQLException {
+		String tableName = prefix + "events";
+		boolean perRow = triggerExists(connection, tableName, "table_insert_trigger");
+		boolean perStatement = triggerExists(connection, tableName, "table_insert_statement_trigger");
+
+		if ( !perRow && !perStatement ) {
+			if ( notificationTriggerMode == NotificationTriggerMode.NONE ) {
+				return;
+			}
+			throw new EventStorageException(
+				"Required trigger 'table_insert_trigger' or 'table_insert_statement_trigger' does not exist on table '%s'"
+					.formatted(tableName)
+			);
+		}
+		if ( perRow && perStatement ) {
+			LOGGER.warn("Both per-row and per-statement append notification triggers exist on table '{}', listeners will receive duplicate notifications", tableName);
+		}
+		if ( changeFeedSlot != null ) {
+			LOGGER.warn("An append notification trigger exists on table '{}' next to the change feed, listeners will receive duplicate notifications", tableName);
+		}
+		if ( perRow ) {
+			checkFunction(connection, prefix + "notify_event_appended");
+		}
+		if ( perStatement ) {
+			checkFunction(connection, prefix + "notify_events_appended");
+		}
+	}
+
+	private void checkPublication(Connection connection, String publicationName) throws SQLException {
+		LOGGER.debug("Checking publication: {}", publicationName);
+
+		try (PreparedStatement stmt = connection.prepareStatement("SELECT EXISTS (SELECT FROM pg_publication WHERE pubname = ?)")) {
+			stmt.setString(1, publicationName);
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (!rs.next() || !rs.getBoolean(1)) {
+					throw new EventStorageException(
+						"Required publication '%s' does not exist".formatted(publicationName)
+					);
+				}
+			}
+		}
+	}
+
+	private boolean triggerExists(Connection connection, String tableName, String triggerName) throws SQLException {
 		String sql = """
 			SELECT EXISTS (
 				SELECT FROM information_schema.triggers
@@ -492,12 +881,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 			stmt.setString(1, tableName);
 			stmt.setString(2, triggerName);
 			try (ResultSet rs = stmt.executeQuery()) {
-				if (!rs.next() || !rs.getBoolean(1)) {
-					throw new EventStorageException(
-						"Required trigger '%s' does not exist on table '%s'"
-							.formatted(triggerName, tableName)
-					);
-				}
+				return rs.next() && rs.getBoolean(1);
 			}
 		}
 	}
@@ -526,322 +910,520 @@ public class PostgresEventStorageImpl implements EventStorage {
 	}
 	
 	public void start ( ) {
-		CountDownLatch eventMonitorReady = new CountDownLatch(1);
-		CountDownLatch bookmarkMonitorReady = new CountDownLatch(1);
-		this.executorService.execute(new NewEventsAppendedMonitor("event-append-listener/" + name, listeners, monitoringDataSource, eventMonitorReady));
-		this.executorService.execute(new BookmarkPlacedMonitor("bookmark-listener/" + name, listeners, monitoringDataSource, bookmarkMonitorReady));
+		if ( partitionSize > 0 ) {
+			ensureEventPartitions(2 * partitionSize);
+		}
+		io.micrometer.core.instrument.Tags meterTags = io.micrometer.core.instrument.Tags.of("storage", name);
+		this.meterNotificationsReceived = meterRegistry.counter("sliceworkz.eventstore.notifications.received", meterTags);
+		this.meterNotificationsDispatched = meterRegistry.counter("sliceworkz.eventstore.notifications.dispatched", meterTags);
+		this.notificationHub = PostgresNotificationHub.acquire(monitoringDataSource);
 		try {
-			eventMonitorReady.await();
-			bookmarkMonitorReady.await();
+			if ( changeFeedSlot != null ) {
+				ensureChangeFeedSlot();
+				CountDownLatch changeFeedReady = new CountDownLatch(1);
+				this.executorService.execute(new ChangeFeedMonitor("event-change-feed/" + name, listeners, changeFeedReady));
+				changeFeedReady.await();
+			} else {
+				notificationHub.listen(prefix + "event_appended", eventsAppendedHandler);
+			}
+			notificationHub.listen(prefix + "bookmark_placed", bookmarksPlacedHandler);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 		}
+		if ( groupCommitAppender != null ) {
+			groupCommitAppender.start(executorService);
+		}
 	}
 	
+	@Override
 	public void stop ( ) {
 		this.stopped = true;
+		if ( notificationHub != null ) {
+			notificationHub.unlisten(prefix + "event_appended", eventsAppendedHandler);
+			notificationHub.unlisten(prefix + "bookmark_placed", bookmarksPlacedHandler);
+			notificationHub.release();
+			notificationHub = null;
+		}
+		if ( groupCommitAppender != null ) {
+			groupCommitAppender.stop();
+		}
 		executorService.shutdown();
 	}
 
+	/**
+	 * @return the notification hub this event store listens on, or null when not started
+	 */
+	PostgresNotificationHub notificationHub ( ) {
+		return notificationHub;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * With {@link PostgresEventStorage.Builder#streamingQueries(int) streaming queries} enabled, the returned stream
+	 * holds on to a pooled connection until it is exhausted, its limit is reached, or it is closed. Callers must close
+	 * it (preferably with try-with-resources) when they may stop consuming early, for instance with {@code findFirst()},
+	 * {@code anyMatch(...)} or {@code limit(n)}, or when an exception can interrupt consumption.
+	 */
 	@Override
 	public Stream<StoredEvent> query(EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection direction ) {
+		StoredEventRowMapper mapper = new StoredEventRowMapper();
+		return query(query, stream, after, limit, direction, false, mapper);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In streaming mode, the returned stream must be closed like the one of
+	 * {@link #query(EventQuery, Optional, EventReference, Limit, QueryDirection)}.
+	 */
+	@Override
+	public Stream<StoredEventHeader> queryHeaders(EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection direction ) {
+		// leaves out the event data columns altogether, so payloads are never transferred
+		StoredEventRowMapper mapper = new StoredEventRowMapper();
+		return query(query, stream, after, limit, direction, true, mapper::mapHeader);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * With the head catalog enabled, the head is looked up in the catalog when it is exact for the query: no stream
+	 * restriction, no {@code until} reference, and only filter items with event types and at most a single tag.
+	 * The head is only used when already visible to queries, otherwise this falls back to a backward query.
+	 */
+	@Override
+	public Optional<EventReference> headReference ( EventQuery query, Optional<EventStreamId> stream ) {
+		boolean anyStream = stream.isEmpty() || (stream.get().isAnyContext() && stream.get().isAnyPurpose());
+		if ( !headCatalog || !anyStream || query.isMatchNone() || query.isMatchAll() || query.until() != null ) {
+			return PostgresBulkImporter.super.headReference(query, stream);
+		}
+		String filterShape = filterShape(query.filter());
+		boolean exact = filterShape.indexOf('*') < 0 && query.items().stream().allMatch(i -> i.tags() == null || i.tags().tags().size() <= 1);
+		if ( !exact ) {
+			return PostgresBulkImporter.super.headReference(query, stream);
+		}
+
+		String sql = sqlTemplates.computeIfAbsent("head:" + filterShape, k -> {
+			StringBuilder sqlBuilder = new StringBuilder("SELECT b.p, e.event_position, e.event_tx::text::bigint, e.event_id::text FROM (SELECT ");
+			appendHeadBoundSql(sqlBuilder, filterShape);
+			sqlBuilder.append(" AS p) b LEFT JOIN %sevents e ON e.event_position = b.p AND e.event_tx < pg_snapshot_xmin(pg_current_snapshot())".formatted(prefix));
+			return sqlBuilder.toString();
+		});
+		List<Object> parameters = new ArrayList<>();
+		addEventFilterParameters(parameters, query.filter());
+
+		try ( Connection readConnection = dataSource.getConnection() ) {
+			readConnection.setAutoCommit(true);
+			try ( PreparedStatement stmt = readConnection.prepareStatement(sql) ) {
+				bindParameters(readConnection, stmt, parameters);
+				try ( ResultSet rs = stmt.executeQuery() ) {
+					rs.next();
+					if ( rs.getLong(1) == 0 ) {
+						return Optional.empty();
+					}
+					if ( rs.getString(4) != null ) {
+						return Optional.of(EventReference.of(new EventId(rs.getString(4)), rs.getLong(2), rs.getLong(3)));
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new EventStorageException("Failed to look up head reference", e);
+		}
+		// the head was appended by a transaction that is not visible to queries yet
+		return PostgresBulkImporter.super.headReference(query, stream);
+	}
+
+	private <T> Stream<T> query(EventQuery query, Optional<EventStreamId> stream, EventReference after, Limit limit, QueryDirection direction, boolean headersOnly, ResultSetCursor.RowMapper<T> mapper ) {
 		// Handle the case where query matches none - return empty stream
 		if (query.isMatchNone()) {
 			return Stream.empty();
 		}
 
+		boolean forward = direction != QueryDirection.BACKWARD;
+		boolean hasAfter = after != null;
+		boolean hasUntil = query.until() != null;
+		boolean hasContext = stream.isPresent() && !stream.get().isAnyContext();
+		boolean hasPurpose = stream.isPresent() && !stream.get().isAnyPurpose();
+		String filterShape = query.isMatchAll() ? "" : filterShape(query.filter());
+
+		Limit effectiveLimit = effectiveLimit(limit);
+		boolean hasLimit = effectiveLimit != null && effectiveLimit.isSet();
+
+		// parameters are collected in the exact order of the placeholders rendered by renderQuerySql
+		List<Object> parameters = new ArrayList<>();
+		if ( hasAfter ) {
+			parameters.add(Long.toUnsignedString(after.tx()));
+			parameters.add(Long.toUnsignedString(after.tx()));
+			parameters.add(after.position());
+		}
+		if ( hasUntil ) {
+			parameters.add(query.until().position());
+		}
+		if ( hasContext ) {
+			parameters.add(stream.get().context());
+		}
+		if ( hasPurpose ) {
+			parameters.add(stream.get().purpose());
+		}
+		if ( !filterShape.isEmpty() ) {
+			addEventFilterParameters(parameters, query.filter());
+		}
+		if ( hasLimit ) {
+			parameters.add(effectiveLimit.value());
+		}
+
+		String shape = new StringBuilder("query:")
+			.append(headersOnly ? 'H' : 'E')
+			.append(forward ? 'F' : 'B')
+			.append(hasAfter ? 'A' : '-')
+			.append(hasUntil ? 'U' : '-')
+			.append(hasContext ? 'C' : '-')
+			.append(hasPurpose ? 'P' : '-')
+			.append(hasLimit ? 'L' : '-')
+			.append(':').append(filterShape)
+			.toString();
+		String sql = sqlTemplates.computeIfAbsent(shape, k -> renderQuerySql(headersOnly, forward, hasAfter, hasUntil, hasContext, hasPurpose, filterShape, hasLimit));
+
+		// a bounded query needs the events up to its bound, a backward query the ones before its cursor
+		EventReference required = hasUntil ? query.until() : (forward ? null : after);
+
+		if ( queryFetchSize > 0 ) {
+			return streamQuery(sql, parameters, mapper, required, hasLimit ? effectiveLimit.value() : 0);
+		}
+
+		try ( Connection readConnection = readConnection(required) ) {
+			readConnection.setAutoCommit(true);
+			try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+				bindParameters(readConnection, stmt, parameters);
+				
+				try (ResultSet rs = stmt.executeQuery()) {
+					List<T> events = new ArrayList<>();
+					while (rs.next()) {
+						events.add(mapper.map(rs));
+					}
+					if ( absoluteLimit != null && absoluteLimit.isSet() && events.size() > absoluteLimit.value() ) {
+						throw new EventStorageException("query returned more results than the configured absolute limit of %d".formatted(absoluteLimit.value()));
+					}
+					return events.stream();
+				}
+			}
+		} catch (SQLException e) {
+			throw new EventStorageException("Failed to query events", e);
+		}
+	}
+
+	private String renderQuerySql ( boolean headersOnly, boolean forward, boolean hasAfter, boolean hasUntil, boolean hasContext, boolean hasPurpose, String filterShape, boolean hasLimit ) {
 		StringBuilder sqlBuilder = new StringBuilder();
 		sqlBuilder.append(
 			"""
-				SELECT event_position, event_tx::text, event_id, stream_context, stream_purpose, event_type, event_timestamp, event_data, event_erasable_data, event_tags
+				SELECT %s
 				FROM %sevents
 				WHERE event_tx < pg_snapshot_xmin(pg_current_snapshot())
-			""".formatted(prefix)
+			""".formatted(headersOnly ? StoredEventRowMapper.HEADER_COLUMNS : StoredEventRowMapper.COLUMNS, prefix)
 			);
 		// pg_snapshot_xmin(pg_current_snapshot()) makes sure we don't read data committed by transaction that were started
 		// after ones that are still running (race condition which would drop some events otherwise)
 		// great insight found in the blogpost by Oskar Dudycz (https://event-driven.io/en/ordering_in_postgres_outbox/)
 
-		List<Object> parameters = new ArrayList<>();
-
 		// Add position filtering if reference is provided (exclusive - events after the reference)
-		if (after != null ) {
-			if ( direction == QueryDirection.FORWARD ) {
+		if ( hasAfter ) {
+			if ( forward ) {
 				sqlBuilder.append(" AND ((event_tx>?::xid8) OR (event_tx = ?::xid8 AND event_position > ?))");
 			} else {
 				sqlBuilder.append(" AND ((event_tx<?::xid8) OR (event_tx = ?::xid8 AND event_position < ?))");
 			}
-			parameters.add(Long.toUnsignedString(after.tx()));
-			parameters.add(Long.toUnsignedString(after.tx()));
-			parameters.add(after.position());
 		}
 		
-		if ( query.until() != null ) {
-			if ( direction == QueryDirection.FORWARD ) {
+		if ( hasUntil ) {
+			if ( forward ) {
 				sqlBuilder.append(" AND event_position <= ?");
 			} else { 
 				sqlBuilder.append(" AND event_position >= ?");
 			}
-			parameters.add(query.until().position());
 		}
 		
 		// Add stream filtering
-		if (stream.isPresent()) {
-			if (!stream.get().isAnyContext()) {
-				sqlBuilder.append(" AND stream_context = ?");
-				parameters.add(stream.get().context());
-			}
-			if (!stream.get().isAnyPurpose()) {
-				sqlBuilder.append(" AND stream_purpose = ?");
-				parameters.add(stream.get().purpose());
-			}
+		if ( hasContext ) {
+			sqlBuilder.append(" AND stream_context = ?");
+		}
+		if ( hasPurpose ) {
+			sqlBuilder.append(" AND stream_purpose = ?");
 		}
 		
 		// Add EventFilter filtering (event types and tags)
-		if (!query.isMatchAll()) {
-			addEventFilterFiltering(sqlBuilder, parameters, query.filter());
-		}
+		appendEventFilterSql(sqlBuilder, filterShape);
 		
 		// Order by position
-		if ( direction == QueryDirection.BACKWARD ) {
-			sqlBuilder.append(" ORDER BY event_tx::xid8 DESC, event_position DESC");
-		} else {
+		if ( forward ) {
 			sqlBuilder.append(" ORDER BY event_tx::xid8, event_position ");
-			
+		} else {
+			sqlBuilder.append(" ORDER BY event_tx::xid8 DESC, event_position DESC");
 		}
 		
-		Limit effectiveLimit = effectiveLimit(limit);
-		
 		// Add limit if specified
-		if (effectiveLimit != null && effectiveLimit.isSet()) {
+		if ( hasLimit ) {
 			sqlBuilder.append(" LIMIT ? OFFSET 0");
-			parameters.add(effectiveLimit.value());
 		}
-		
-		try ( Connection readConnection = dataSource.getConnection() ) {
-			readConnection.setAutoCommit(true);
-			try (PreparedStatement stmt = readConnection.prepareStatement(sqlBuilder.toString())) {
-				// Set parameters
-				for (int i = 0; i < parameters.size(); i++) {
-					stmt.setObject(i + 1, parameters.get(i));
-				}
-				
-				try (ResultSet rs = stmt.executeQuery()) {
-					List<StoredEvent> events = new ArrayList<>();
-					while (rs.next()) {
-						events.add(mapResultSetToEvent(rs));
-					}
-					if ( absoluteLimit != null && absoluteLimit.isSet() && events.size() > absoluteLimit.value() ) {
-						throw new EventStorageException("query returned more results than the configured absolute limit of %d".formatted(absoluteLimit.value()));
-					}
-					return events.stream();
-				}
+		return sqlBuilder.toString();
+	}
+
+	/**
+	 * Binds the collected parameters to a statement, passing {@code String[]} values as a single {@code text[]} array.
+	 */
+	private static void bindParameters ( Connection connection, PreparedStatement stmt, List<Object> parameters ) throws SQLException {
+		for (int i = 0; i < parameters.size(); i++) {
+			Object param = parameters.get(i);
+			if (param instanceof String[] array) {
+				stmt.setArray(i + 1, connection.createArrayOf("text", array));
+			} else {
+				stmt.setObject(i + 1, param);
 			}
+		}
+	}
+	
+
+	/**
+	 * Executes a query through a server-side cursor and exposes the rows as a lazily evaluated stream.
+	 * <p>
+	 * The PostgreSQL driver only fetches in batches when autocommit is off and a fetch size is set,
+	 * so the read connection is kept in a (read-only) transaction until the returned stream is
+	 * exhausted or closed, or the number of rows of the SQL {@code LIMIT} has been read.
+	 * The absolute limit is enforced while iterating rather than upfront.
+	 */
+	private <T> Stream<T> streamQuery ( String sql, List<Object> parameters, ResultSetCursor.RowMapper<T> mapper, EventReference required, long limitRows ) {
+		Connection readConnection = null;
+		PreparedStatement stmt = null;
+		try {
+			readConnection = readConnection(required);
+			readConnection.setAutoCommit(false);
+			stmt = readConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			stmt.setFetchSize(queryFetchSize);
+			bindParameters(readConnection, stmt, parameters);
+			ResultSet rs = stmt.executeQuery();
+			long maxRows = absoluteLimit != null && absoluteLimit.isSet() ? absoluteLimit.value() : 0;
+			return new ResultSetCursor<>(readConnection, stmt, rs, mapper, maxRows, limitRows).stream();
 		} catch (SQLException e) {
+			closeQuietly(stmt, e);
+			if ( readConnection != null ) {
+				try {
+					readConnection.rollback();
+					readConnection.setAutoCommit(true);
+				} catch (SQLException rollbackEx) {
+					e.addSuppressed(rollbackEx);
+				}
+				closeQuietly(readConnection, e);
+			}
 			throw new EventStorageException("Failed to query events", e);
 		}
 	}
-	
-	private void addEventFilterFiltering(StringBuilder sqlBuilder, List<Object> parameters, EventFilter filter) {
+
+	private static void closeQuietly ( AutoCloseable closeable, Exception cause ) {
+		if ( closeable != null ) {
+			try {
+				closeable.close();
+			} catch (Exception e) {
+				cause.addSuppressed(e);
+			}
+		}
+	}
+
+	/**
+	 * Describes the structure of an {@link EventFilter}, independent of the actual event types and tags.
+	 * <p>
+	 * Each filter item contributes one character: {@code T} (event types only), {@code G} (tags only),
+	 * {@code B} (both) or {@code *} (neither). Filters with the same shape render to the same SQL, since
+	 * event types and tags are each bound as a single array parameter, whatever their number.
+	 */
+	static String filterShape ( EventFilter filter ) {
 		if (filter.items() == null || filter.items().isEmpty()) {
-			return; // matchAll case is already handled
+			return ""; // matchAll case is already handled
+		}
+		StringBuilder shape = new StringBuilder(filter.items().size());
+		for (EventFilterItem item : filter.items()) {
+			boolean hasEventTypeFilter = item.eventTypes() != null && !item.eventTypes().eventTypes().isEmpty();
+			boolean hasTagFilter = item.tags() != null && !item.tags().tags().isEmpty();
+			shape.append(hasEventTypeFilter ? (hasTagFilter ? 'B' : 'T') : (hasTagFilter ? 'G' : '*'));
 		}
+		return shape.toString();
+	}
 
-		sqlBuilder.append(" AND (");
-		boolean first = true;
+	/**
+	 * Renders the SQL condition for a filter shape as produced by {@link #filterShape(EventFilter)}.
+	 */
+	static void appendEventFilterSql ( StringBuilder sqlBuilder, String filterShape ) {
+		if ( filterShape.isEmpty() ) {
+			return;
+		}
 
-		for (EventFilterItem item : filter.items()) {
-			if (!first) {
+		sqlBuilder.append(" AND (");
+		for ( int i = 0; i < filterShape.length(); i++ ) {
+			if ( i > 0 ) {
 				sqlBuilder.append(" OR ");
 			}
-			
-			sqlBuilder.append("(");
-			boolean hasEventTypeFilter = false;
-			boolean hasTagFilter = false;
-			
-			// Add event type filtering
-			if (item.eventTypes() != null && !item.eventTypes().eventTypes().isEmpty()) {
-				sqlBuilder.append("event_type IN (");
-				
-				Iterator<EventType> itTypes = item.eventTypes().eventTypes().iterator();
-				for (int i = 0; i < item.eventTypes().eventTypes().size(); i++) {
-					if (i > 0) sqlBuilder.append(", ");
-					sqlBuilder.append("?");
-					parameters.add(itTypes.next().name());
-				}
-				sqlBuilder.append(")");
-				hasEventTypeFilter = true;
-			}
-			
-			// Add tag filtering
-			if (item.tags() != null && !item.tags().tags().isEmpty()) {
-				if (hasEventTypeFilter) {
-					sqlBuilder.append(" AND ");
-				}
-				
+			switch ( filterShape.charAt(i) ) {
+				case 'T' -> sqlBuilder.append("(event_type = ANY(?::text[]))");
 				// Check that all required tags are present in the event's tags array
-				sqlBuilder.append("event_tags @> ARRAY[");
-				boolean firstTag = true;
-				for (Tag tag : item.tags().tags()) {
-					if (!firstTag) sqlBuilder.append(", ");
-					sqlBuilder.append("?");
-					parameters.add(tag.toString());
-					firstTag = false;
-				}
-				sqlBuilder.append("]::text[]");
-				hasTagFilter = true;
+				case 'G' -> sqlBuilder.append("(event_tags @> ?::text[])");
+				case 'B' -> sqlBuilder.append("(event_type = ANY(?::text[]) AND event_tags @> ?::text[])");
+				// If no specific filters, match all for this item (shouldn't happen in practice)
+				default  -> sqlBuilder.append("(1=1)");
 			}
-			
-			// If no specific filters, match all for this item (shouldn't happen in practice)
-			if (!hasEventTypeFilter && !hasTagFilter) {
-				sqlBuilder.append("1=1");
-			}
-			
-			sqlBuilder.append(")");
-			first = false;
 		}
-		
 		sqlBuilder.append(")");
 	}
-	
-	/**
-	 * Returns the per-row VALUES fragment used in the INSERT statement of {@link #append}.
-	 * <p>
-	 * Default (PG18+) emits {@code uuidv7()} server-side so no event_id parameter is bound.
-	 * The legacy subclass overrides this together with {@link #bindEventIdParameter} to bind
-	 * a Java-generated UUIDv7 via a {@code ?::uuid} placeholder.
-	 * <p>
-	 * Internal extension point — override only in version-gated subclasses in this package.
-	 */
-	protected String appendValuesRowFragment ( ) {
-		return "(uuidv7(), ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?) ";
-	}
 
 	/**
-	 * Appends the event_id parameter for a single row in {@link #append} when needed.
-	 * <p>
-	 * Default (PG18+) is a no-op — the server generates the id via {@code uuidv7()}.
-	 * The legacy subclass overrides this to add a Java-generated UUIDv7 to the parameter list.
-	 * <p>
-	 * Internal extension point — override only in version-gated subclasses in this package.
+	 * Adds the parameters for a filter, in the order expected by {@link #appendEventFilterSql(StringBuilder, String)}.
 	 */
-	protected void bindEventIdParameter ( List<Object> parameters ) {
-		// no-op: server-side generation
+	private static void addEventFilterParameters ( List<Object> parameters, EventFilter filter ) {
+		for (EventFilterItem item : filter.items()) {
+			if (item.eventTypes() != null && !item.eventTypes().eventTypes().isEmpty()) {
+				String[] types = new String[item.eventTypes().eventTypes().size()];
+				int i = 0;
+				for ( EventType type: item.eventTypes().eventTypes() ) {
+					types[i++] = type.name();
+				}
+				parameters.add(types);
+			}
+			if (item.tags() != null && !item.tags().tags().isEmpty()) {
+				String[] tags = new String[item.tags().tags().size()];
+				int i = 0;
+				for ( Tag tag: item.tags().tags() ) {
+					tags[i++] = tag.toString();
+				}
+				parameters.add(tags);
+			}
+		}
 	}
-
+	
 	@Override
 	public List<StoredEvent> append(AppendCriteria appendCriteria, Optional<EventStreamId> streamId, List<EventToStore> events) {
+		if ( groupCommitAppender != null && !events.isEmpty() && appendCriteria.isNone() && events.stream().allMatch(e -> e.idempotencyKey() == null) ) {
+			return groupCommitAppender.append(events);
+		}
+		return insert(appendCriteria, streamId, events);
+	}
+
+	private List<StoredEvent> insert(AppendCriteria appendCriteria, Optional<EventStreamId> streamId, List<EventToStore> events) {
 		List<StoredEvent> storedEvents = new ArrayList<>();
 
 		if ( events.size() != 0 ) {
 
-			// Build conditional insert with optimistic locking check
-			StringBuilder sqlBuilder = new StringBuilder();
-			sqlBuilder.append("INSERT INTO %sevents (event_id, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags) SELECT * FROM ( VALUES ".formatted(prefix));
-			String valuesRowFragment = appendValuesRowFragment();
-			for ( int i = 0; i < events.size(); i++ ) {
-				if ( i > 0 ) {
-					sqlBuilder.append(", ");
+			List<String> idempotencyKeys = events.stream().map(EventToStore::idempotencyKey).filter(Objects::nonNull).toList();
+			boolean idempotent = !idempotencyKeys.isEmpty();
+
+			if ( idempotent && recentIdempotencyKeys != null ) {
+				for ( String key : idempotencyKeys ) {
+					EventReference original = recentIdempotencyKeys.get(key);
+					if ( original != null ) {
+						LOGGER.debug("Skipping append, idempotency key '{}' was already stored at {}", key, original);
+						return Collections.emptyList();
+					}
 				}
-				sqlBuilder.append(valuesRowFragment);
 			}
-			sqlBuilder.append(") ");
-
-			List<Object> parameters = new ArrayList<>();
-
-			for ( EventToStore event: events ) {
-
-				bindEventIdParameter(parameters);
-
-				// Add to-be-appended-event parameters first
-				parameters.add(event.idempotencyKey());
-				parameters.add(event.stream().context());
-				parameters.add(event.stream().purpose());
-				parameters.add(event.type().name());
 
-				parameters.add(event.immutableData());
-				parameters.add(event.erasableData());
-
-				// Convert tags to array
-				String[] tagsArray = event.tags().toStrings().toArray(new String[event.tags().tags().size()]);
-				parameters.add(tagsArray);
+			// One array per column, so the statement is the same whatever the number of events appended
+			int rows = events.size();
+			String[] eventIds = new String[rows];
+			String[] keys = new String[rows];
+			String[] contexts = new String[rows];
+			String[] purposes = new String[rows];
+			String[] types = new String[rows];
+			String[] data = new String[rows];
+			String[] erasableData = new String[rows];
+			String[] tags = new String[rows];
+			for ( int i = 0; i < rows; i++ ) {
+				EventToStore event = events.get(i);
+				eventIds[i] = eventId();
+				keys[i] = event.idempotencyKey();
+				contexts[i] = event.stream().context();
+				purposes[i] = event.stream().purpose();
+				types[i] = event.type().name();
+				data[i] = event.immutableData();
+				erasableData[i] = event.erasableData();
+				// tags vary in number per event, so each row's tags are passed as an array literal
+				tags[i] = textArrayLiteral(event.tags().toStrings());
 			}
 
-			if ( ! appendCriteria.isNone() ) {
-
-				// Now add the optimistic locking conditions
-				sqlBuilder.append(
-						"""
-					WHERE NOT EXISTS (
-						SELECT 1 FROM %sevents
-						WHERE 1=1 """.formatted(prefix));
-
-
-				// Add stream filtering
-				if (streamId.isPresent()) {
-					if (!streamId.get().isAnyContext()) {
-						sqlBuilder.append(" AND stream_context = ?");
-						parameters.add(streamId.get().context());
-					}
-					if (!streamId.get().isAnyPurpose()) {
-						sqlBuilder.append(" AND stream_purpose = ?");
-						parameters.add(streamId.get().purpose());
-					}
-				}
-
-				if ( appendCriteria.expectedLastEventReference() != null && appendCriteria.expectedLastEventReference().isPresent()  ) {
+			List<Object> parameters = new ArrayList<>(List.of(eventIds, keys, contexts, purposes, types, data, erasableData, tags));
 
-					// Add position filtering - check for events after the expected last event
-					sqlBuilder.append(" AND event_position > ?");
-					parameters.add(appendCriteria.expectedLastEventReference().get().position());
-				}
+			boolean conditional = !appendCriteria.isNone();
+			boolean hasContext = conditional && streamId.isPresent() && !streamId.get().isAnyContext();
+			boolean hasPurpose = conditional && streamId.isPresent() && !streamId.get().isAnyPurpose();
+			boolean hasExpected = conditional && appendCriteria.expectedLastEventReference() != null && appendCriteria.expectedLastEventReference().isPresent();
+			String filterShape = conditional && !appendCriteria.eventFilter().isMatchAll() ? filterShape(appendCriteria.eventFilter()) : "";
+			boolean useHeads = headCatalog && !filterShape.isEmpty() && filterShape.indexOf('*') < 0;
 
+			// Validate against the head catalog first, only scanning the events when it cannot rule out a conflict
+			if ( useHeads ) {
+				addEventFilterParameters(parameters, appendCriteria.eventFilter());
+				parameters.add(hasExpected ? appendCriteria.expectedLastEventReference().get().position() : 0L);
+			}
 
+			// Now add the optimistic locking conditions
+			if ( hasContext ) {
+				parameters.add(streamId.get().context());
+			}
+			if ( hasPurpose ) {
+				parameters.add(streamId.get().purpose());
+			}
+			if ( hasExpected ) {
+				// check for events after the expected last event
+				parameters.add(appendCriteria.expectedLastEventReference().get().position());
+			}
+			if ( !filterShape.isEmpty() ) {
 				// Add EventFilter filtering for the consistency boundary
-				EventFilter lockingFilter = appendCriteria.eventFilter();
-				if (!lockingFilter.isMatchAll()) {
-					addEventFilterFiltering(sqlBuilder, parameters, lockingFilter);
-				}
-
-				sqlBuilder.append(") ");
+				addEventFilterParameters(parameters, appendCriteria.eventFilter());
 			}
 
-			sqlBuilder.append("RETURNING event_position, event_timestamp, event_tx::text, event_id::text");
-
+			String shape = new StringBuilder("append:")
+				.append(idempotent ? 'I' : '-')
+				.append(conditional ? 'W' : '-')
+				.append(hasContext ? 'C' : '-')
+				.append(hasPurpose ? 'P' : '-')
+				.append(hasExpected ? 'E' : '-')
+				.append(useHeads ? 'H' : '-')
+				.append(':').append(filterShape)
+				.toString();
+			String sql = sqlTemplates.computeIfAbsent(shape, k -> renderAppendSql(idempotent, conditional, hasContext, hasPurpose, hasExpected, useHeads, filterShape));
 
 			try ( Connection writeConnection = dataSource.getConnection()) {
 				writeConnection.setAutoCommit(false);
 
-				try ( PreparedStatement stmt = writeConnection.prepareStatement(sqlBuilder.toString()) ) {
-					// Set parameters
-					for (int i = 0; i < parameters.size(); i++) {
-						Object param = parameters.get(i);
-						if (param instanceof String[]) {
-							stmt.setArray(i + 1, writeConnection.createArrayOf("text", (String[]) param));
-						} else {
-							stmt.setObject(i + 1, param);
-						}
+				try ( PreparedStatement stmt = writeConnection.prepareStatement(sql) ) {
+					if ( appendLockingMode == AppendLockingMode.ADVISORY ) {
+						acquireAppendLocks(writeConnection, appendCriteria, events);
 					}
+					bindParameters(writeConnection, stmt, parameters);
 
 					try (ResultSet rs = stmt.executeQuery()) {
 
 						Iterator<EventToStore> it = events.iterator();
 
 						while (rs.next()) {
-							long position = rs.getLong("event_position");
-							long tx = Long.parseUnsignedLong(rs.getString("event_tx"));
-							Timestamp timestamp = rs.getTimestamp("event_timestamp", Calendar.getInstance(TimeZone.getTimeZone("UTC")));
-							EventId id = new EventId(rs.getString("event_id"));
+							long position = rs.getLong(1);
+							// read as an offset date time, which needs no per-append calendar
+							OffsetDateTime timestamp = rs.getObject(2, OffsetDateTime.class);
+							long tx = rs.getLong(3);
+							EventId id = new EventId(rs.getString(4));
 
 							EventToStore e = it.next();
 
 							EventReference reference = EventReference.of(id, position, tx);
-							storedEvents.add(e.positionAt(reference, timestamp.toInstant().atOffset(ZoneOffset.UTC).toLocalDateTime()));
+							storedEvents.add(e.positionAt(reference, timestamp.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()));
 						}
 
 						if ( storedEvents.size() != events.size() ) {
-							// Insert failed due to optimistic locking conflict
+							// Either an idempotency key was already stored, or the optimistic locking condition failed
 							writeConnection.rollback();
+							if ( idempotent ) {
+								Map<String, EventReference> originals = findIdempotencyKeys(writeConnection, idempotencyKeys);
+								if ( !originals.isEmpty() ) {
+									LOGGER.debug("Skipping append, idempotency keys already stored: {}", originals);
+									rememberIdempotencyKeys(originals);
+									return Collections.emptyList();
+								}
+							}
 							throw new OptimisticLockingException(appendCriteria.eventFilter(), appendCriteria.expectedLastEventReference());
 						}
 					}
@@ -853,12 +1435,18 @@ public class PostgresEventStorageImpl implements EventStorage {
 					} catch (SQLException rollbackEx) {
 						e.addSuppressed(rollbackEx);
 					}
+					throw new EventStorageException("SQLException during append", e);
+				}
 
-					// idempotency issue
-					if ( e.getMessage().contains("idempotency_key")) {
-						return Collections.emptyList();
-					} else {
-						throw new EventStorageException("SQLException during append", e);
+				afterAppend(storedEvents.getLast().reference().position());
+				rememberWalPosition(writeConnection);
+
+				if ( idempotent && recentIdempotencyKeys != null ) {
+					for ( int i = 0; i < events.size(); i++ ) {
+						String key = events.get(i).idempotencyKey();
+						if ( key != null ) {
+							recentIdempotencyKeys.put(key, storedEvents.get(i).reference());
+						}
 					}
 				}
 				
@@ -871,173 +1459,647 @@ public class PostgresEventStorageImpl implements EventStorage {
 			
 	}
 
-	@Override
-	public Optional<StoredEvent> getEventById(EventId eventId) {
-		if ( eventId != null ) {
-			String sql = """
-				SELECT event_position, event_tx::text, event_id, stream_context, stream_purpose, event_type, event_timestamp, event_data, event_erasable_data, event_tags 
-				FROM %sevents 
-				WHERE event_id = ?::uuid
-			""".formatted(prefix);
-			
-			try ( Connection readConnection = dataSource.getConnection() ) {
-				readConnection.setAutoCommit(true);
-				try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
-					stmt.setString(1, eventId.value());
-					
-					try (ResultSet rs = stmt.executeQuery()) {
-						if (rs.next()) {
-							return Optional.of(mapResultSetToEvent(rs));
-						}
-					}
-				} catch (SQLException e) {
-					throw new EventStorageException("Failed to retrieve event by ID: " + eventId.value(), e);
+	/**
+	 * Returns a connection to read from: a replica that caught up with the writes of this instance and that sees the
+	 * transaction of the required reference, or the primary when there are no replicas or none caught up in time.
+	 */
+	private Connection readConnection ( EventReference required ) throws SQLException {
+		if ( readReplicas.isEmpty() ) {
+			return dataSource.getConnection();
+		}
+		DataSource replica = readReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), readReplicas.size()));
+		try {
+			Connection connection = replica.getConnection();
+			try {
+				if ( awaitReplica(connection, requiredWalPosition.get(), required) ) {
+					return connection;
 				}
+				LOGGER.debug("Replica did not catch up within {} ms, reading from primary", TimeUnit.NANOSECONDS.toMillis(replicaMaxWaitNanos));
 			} catch (SQLException e) {
-				throw new EventStorageException("Failed to close connection", e);
+				LOGGER.warn("Failed to check replica, reading from primary: {}", e.getMessage());
 			}
-		}		
-		return Optional.empty();
+			connection.close();
+		} catch (SQLException e) {
+			LOGGER.warn("Failed to connect to replica, reading from primary: {}", e.getMessage());
+		}
+		return dataSource.getConnection();
 	}
-	
-	private <EVENT_TYPE> StoredEvent mapResultSetToEvent(ResultSet rs) throws SQLException {
-		long position = rs.getLong("event_position");
-		String eventIdValue = rs.getString("event_id");
-		long eventTx = Long.parseUnsignedLong(rs.getString("event_tx"));
-		String streamContext = rs.getString("stream_context");
-		String streamPurpose = rs.getString("stream_purpose");
-		String eventTypeName = rs.getString("event_type");
-		Timestamp timestamp = rs.getTimestamp("event_timestamp", Calendar.getInstance(TimeZone.getTimeZone("UTC")));
-		String eventDataJson = rs.getString("event_data");
-		String eventErasableDataJson = rs.getString("event_erasable_data");
-		String[] tagsArray = null;
-		if (rs.getArray("event_tags") != null) {
-			tagsArray = (String[]) rs.getArray("event_tags").getArray();
+
+	private boolean awaitReplica ( Connection connection, long walPosition, EventReference required ) throws SQLException {
+		// on the primary itself (no recovery in progress), everything written is readable
+		String sql = """
+			SELECT (CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END - '0/0'::pg_lsn) >= ?
+			   AND pg_snapshot_xmin(pg_current_snapshot()) > ?::xid8
+		""";
+		long deadline = System.nanoTime() + replicaMaxWaitNanos;
+		connection.setAutoCommit(true);
+		try ( PreparedStatement stmt = connection.prepareStatement(sql) ) {
+			stmt.setLong(1, walPosition);
+			stmt.setString(2, required == null ? "0" : Long.toUnsignedString(required.tx()));
+			while ( true ) {
+				try ( ResultSet rs = stmt.executeQuery() ) {
+					if ( rs.next() && rs.getBoolean(1) ) {
+						return true;
+					}
+				}
+				if ( System.nanoTime() - deadline >= 0 ) {
+					return false;
+				}
+				try {
+					Thread.sleep(REPLICA_POLL_MS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
 		}
+	}
 
-		// Create EventReference
-		EventId eventId = new EventId(eventIdValue);
-		EventReference eventReference = EventReference.of(eventId, position, eventTx);
+	/**
+	 * Raises the WAL position replicas must have replayed before serving reads to the current position of the primary.
+	 * Called after writes have been committed on the connection, and when notifications arrive.
+	 */
+	private void rememberWalPosition ( Connection connection ) {
+		if ( readReplicas.isEmpty() ) {
+			return;
+		}
+		try ( Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery("SELECT (pg_current_wal_insert_lsn() - '0/0'::pg_lsn)::bigint") ) {
+			rs.next();
+			requiredWalPosition.accumulateAndGet(rs.getLong(1), Math::max);
+			if ( !connection.getAutoCommit() ) {
+				connection.commit();
+			}
+		} catch (SQLException e) {
+			// the write itself succeeded, reads from replicas may just not reflect it yet
+			LOGGER.warn("Failed to determine WAL position: {}", e.getMessage());
+		}
+	}
 
-		// Create EventStreamId
-		EventStreamId streamId = new EventStreamId(streamContext, streamPurpose);
+	/**
+	 * Creates the logical replication slot of the change feed, unless it exists. Creating a slot waits for the
+	 * transactions running at that time to end; the feed starts with the appends committed afterwards.
+	 */
+	private void ensureChangeFeedSlot ( ) {
+		String sql = "SELECT pg_create_logical_replication_slot(?, 'pgoutput') WHERE NOT EXISTS (SELECT FROM pg_replication_slots WHERE slot_name = ?)";
+		try ( Connection writeConnection = dataSource.getConnection() ) {
+			writeConnection.setAutoCommit(true);
+			try ( PreparedStatement stmt = writeConnection.prepareStatement(sql) ) {
+				stmt.setString(1, changeFeedSlot);
+				stmt.setString(2, changeFeedSlot);
+				stmt.executeQuery().close();
+			}
+		} catch (SQLException e) {
+			// created concurrently by another instance starting up
+			if ( !"42710".equals(e.getSQLState()) ) {
+				throw new EventStorageException("Failed to create replication slot '%s'".formatted(changeFeedSlot), e);
+			}
+		}
+	}
 
+	private void dropChangeFeedSlot ( ) {
+		String sql = "SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots WHERE slot_name = ?";
+		try ( Connection writeConnection = dataSource.getConnection() ) {
+			writeConnection.setAutoCommit(true);
+			try ( PreparedStatement stmt = writeConnection.prepareStatement(sql) ) {
+				stmt.setString(1, changeFeedSlot);
+				stmt.executeQuery().close();
+			}
+		} catch (SQLException e) {
+			throw new EventStorageException("Failed to drop replication slot '%s'".formatted(changeFeedSlot), e);
+		}
+	}
 
-		// Create Tags from tag array
-		Tags tags = Tags.parse(tagsArray);
+	/**
+	 * Creates the next partitions of the events table in time, once appends reach the last partition created so far.
+	 */
+	private void afterAppend ( long lastPosition ) {
+		if ( partitionSize > 0 && lastPosition + partitionSize >= partitionsUntil ) {
+			ensureEventPartitions(2 * partitionSize);
+		}
+	}
 
-		return new StoredEvent(streamId, EventType.ofType(eventTypeName), eventReference, eventDataJson, eventErasableDataJson, tags, timestamp.toInstant().atOffset(ZoneOffset.UTC).toLocalDateTime());
+	/**
+	 * Creates the partitions of the events table needed to hold at least {@code headroom} events beyond the current position.
+	 * Other event store instances create partitions as well, this is idempotent.
+	 */
+	private void ensureEventPartitions ( long headroom ) {
+		try ( Connection writeConnection = dataSource.getConnection() ) {
+			writeConnection.setAutoCommit(false);
+			try ( PreparedStatement stmt = writeConnection.prepareStatement("SELECT %sensure_event_partitions(?, ?)".formatted(prefix)) ) {
+				stmt.setLong(1, partitionSize);
+				stmt.setLong(2, headroom);
+				try ( ResultSet rs = stmt.executeQuery() ) {
+					rs.next();
+					partitionsUntil = rs.getLong(1);
+				}
+				writeConnection.commit();
+			} catch (SQLException e) {
+				writeConnection.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new EventStorageException("Failed to create event partitions", e);
+		}
+		LOGGER.debug("Event partitions created up to position {}", partitionsUntil);
 	}
 
-	
-	
-	class NewEventsAppendedMonitor implements Runnable {
+	/**
+	 * Takes the transaction-scoped advisory locks for an append, in ascending key order, in a single roundtrip.
+	 * The locks are held until the append transaction commits or rolls back.
+	 *
+	 * @see AppendLocks
+	 */
+	private void acquireAppendLocks ( Connection connection, AppendCriteria appendCriteria, List<EventToStore> events ) throws SQLException {
+		acquireAdvisoryLocks(connection, AppendLocks.keys(prefix, appendCriteria, events));
+	}
 
-		private static final Logger LOGGER = LoggerFactory.getLogger(NewEventsAppendedMonitor.class);
+	/**
+	 * Takes the given transaction-scoped advisory locks, in ascending key order, in a single roundtrip.
+	 */
+	private void acquireAdvisoryLocks ( Connection connection, SortedMap<Long, Boolean> keys ) throws SQLException {
+		String sql = """
+			SELECT CASE WHEN l.x THEN pg_advisory_xact_lock(l.k) ELSE pg_advisory_xact_lock_shared(l.k) END::text
+			FROM (SELECT k, x FROM unnest(?::bigint[], ?::boolean[]) AS t(k, x) ORDER BY k) l
+		""";
+		try ( PreparedStatement stmt = connection.prepareStatement(sql) ) {
+			stmt.setArray(1, connection.createArrayOf("bigint", keys.keySet().toArray(Long[]::new)));
+			stmt.setArray(2, connection.createArrayOf("boolean", keys.values().toArray(Boolean[]::new)));
+			stmt.execute();
+		}
+	}
 
-		private String name;
-		private List<WeakReference<EventStoreListener>> listeners;
-		private DataSource monitoringDataSource;
-		private CountDownLatch readyLatch;
+	/**
+	 * Looks up the references of events already stored with any of the given idempotency keys.
+	 */
+	private Map<String, EventReference> findIdempotencyKeys ( Connection connection, List<String> idempotencyKeys ) throws SQLException {
+		String sql = "SELECT idempotency_key, event_position, event_tx::text::bigint, event_id::text FROM %sevents WHERE idempotency_key = ANY(?::text[])".formatted(prefix);
+		Map<String, EventReference> result = new LinkedHashMap<>();
+		try ( PreparedStatement stmt = connection.prepareStatement(sql) ) {
+			stmt.setArray(1, connection.createArrayOf("text", idempotencyKeys.toArray(String[]::new)));
+			try ( ResultSet rs = stmt.executeQuery() ) {
+				while ( rs.next() ) {
+					result.put(rs.getString(1), EventReference.of(new EventId(rs.getString(4)), rs.getLong(2), rs.getLong(3)));
+				}
+			}
+		}
+		connection.commit();
+		return result;
+	}
 
-		public NewEventsAppendedMonitor ( String name, List<WeakReference<EventStoreListener>> listeners, DataSource monitoringDataSource, CountDownLatch readyLatch ) {
-			this.name = name;
-			this.listeners = listeners;
-			this.monitoringDataSource = monitoringDataSource;
-			this.readyLatch = readyLatch;
+	private void rememberIdempotencyKeys ( Map<String, EventReference> references ) {
+		if ( recentIdempotencyKeys != null ) {
+			references.forEach(recentIdempotencyKeys::put);
 		}
+	}
 
-		@Override
-		public void run() {
-			Thread.currentThread().setName(name);
+	private String renderAppendSql ( boolean idempotent, boolean conditional, boolean hasContext, boolean hasPurpose, boolean hasExpected, boolean useHeads, String filterShape ) {
+		// Build conditional insert with optimistic locking check, the events are passed as one array per column
+		StringBuilder sqlBuilder = new StringBuilder();
+		sqlBuilder.append("""
+			INSERT INTO %sevents (event_id, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags)
+			SELECT %s, idempotency_key, stream_context, stream_purpose, event_type, event_data::jsonb, event_erasable_data::jsonb, event_tags::text[]
+			FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[]) WITH ORDINALITY
+				AS e(event_id, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags, seq)
+			""".formatted(prefix, eventIdExpression()));
+
+		if ( conditional ) {
+			sqlBuilder.append("WHERE ");
+			if ( useHeads ) {
+				// no event matching the boundary can be positioned after this upper bound, so the scan is only needed beyond it
+				sqlBuilder.append("( ");
+				appendHeadBoundSql(sqlBuilder, filterShape);
+				sqlBuilder.append(" <= ? OR ");
+			}
+			sqlBuilder.append(
+					"""
+				NOT EXISTS (
+					SELECT 1 FROM %sevents
+					WHERE 1=1 """.formatted(prefix));
 
-			LOGGER.info("starting ...");
-			
-			String listenStatement = "LISTEN %sevent_appended;".formatted(prefix);
-			String unlistenStatement = "UNLISTEN %sevent_appended;".formatted(prefix);
+			if ( hasContext ) {
+				sqlBuilder.append(" AND stream_context = ?");
+			}
+			if ( hasPurpose ) {
+				sqlBuilder.append(" AND stream_purpose = ?");
+			}
+			if ( hasExpected ) {
+				sqlBuilder.append(" AND event_position > ?");
+			}
+			appendEventFilterSql(sqlBuilder, filterShape);
 
-			long retryDelayMs = INITIAL_RETRY_DELAY_MS;
-			while ( !stopped ) {
+			sqlBuilder.append(") ");
+			if ( useHeads ) {
+				sqlBuilder.append(") ");
+			}
+		}
 
-				try ( Connection monitorConnection = monitoringDataSource.getConnection(); Statement stmt = monitorConnection.createStatement() ){
-					// Ensure connection is in the right state for LISTEN
-					monitorConnection.setAutoCommit(true);
+		// events are positioned in the order they were passed
+		sqlBuilder.append("ORDER BY seq ");
 
-					stmt.execute(listenStatement);
+		if ( idempotent && partitionSize == 0 ) {
+			// duplicates are skipped rather than failing the transaction; the missing rows are detected by the caller
+			// (the partitioned schema skips them in a trigger, as it cannot have a unique index on the key)
+			sqlBuilder.append("ON CONFLICT (idempotency_key) DO NOTHING ");
+		}
 
-					LOGGER.debug("... listening for event appends.");
-					readyLatch.countDown();
+		sqlBuilder.append("RETURNING event_position, event_timestamp, event_tx::text::bigint, event_id::text");
+		return sqlBuilder.toString();
+	}
 
-					PGConnection pgConn = monitorConnection.unwrap(PGConnection.class);
+	/**
+	 * Renders an upper bound for the position of the last event matching a filter shape, looked up in the head catalog.
+	 * <p>
+	 * Takes the same parameters as {@link #appendEventFilterSql(StringBuilder, String)}, and evaluates to {@code 0}
+	 * when no event can match. Per filter item:
+	 * <ul>
+	 *   <li>{@code T}: the highest head of its event types, which is exact</li>
+	 *   <li>{@code G}: the lowest head of its tags, as a matching event carries all of them</li>
+	 *   <li>{@code B}: per event type the lowest head of the type combined with each tag, then the highest of those</li>
+	 * </ul>
+	 * Items with a single tag therefore yield an exact head. The catalog spans all streams, so a stream restriction
+	 * can only make the actual head lower. The shape must not contain items matching any event ({@code *}).
+	 */
+	void appendHeadBoundSql ( StringBuilder sqlBuilder, String filterShape ) {
+		sqlBuilder.append("COALESCE(GREATEST(");
+		for ( int i = 0; i < filterShape.length(); i++ ) {
+			if ( i > 0 ) {
+				sqlBuilder.append(", ");
+			}
+			switch ( filterShape.charAt(i) ) {
+				case 'T' -> sqlBuilder.append("(SELECT max(h.event_position) FROM %sheads h WHERE h.head_key = ANY(SELECT 't:' || t FROM unnest(?::text[]) t))".formatted(prefix));
+				case 'G' -> sqlBuilder.append("(SELECT min(COALESCE(h.event_position, 0)) FROM unnest(?::text[]) g LEFT JOIN %sheads h ON h.head_key = 'g:' || g)".formatted(prefix));
+				case 'B' -> sqlBuilder.append("(SELECT max(m) FROM (SELECT min(COALESCE(h.event_position, 0)) AS m FROM unnest(?::text[]) t CROSS JOIN unnest(?::text[]) g LEFT JOIN %sheads h ON h.head_key = 'b:' || t || '|' || g GROUP BY t) x)".formatted(prefix));
+				default  -> throw new IllegalArgumentException("no head bound for filter shape %s".formatted(filterShape));
+			}
+		}
+		sqlBuilder.append("), 0)");
+	}
 
-					retryDelayMs = INITIAL_RETRY_DELAY_MS;
+	/**
+	 * Returns the SQL expression that provides the event_id of an appended or bulk imported row.
+	 * <p>
+	 * Default (PG18+) generates the id server-side via {@code uuidv7()}. The legacy subclass overrides this
+	 * together with {@link #eventId()} to use the Java-generated id passed along with each row in its
+	 * {@code event_id} column.
+	 * <p>
+	 * Internal extension point — override only in version-gated subclasses in this package.
+	 */
+	protected String eventIdExpression ( ) {
+		return "uuidv7()";
+	}
 
-					while ( !stopped ) { // loop using a single connnection without returning it to the pool
+	/**
+	 * Returns the event_id to pass along with a single appended or bulk imported row, or {@code null} when
+	 * the id is generated server-side.
+	 * <p>
+	 * Internal extension point — override only in version-gated subclasses in this package.
+	 */
+	protected String eventId ( ) {
+		return null;
+	}
 
-						LOGGER.debug("checking for notifications...");
+	@Override
+	public long bulkImport ( Stream<EventToStore> events, int batchSize ) {
+		if ( batchSize <= 0 ) {
+			throw new IllegalArgumentException("batch size must be positive");
+		}
 
-						PGNotification[] notifications = pgConn.getNotifications(WAIT_FOR_NOTIFICATIONS_TIMEOUT); // wait at max so long for new notifications, then ask new connection and start waiting again
+		String copySql = "COPY bulk_import_staging (seq, event_id, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags) FROM STDIN";
+		String insertSql = """
+			WITH ins AS (
+				INSERT INTO %sevents (event_id, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags)
+				SELECT %s, idempotency_key, stream_context, stream_purpose, event_type, event_data, event_erasable_data, event_tags
+				FROM bulk_import_staging
+				ORDER BY seq
+				%s
+				RETURNING stream_context, stream_purpose, event_position, event_tx, event_id
+			)
+			SELECT DISTINCT ON (stream_context, stream_purpose) stream_context, stream_purpose, event_position, event_tx::text::bigint, event_id::text, count(*) OVER (PARTITION BY stream_context, stream_purpose)
+			FROM ins
+			ORDER BY stream_context, stream_purpose, event_position DESC
+		""".formatted(prefix, eventIdExpression(), partitionSize == 0 ? "ON CONFLICT (idempotency_key) DO NOTHING" : "");
 
-					    if (notifications != null) {
-					        for (PGNotification notification : notifications) {
-					            LOGGER.debug("Received: {}", notification.getParameter());
-					            try {
-									EventAppendedPostgresNotification msg = JSONMAPPER.readValue(notification.getParameter(), EventAppendedPostgresNotification.class);
-									AppendsToEventStoreNotification aesn = msg.toNotification();
+		Map<EventStreamId, EventReference> lastPerStream = new LinkedHashMap<>();
+		long imported = 0;
 
-									listeners.forEach(l -> {
-										EventStoreListener listener = l.get();
-										if (listener != null) {
-											listener.notify(aesn);
-										}
-									});
+		Iterator<EventToStore> it = events.iterator();
 
-								} catch (JsonProcessingException e) {
-									LOGGER.error("Failed to parse notification: " + e.getMessage());
-								}
-					        }
-					    }
+		try ( Connection writeConnection = dataSource.getConnection() ) {
+			CopyManager copyManager = writeConnection.unwrap(PGConnection.class).getCopyAPI();
+			writeConnection.setAutoCommit(false);
+
+			while ( it.hasNext() ) {
+				if ( partitionSize > 0 ) {
+					ensureEventPartitions(batchSize + partitionSize);
+				}
+				try {
+					try ( Statement stmt = writeConnection.createStatement() ) {
+						// keeps the per-row notification trigger quiet for this transaction
+						stmt.execute("SET LOCAL eventstore.bulk_import = 'on'");
+						stmt.execute("""
+							CREATE TEMP TABLE bulk_import_staging (
+								seq BIGINT, event_id TEXT, idempotency_key TEXT, stream_context TEXT, stream_purpose TEXT,
+								event_type TEXT, event_data JSONB, event_erasable_data JSONB, event_tags TEXT[]
+							) ON COMMIT DROP
+						""");
 					}
 
-					// drop the registration so the connection is hygienic when returned to the pool
+					SortedMap<Long, Boolean> lockKeys = new TreeMap<>();
+					CopyIn copyIn = copyManager.copyIn(copySql);
 					try {
-						stmt.execute(unlistenStatement);
-					} catch (SQLException ue) {
-						LOGGER.debug("UNLISTEN failed: {}", ue.getMessage());
+						StringBuilder buffer = new StringBuilder(BULK_IMPORT_COPY_BUFFER);
+						for ( int seq = 0; seq < batchSize && it.hasNext(); seq++ ) {
+							EventToStore event = it.next();
+							if ( appendLockingMode == AppendLockingMode.ADVISORY ) {
+								AppendLocks.addEventKeys(lockKeys, prefix, event);
+							}
+							appendCopyRow(buffer, seq, eventId(), event);
+							if ( buffer.length() >= BULK_IMPORT_COPY_BUFFER ) {
+								writeToCopy(copyIn, buffer);
+							}
+						}
+						writeToCopy(copyIn, buffer);
+						copyIn.endCopy();
+					} finally {
+						if ( copyIn.isActive() ) {
+							copyIn.cancelCopy();
+						}
+					}
+
+					if ( !lockKeys.isEmpty() ) {
+						// held until the batch commits, like the locks of an unconditional append
+						acquireAdvisoryLocks(writeConnection, lockKeys);
+					}
+
+					try ( Statement stmt = writeConnection.createStatement(); ResultSet rs = stmt.executeQuery(insertSql) ) {
+						while ( rs.next() ) {
+							EventStreamId stream = StoredEventRowMapper.streamId(rs.getString(1), rs.getString(2));
+							lastPerStream.put(stream, EventReference.of(new EventId(rs.getString(5)), rs.getLong(3), rs.getLong(4)));
+							imported += rs.getLong(6);
+						}
 					}
 
+					writeConnection.commit();
+
 				} catch (SQLException e) {
-					if ( !stopped ) {
-						LOGGER.error(e.getMessage(), e);
-						try {
-							Thread.sleep(retryDelayMs);
-							retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS);
-						} catch (InterruptedException ie) {
-							Thread.currentThread().interrupt();
-							return;
+					try {
+						writeConnection.rollback();
+					} catch (SQLException rollbackEx) {
+						e.addSuppressed(rollbackEx);
+					}
+					throw new EventStorageException("SQLException during bulk import, %d events imported before failure".formatted(imported), e);
+				}
+			}
+
+			rememberWalPosition(writeConnection);
+			// the change feed notifies about the imported batches itself
+			if ( !lastPerStream.isEmpty() && changeFeedSlot == null ) {
+				notifyBulkImport(writeConnection, lastPerStream);
+			}
+
+		} catch (SQLException e) {
+			throw new EventStorageException("SQLException during bulk import", e);
+		}
+
+		LOGGER.info("Bulk imported {} events into {} streams", imported, lastPerStream.size());
+		return imported;
+	}
+
+	private void notifyBulkImport ( Connection connection, Map<EventStreamId, EventReference> lastPerStream ) throws SQLException {
+		// same payload as the PREFIX_notify_event_appended trigger function, without the types and tags so all listeners are woken up
+		String sql = """
+			SELECT pg_notify(?, jsonb_build_object(
+				'streamContext', ?::text,
+				'streamPurpose', ?::text,
+				'eventPosition', ?::bigint,
+				'eventTx', ?::text::xid8,
+				'eventId', ?::uuid
+			)::text)
+		""";
+		try ( PreparedStatement stmt = connection.prepareStatement(sql) ) {
+			for ( Map.Entry<EventStreamId, EventReference> entry : lastPerStream.entrySet() ) {
+				stmt.setString(1, prefix + "event_appended");
+				stmt.setString(2, entry.getKey().context());
+				stmt.setString(3, entry.getKey().purpose());
+				stmt.setLong(4, entry.getValue().position());
+				stmt.setString(5, Long.toString(entry.getValue().tx()));
+				stmt.setString(6, entry.getValue().id().value());
+				stmt.execute();
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		}
+	}
+
+	private static void writeToCopy ( CopyIn copyIn, StringBuilder buffer ) throws SQLException {
+		if ( buffer.length() > 0 ) {
+			byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+			copyIn.writeToCopy(bytes, 0, bytes.length);
+			buffer.setLength(0);
+		}
+	}
+
+	/**
+	 * Appends one row in the text format of {@code COPY ... FROM STDIN}: tab separated columns, {@code \N} for null.
+	 */
+	static void appendCopyRow ( StringBuilder buffer, long seq, String eventId, EventToStore event ) {
+		buffer.append(seq).append('\t');
+		appendCopyValue(buffer, eventId);
+		buffer.append('\t');
+		appendCopyValue(buffer, event.idempotencyKey());
+		buffer.append('\t');
+		appendCopyValue(buffer, event.stream().context());
+		buffer.append('\t');
+		appendCopyValue(buffer, event.stream().purpose());
+		buffer.append('\t');
+		appendCopyValue(buffer, event.type().name());
+		buffer.append('\t');
+		appendCopyValue(buffer, event.immutableData());
+		buffer.append('\t');
+		appendCopyValue(buffer, event.erasableData());
+		buffer.append('\t');
+		appendCopyValue(buffer, textArrayLiteral(event.tags().toStrings()));
+		buffer.append('\n');
+	}
+
+	private static void appendCopyValue ( StringBuilder buffer, String value ) {
+		if ( value == null ) {
+			buffer.append("\\N");
+			return;
+		}
+		for ( int i = 0; i < value.length(); i++ ) {
+			char c = value.charAt(i);
+			switch ( c ) {
+				case '\\' -> buffer.append("\\\\");
+				case '\t' -> buffer.append("\\t");
+				case '\n' -> buffer.append("\\n");
+				case '\r' -> buffer.append("\\r");
+				default -> buffer.append(c);
+			}
+		}
+	}
+
+	static String textArrayLiteral ( Collection<String> values ) {
+		StringBuilder literal = new StringBuilder("{");
+		for ( String value : values ) {
+			if ( literal.length() > 1 ) {
+				literal.append(',');
+			}
+			literal.append('"');
+			for ( int i = 0; i < value.length(); i++ ) {
+				char c = value.charAt(i);
+				if ( c == '"' || c == '\\' ) {
+					literal.append('\\');
+				}
+				literal.append(c);
+			}
+			literal.append('"');
+		}
+		return literal.append('}').toString();
+	}
+
+	@Override
+	public Optional<StoredEvent> getEventById(EventId eventId) {
+		if ( eventId != null ) {
+			String sql = """
+				SELECT %s
+				FROM %sevents 
+				WHERE event_id = ?::uuid
+			""".formatted(StoredEventRowMapper.COLUMNS, prefix);
+			
+			try ( Connection readConnection = readConnection(null) ) {
+				readConnection.setAutoCommit(true);
+				try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+					stmt.setString(1, eventId.value());
+					
+					try (ResultSet rs = stmt.executeQuery()) {
+						if (rs.next()) {
+							return Optional.of(new StoredEventRowMapper().map(rs));
 						}
 					}
-				} finally {
-					LOGGER.debug("loop done.");
+				} catch (SQLException e) {
+					throw new EventStorageException("Failed to retrieve event by ID: " + eventId.value(), e);
+				}
+			} catch (SQLException e) {
+				throw new EventStorageException("Failed to close connection", e);
+			}
+		}		
+		return Optional.empty();
+	}
+
+	@Override
+	public List<StoredEvent> getEventsByIds(Collection<EventId> eventIds) {
+		String[] ids = eventIds.stream().filter(Objects::nonNull).map(EventId::value).distinct().toArray(String[]::new);
+		if ( ids.length == 0 ) {
+			return List.of();
+		}
+		String sql = """
+			SELECT %s
+			FROM %sevents
+			WHERE event_id = ANY(?::uuid[])
+			ORDER BY event_position
+		""".formatted(StoredEventRowMapper.COLUMNS, prefix);
+
+		try ( Connection readConnection = readConnection(null) ) {
+			readConnection.setAutoCommit(true);
+			try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
+				stmt.setArray(1, readConnection.createArrayOf("text", ids));
+
+				try (ResultSet rs = stmt.executeQuery()) {
+					StoredEventRowMapper mapper = new StoredEventRowMapper();
+					List<StoredEvent> result = new ArrayList<>(ids.length);
+					while (rs.next()) {
+						result.add(mapper.map(rs));
+					}
+					return result;
 				}
+			} catch (SQLException e) {
+				throw new EventStorageException("Failed to retrieve %d events by ID".formatted(ids.length), e);
 			}
+		} catch (SQLException e) {
+			throw new EventStorageException("Failed to close connection", e);
 		}
 	}
-	
-	
-	class BookmarkPlacedMonitor implements Runnable {
 
-		private static final Logger LOGGER = LoggerFactory.getLogger(BookmarkPlacedMonitor.class);
+
+	/**
+	 * Handles the notifications received on the {@code PREFIX_event_appended} channel, on the thread of the notification hub.
+	 */
+	private void eventsAppended ( Connection connection, List<PGNotification> notifications ) {
+		// listeners reading the notified events from a replica must see them
+		rememberWalPosition(connection);
+		List<AppendsToEventStoreNotification> received = new ArrayList<>(notifications.size());
+		for ( PGNotification notification : notifications ) {
+			LOGGER.debug("Received: {}", notification.getParameter());
+			try {
+				EventAppendedPostgresNotification msg = EVENT_APPENDED_READER.readValue(notification.getParameter());
+				received.add(msg.toNotification());
+			} catch (JsonProcessingException e) {
+				LOGGER.error("Failed to parse notification: " + e.getMessage());
+			}
+		}
+		dispatchAppends(listeners, received);
+	}
+
+	/**
+	 * Handles the notifications received on the {@code PREFIX_bookmark_placed} channel, on the thread of the notification hub.
+	 */
+	private void bookmarksPlaced ( Connection connection, List<PGNotification> notifications ) {
+		for ( PGNotification notification : notifications ) {
+			LOGGER.debug("Received: {}", notification.getParameter());
+			try {
+				BookmarkPlacedPostgresNotification msg = BOOKMARK_PLACED_READER.readValue(notification.getParameter());
+				listeners.notify(msg.toNotification());
+			} catch (JsonProcessingException e) {
+				LOGGER.error("Failed to parse notification: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Notifies listeners of a batch of append notifications, coalesced to one per stream referencing the last
+	 * event of that stream, so bursts of appends don't result in as many listener calls.
+	 */
+	private void dispatchAppends ( EventStoreListenerRegistry listeners, List<AppendsToEventStoreNotification> received ) {
+		Collection<AppendsToEventStoreNotification> coalesced = coalesce(received);
+		meterNotificationsReceived.increment(received.size());
+		meterNotificationsDispatched.increment(coalesced.size());
+		coalesced.forEach(listeners::notify);
+	}
+
+	/**
+	 * Reduces append notifications to one per stream, in order of first appearance, referencing the highest position
+	 * and covering the event types and tags of all notifications for that stream.
+	 */
+	static Collection<AppendsToEventStoreNotification> coalesce ( List<AppendsToEventStoreNotification> notifications ) {
+		if ( notifications.size() <= 1 ) {
+			return notifications;
+		}
+		Map<EventStreamId, AppendsToEventStoreNotification> lastPerStream = new LinkedHashMap<>();
+		for ( AppendsToEventStoreNotification notification : notifications ) {
+			lastPerStream.merge(notification.stream(), notification, AppendsToEventStoreNotification::merge);
+		}
+		return lastPerStream.values();
+	}
+
+	/**
+	 * Streams the inserts into the events table from the logical replication slot of the change feed, and notifies
+	 * listeners of each committed transaction, in commit order. The slot is acknowledged only after the listeners
+	 * were notified, so appends are notified at least once, also across reconnects and restarts.
+	 */
+	class ChangeFeedMonitor implements Runnable {
+
+		private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeedMonitor.class);
 
 		private String name;
-		private List<WeakReference<EventStoreListener>> listeners;
-		private DataSource monitoringDataSource;
+		private EventStoreListenerRegistry listeners;
 		private CountDownLatch readyLatch;
 
-		public BookmarkPlacedMonitor ( String name, List<WeakReference<EventStoreListener>> listeners, DataSource monitoringDataSource, CountDownLatch readyLatch ) {
+		public ChangeFeedMonitor ( String name, EventStoreListenerRegistry listeners, CountDownLatch readyLatch ) {
 			this.name = name;
 			this.listeners = listeners;
-			this.monitoringDataSource = monitoringDataSource;
 			this.readyLatch = readyLatch;
 		}
 
@@ -1046,63 +2108,49 @@ public class PostgresEventStorageImpl implements EventStorage {
 			Thread.currentThread().setName(name);
 
 			LOGGER.info("starting ...");
-			
-			String listenStatement = "LISTEN %sbookmark_placed;".formatted(prefix);
-			String unlistenStatement = "UNLISTEN %sbookmark_placed;".formatted(prefix);
-
-			JsonMapper jsonMapper = new JsonMapper ( );
 
 			long retryDelayMs = INITIAL_RETRY_DELAY_MS;
 			while ( !stopped ) {
 
-				try ( Connection monitorConnection = monitoringDataSource.getConnection(); Statement stmt = monitorConnection.createStatement() ){
-					// Ensure connection is in the right state for LISTEN
-					monitorConnection.setAutoCommit(true);
-
-					stmt.execute(listenStatement);
-
-					LOGGER.debug("... listening for bookmark updates.");
+				try ( Connection replicationConnection = changeFeedDataSource.getConnection() ) {
+					PGReplicationStream stream = replicationConnection.unwrap(PGConnection.class).getReplicationAPI()
+						.replicationStream()
+						.logical()
+						.withSlotName(changeFeedSlot)
+						.withSlotOption("proto_version", 1)
+						.withSlotOption("publication_names", prefix + "events_feed")
+						.withStatusInterval(CHANGE_FEED_STATUS_INTERVAL_SECONDS, TimeUnit.SECONDS)
+						.start();
+
+					LOGGER.debug("... streaming appends from slot {}.", changeFeedSlot);
 					readyLatch.countDown();
 
-					PGConnection pgConn = monitorConnection.unwrap(PGConnection.class);
-
 					retryDelayMs = INITIAL_RETRY_DELAY_MS;
 
-					while ( !stopped ) { // reuse single connection without returing in tot the pool
-
-						LOGGER.debug("checking for notifications...");
-
-						PGNotification[] notifications = pgConn.getNotifications(WAIT_FOR_NOTIFICATIONS_TIMEOUT); // wait at for new notifications, then ask new connection and start waiting again
-					    if (notifications != null) {
-					        for (PGNotification notification : notifications) {
-					            LOGGER.debug("Received: " + notification.getParameter());
-					            try {
-									BookmarkPlacedPostgresNotification msg = jsonMapper.readValue(notification.getParameter(), BookmarkPlacedPostgresNotification.class);
-									BookmarkPlacedNotification bpn = msg.toNotification();
-									LOGGER.debug("notification: " + bpn);
-
-									listeners.forEach(l -> {
-										EventStoreListener listener = l.get();
-										if (listener != null) {
-											listener.notify(bpn);
-										}
-									});
-
-								} catch (JsonProcessingException e) {
-									LOGGER.error("Failed to parse notification: " + e.getMessage());
-								}
-					        }
-					    }
-					}
-
-					// drop the registration so the connection is hygienic when returned to the pool
+					// the server resumes at a transaction boundary, so each stream gets a fresh decoder
+					PgOutputDecoder decoder = new PgOutputDecoder(prefix + "events");
 					try {
-						stmt.execute(unlistenStatement);
-					} catch (SQLException ue) {
-						LOGGER.debug("UNLISTEN failed: {}", ue.getMessage());
+						while ( !stopped ) {
+							ByteBuffer message = stream.readPending();
+							if ( message == null ) {
+								if ( !decoder.inTransaction() ) {
+									// all received changes are dispatched: confirm the keepalive position as well,
+									// so the slot doesn't retain the WAL of transactions that didn't append
+									acknowledge(stream, stream.getLastReceiveLSN());
+								}
+								Thread.sleep(CHANGE_FEED_POLL_MS);
+								continue;
+							}
+							if ( decoder.decode(message) ) {
+								dispatch(decoder.committed(), decoder.committedLsn());
+								acknowledge(stream, LogSequenceNumber.valueOf(decoder.committedLsn()));
+							}
+						}
+					} finally {
+						stream.close();
 					}
 
-				} catch (SQLException e) {
+				} catch (SQLException | IllegalStateException e) {
 					if ( !stopped ) {
 						LOGGER.error(e.getMessage(), e);
 						try {
@@ -1113,18 +2161,43 @@ public class PostgresEventStorageImpl implements EventStorage {
 							return;
 						}
 					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
 				} finally {
 					LOGGER.debug("loop done.");
 				}
 			}
 		}
+
+		private void dispatch ( List<AppendsToEventStoreNotification> notifications, long commitLsn ) {
+			if ( notifications.isEmpty() ) {
+				return;
+			}
+			if ( !readReplicas.isEmpty() ) {
+				// listeners reading the notified events from a replica must see them
+				requiredWalPosition.accumulateAndGet(commitLsn, Math::max);
+			}
+			LOGGER.debug("Received: {}", notifications);
+			dispatchAppends(listeners, notifications);
+		}
+
+		private void acknowledge ( PGReplicationStream stream, LogSequenceNumber lsn ) {
+			// sent to the server with the next status update
+			stream.setAppliedLSN(lsn);
+			stream.setFlushedLSN(lsn);
+		}
 	}
-	
-	record EventAppendedPostgresNotification ( String streamContext, String streamPurpose, long eventPosition, long eventTx, String eventId ) { 
+
+
+	record EventAppendedPostgresNotification ( String streamContext, String streamPurpose, long eventPosition, long eventTx, String eventId, List<String> eventTypes, List<String> eventTags ) { 
 		public AppendsToEventStoreNotification toNotification ( ) {
+			// types and tags are missing from payloads of bulk imports, older trigger functions, and appends too large to list them
 			return new AppendsToEventStoreNotification ( 
 					EventStreamId.forContext(streamContext).withPurpose(streamPurpose),
-					EventReference.of(EventId.of(eventId), eventPosition, eventTx));
+					EventReference.of(EventId.of(eventId), eventPosition, eventTx),
+					eventTypes == null ? null : eventTypes.stream().map(EventType::ofType).collect(Collectors.toSet()),
+					eventTags == null ? null : Tags.parse(eventTags.toArray(String[]::new)));
 		}
 	}
 
@@ -1138,8 +2211,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 
 	@Override
 	public void subscribe(EventStoreListener listener) {
-		listeners.add(new WeakReference<>(listener));
-		listeners.removeIf(ref -> ref.get() == null);
+		listeners.subscribe(listener);
 	}
 
 	@Override
@@ -1150,7 +2222,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 			WHERE reader = ?
 		""".formatted(prefix);
 
-		try ( Connection readConnection = dataSource.getConnection() ) {
+		try ( Connection readConnection = readConnection(null) ) {
 			readConnection.setAutoCommit(true);
 			try (PreparedStatement stmt = readConnection.prepareStatement(sql)) {
 				stmt.setString(1, reader);
@@ -1182,7 +2254,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 		""".formatted(prefix);
 
 		List<Bookmark> bookmarks = new ArrayList<>();
-		try ( Connection readConnection = dataSource.getConnection() ) {
+		try ( Connection readConnection = readConnection(null) ) {
 			readConnection.setAutoCommit(true);
 			try ( PreparedStatement stmt = readConnection.prepareStatement(sql);
 			      ResultSet rs = stmt.executeQuery() ) {
@@ -1199,7 +2271,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 					}
 					Tags tags = Tags.parse(tagsArray);
 
-					Timestamp updatedAtTs = rs.getTimestamp("updated_at", Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+					OffsetDateTime updatedAtTs = rs.getObject("updated_at", OffsetDateTime.class);
 					Instant updatedAt = updatedAtTs != null ? updatedAtTs.toInstant() : Instant.EPOCH;
 
 					bookmarks.add(new Bookmark(reader, reference, tags, updatedAt));
@@ -1256,6 +2328,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 						}
 						writeConnection.commit();
 					}
+					rememberWalPosition(writeConnection);
 				} catch (SQLException e) {
 					try {
 						writeConnection.rollback();
@@ -1287,6 +2360,7 @@ public class PostgresEventStorageImpl implements EventStorage {
 					stmt.executeUpdate();
 					writeConnection.commit();
 				}
+				rememberWalPosition(writeConnection);
 			} catch (SQLException e) {
 				try {
 					writeConnection.rollback();
@@ -17,19 +17,16 @@
  */
 package org.sliceworkz.eventstore.infra.postgres;
 
-import java.util.List;
-
 import javax.sql.DataSource;
 
 import com.github.f4b6a3.uuid.UuidCreator;
 
-import org.sliceworkz.eventstore.events.EventId;
 import org.sliceworkz.eventstore.query.Limit;
 
 /**
  * Legacy PostgreSQL-backed event storage implementation for PostgreSQL versions 13–17.
  * <p>
- * Generates UUIDv7 identifiers in Java and binds them as a {@code ?::uuid} parameter, since the
+ * Generates UUIDv7 identifiers in Java and passes them along with the appended rows, since the
  * native server-side {@code uuidv7()} function is only available from PostgreSQL 18 onwards.
  * Selected automatically by {@link PostgresEventStorage.Builder#build()} when the connected
  * server reports a major version below 18.
@@ -45,14 +42,13 @@ public class PostgresLegacyEventStorageImpl extends PostgresEventStorageImpl {
 	}
 
 	@Override
-	protected String appendValuesRowFragment ( ) {
-		return "(?::uuid, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?) ";
+	protected String eventIdExpression ( ) {
+		return "event_id::uuid";
 	}
 
 	@Override
-	protected void bindEventIdParameter ( List<Object> parameters ) {
-		EventId id = new EventId(UuidCreator.getTimeOrderedEpochPlus1().toString());
-		parameters.add(id.value());
+	protected String eventId ( ) {
+		return UuidCreator.getTimeOrderedEpochPlus1().toString();
 	}
 
 }
@@ -0,0 +1,239 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens for notifications on all channels of all event stores sharing a monitoring {@link DataSource}, using a
+ * single connection, and hands them to the handlers registered per channel.
+ * <p>
+ * Hubs are shared per DataSource instance and reference counted: {@link #acquire(DataSource)} starts the hub of a
+ * DataSource on first use, and the last {@link #release()} stops it. A single thread owns the connection: it issues
+ * the LISTEN and UNLISTEN statements for channels that gained their first or lost their last handler, and calls the
+ * handlers of the notifications received, grouped per channel. After losing the connection, it reconnects with
+ * backoff and listens on all channels again. Notifications sent while reconnecting are lost, like they were with a
+ * connection per channel.
+ */
+final class PostgresNotificationHub {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PostgresNotificationHub.class);
+
+	// bounds how long registrations and stopping wait for the hub thread; notifications are handed out as they arrive
+	private static final int POLL_MS = 200;
+
+	private static final long INITIAL_RETRY_DELAY_MS = 1_000;
+	private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+	private static final Map<DataSource, PostgresNotificationHub> HUBS = new IdentityHashMap<>();
+
+	/**
+	 * Receives the notifications of a channel, on the hub thread.
+	 */
+	interface NotificationHandler {
+
+		/**
+		 * @param connection the connection the notifications were received on, only to be used for queries on the hub thread
+		 * @param notifications the notifications received on the channel, in order
+		 */
+		void handle ( Connection connection, List<PGNotification> notifications );
+
+	}
+
+	private final DataSource dataSource;
+	private final Map<String, List<NotificationHandler>> handlers = new ConcurrentHashMap<>();
+	// channels the current connection is listening on, maintained by the hub thread
+	private final Set<String> listening = ConcurrentHashMap.newKeySet();
+	private int references; // guarded by HUBS
+	private volatile boolean stopped;
+
+	private PostgresNotificationHub ( DataSource dataSource ) {
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Returns the hub of a DataSource, starting it if it wasn't in use. Each call must be paired with a {@link #release()}.
+	 *
+	 * @param dataSource the DataSource to take the listening connection from
+	 * @return the hub shared by all users of the DataSource instance
+	 */
+	static PostgresNotificationHub acquire ( DataSource dataSource ) {
+		synchronized ( HUBS ) {
+			PostgresNotificationHub hub = HUBS.computeIfAbsent(dataSource, PostgresNotificationHub::new);
+			if ( hub.references++ == 0 ) {
+				Thread.ofVirtual().name("notification-hub").start(hub::run);
+			}
+			return hub;
+		}
+	}
+
+	/**
+	 * Gives up a reference obtained from {@link #acquire(DataSource)}. The hub stops, and its connection is closed,
+	 * when the last reference is released.
+	 */
+	void release ( ) {
+		synchronized ( HUBS ) {
+			if ( --references == 0 ) {
+				HUBS.remove(dataSource);
+				stopped = true;
+			}
+		}
+	}
+
+	/**
+	 * Registers a handler for the notifications of a channel, and waits until the hub is listening on it.
+	 *
+	 * @param channel the channel name, not quoted, so it must be a valid lowercase identifier
+	 * @param handler the handler to call with the notifications received on the channel
+	 * @throws InterruptedException when interrupted while waiting for the hub to listen
+	 */
+	void listen ( String channel, NotificationHandler handler ) throws InterruptedException {
+		handlers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(handler);
+		synchronized ( this ) {
+			while ( !stopped && !listening.contains(channel) ) {
+				wait(POLL_MS);
+			}
+		}
+	}
+
+	/**
+	 * Removes a handler registered with {@link #listen(String, NotificationHandler)}. The hub stops listening on the
+	 * channel when no handlers are left.
+	 *
+	 * @param channel the channel the handler was registered for
+	 * @param handler the handler to remove
+	 */
+	void unlisten ( String channel, NotificationHandler handler ) {
+		handlers.computeIfPresent(channel, (c, channelHandlers) -> {
+			channelHandlers.remove(handler);
+			return channelHandlers.isEmpty() ? null : channelHandlers;
+		});
+	}
+
+	private void run ( ) {
+		LOGGER.info("starting ...");
+
+		long retryDelayMs = INITIAL_RETRY_DELAY_MS;
+		while ( !stopped ) {
+
+			try ( Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement() ) {
+				// Ensure connection is in the right state for LISTEN
+				connection.setAutoCommit(true);
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+				retryDelayMs = INITIAL_RETRY_DELAY_MS;
+
+				while ( !stopped ) { // loop using a single connection without returning it to the pool
+					updateChannels(stmt);
+					PGNotification[] notifications = pgConnection.getNotifications(POLL_MS);
+					if ( notifications != null && notifications.length > 0 ) {
+						dispatch(connection, notifications);
+					}
+				}
+
+				// drop the registrations so the connection is hygienic when returned to the pool
+				try {
+					stmt.execute("UNLISTEN *");
+				} catch (SQLException ue) {
+					LOGGER.debug("UNLISTEN failed: {}", ue.getMessage());
+				}
+
+			} catch (SQLException e) {
+				listening.clear();
+				if ( !stopped ) {
+					LOGGER.error(e.getMessage(), e);
+					try {
+						Thread.sleep(retryDelayMs);
+						retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			} finally {
+				LOGGER.debug("loop done.");
+			}
+		}
+		listening.clear();
+		synchronized ( this ) {
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Listens on channels that gained handlers, and stops listening on channels that have none left.
+	 */
+	private void updateChannels ( Statement stmt ) throws SQLException {
+		boolean listened = false;
+		for ( String channel : handlers.keySet() ) {
+			if ( !listening.contains(channel) ) {
+				stmt.execute("LISTEN %s".formatted(channel));
+				listening.add(channel);
+				listened = true;
+				LOGGER.debug("... listening on {}", channel);
+			}
+		}
+		for ( String channel : listening ) {
+			if ( !handlers.containsKey(channel) ) {
+				stmt.execute("UNLISTEN %s".formatted(channel));
+				listening.remove(channel);
+				LOGGER.debug("... stopped listening on {}", channel);
+			}
+		}
+		if ( listened ) {
+			synchronized ( this ) {
+				notifyAll();
+			}
+		}
+	}
+
+	private void dispatch ( Connection connection, PGNotification[] notifications ) {
+		Map<String, List<PGNotification>> perChannel = new LinkedHashMap<>();
+		for ( PGNotification notification : notifications ) {
+			perChannel.computeIfAbsent(notification.getName(), c -> new ArrayList<>()).add(notification);
+		}
+		perChannel.forEach((channel, received) -> {
+			for ( NotificationHandler handler : handlers.getOrDefault(channel, List.of()) ) {
+				try {
+					handler.handle(connection, received);
+				} catch (RuntimeException e) {
+					// one failing handler must not keep the others sharing the hub from being notified
+					LOGGER.error("Failed to handle notifications on {}: {}", channel, e.getMessage(), e);
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.lang.ref.Cleaner;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sliceworkz.eventstore.spi.EventStorageException;
+
+/**
+ * Lazily maps the rows of an open JDBC {@link ResultSet} into a {@link Stream}.
+ * <p>
+ * Used by {@link PostgresEventStorageImpl} when streaming queries are enabled: the statement is
+ * executed on a non-autocommit connection with a fetch size, so the PostgreSQL driver pulls rows
+ * in batches through a server-side portal instead of materializing the complete result in memory.
+ * <p>
+ * The connection, statement and result set are held until one of the following happens:
+ * <ul>
+ *   <li>the last row has been consumed, or as many rows as the {@code LIMIT} of the query allows</li>
+ *   <li>fetching or mapping a row fails</li>
+ *   <li>the returned stream is closed (e.g. via try-with-resources)</li>
+ *   <li>the stream is garbage collected without being closed (safety net only)</li>
+ * </ul>
+ * Consumers that stop early (e.g. {@code findFirst()}, {@code limit(n)}) should close the stream
+ * to return the connection to the pool in a timely fashion.
+ *
+ * @param <T> the type each row is mapped to
+ */
+final class ResultSetCursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetCursor.class);
+
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/**
+	 * Maps the current row of a {@link ResultSet} to an object.
+	 *
+	 * @param <T> the mapped type
+	 */
+	@FunctionalInterface
+	interface RowMapper<T> {
+		T map ( ResultSet rs ) throws SQLException;
+	}
+
+	private final ResultSet resultSet;
+	private final RowMapper<T> mapper;
+	private final long maxRows;
+	private final long limitRows;
+	private final Cleaner.Cleanable cleanable;
+
+	private long rows;
+	private boolean done;
+
+	/**
+	 * Creates a cursor over an already executed query.
+	 *
+	 * @param connection the connection the query runs on, closed together with the cursor
+	 * @param statement the statement that produced the result set, closed together with the cursor
+	 * @param resultSet the open result set
+	 * @param mapper maps each row
+	 * @param maxRows the maximum number of rows allowed, or {@code 0} for no maximum; exceeding it raises an {@link EventStorageException}
+	 * @param limitRows the row count of the {@code LIMIT} clause of the query, or {@code 0} without one; resources are released once
+	 *        that many rows are read, as no further row can follow
+	 */
+	ResultSetCursor ( Connection connection, Statement statement, ResultSet resultSet, RowMapper<T> mapper, long maxRows, long limitRows ) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.resultSet = resultSet;
+		this.mapper = mapper;
+		this.maxRows = maxRows;
+		this.limitRows = limitRows;
+		this.cleanable = CLEANER.register(this, new Resources(connection, statement, resultSet));
+	}
+
+	/**
+	 * Returns a sequential stream over the remaining rows, releasing all JDBC resources when closed.
+	 */
+	Stream<T> stream ( ) {
+		return StreamSupport.stream(this, false).onClose(this::close);
+	}
+
+	@Override
+	public boolean tryAdvance ( Consumer<? super T> action ) {
+		if ( done ) {
+			return false;
+		}
+		T mapped;
+		try {
+			if ( !resultSet.next() ) {
+				close();
+				return false;
+			}
+			rows++;
+			if ( maxRows > 0 && rows > maxRows ) {
+				close();
+				throw new EventStorageException("query returned more results than the configured absolute limit of %d".formatted(maxRows));
+			}
+			mapped = mapper.map(resultSet);
+			if ( rows == limitRows ) {
+				// the last row the query can return, released before handing it over in case the consumer stops here
+				close();
+			}
+		} catch (SQLException e) {
+			close();
+			throw new EventStorageException("Failed to fetch events", e);
+		}
+		action.accept(mapped);
+		return true;
+	}
+
+	void close ( ) {
+		done = true;
+		cleanable.clean();
+	}
+
+	/**
+	 * Holds the JDBC resources separately from the cursor, so the {@link Cleaner} can release them
+	 * without keeping the cursor itself reachable.
+	 */
+	private record Resources ( Connection connection, Statement statement, ResultSet resultSet ) implements Runnable {
+
+		@Override
+		public void run ( ) {
+			try {
+				resultSet.close();
+				statement.close();
+				// read-only transaction, only opened to allow fetching in batches
+				connection.rollback();
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				LOGGER.warn("Failed to release streaming query resources: {}", e.getMessage());
+			} finally {
+				try {
+					connection.close();
+				} catch (SQLException e) {
+					LOGGER.warn("Failed to close streaming query connection: {}", e.getMessage());
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.sliceworkz.eventstore.events.EventId;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tag;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEventHeader;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+/**
+ * Maps rows of the events table to {@link StoredEvent} instances with as few allocations as possible.
+ * <p>
+ * Query statements select {@link #COLUMNS} so that columns can be read by index rather than by name.
+ * The transaction id is read as a numeric value, and a single UTC {@link Calendar} is reused for all
+ * rows mapped by one instance. Stream ids, event types and tags tend to repeat across many events; they
+ * are interned in bounded caches shared by all mappers, so each distinct value is only instantiated once.
+ * <p>
+ * Instances are not thread-safe, create one per query.
+ */
+final class StoredEventRowMapper implements ResultSetCursor.RowMapper<StoredEvent> {
+
+	/**
+	 * The columns to select for this mapper, in the order they are read.
+	 */
+	static final String COLUMNS = "event_position, event_tx::text::bigint, event_id::text, stream_context, stream_purpose, event_type, event_timestamp, event_tags, event_data, event_erasable_data";
+
+	/**
+	 * The columns to select for {@link #mapHeader(ResultSet)}: all of {@link #COLUMNS} except the event data.
+	 */
+	static final String HEADER_COLUMNS = "event_position, event_tx::text::bigint, event_id::text, stream_context, stream_purpose, event_type, event_timestamp, event_tags";
+
+	private static final int POSITION = 1;
+	private static final int TX = 2;
+	private static final int ID = 3;
+	private static final int STREAM_CONTEXT = 4;
+	private static final int STREAM_PURPOSE = 5;
+	private static final int TYPE = 6;
+	private static final int TIMESTAMP = 7;
+	private static final int TAGS = 8;
+	private static final int DATA = 9;
+	private static final int ERASABLE_DATA = 10;
+
+	private static final int MAX_CACHED_CONTEXTS = 1_024;
+	private static final int MAX_CACHED_PURPOSES_PER_CONTEXT = 256;
+	private static final int MAX_CACHED_EVENT_TYPES = 4_096;
+	private static final int MAX_CACHED_TAGS = 65_536;
+
+	private static final BoundedCache<String, BoundedCache<String, EventStreamId>> STREAMS = new BoundedCache<>(MAX_CACHED_CONTEXTS);
+	private static final BoundedCache<String, EventType> EVENT_TYPES = new BoundedCache<>(MAX_CACHED_EVENT_TYPES);
+	private static final BoundedCache<String, Tag> TAGS_BY_VALUE = new BoundedCache<>(MAX_CACHED_TAGS);
+
+	private static final Tags NO_TAGS = Tags.none();
+
+	private final Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+	@Override
+	public StoredEvent map ( ResultSet rs ) throws SQLException {
+		long position = rs.getLong(POSITION);
+		long tx = rs.getLong(TX);
+		EventReference reference = EventReference.of(new EventId(rs.getString(ID)), position, tx);
+		EventStreamId stream = streamId(rs.getString(STREAM_CONTEXT), rs.getString(STREAM_PURPOSE));
+		EventType type = eventType(rs.getString(TYPE));
+		LocalDateTime timestamp = toLocalDateTime(rs.getTimestamp(TIMESTAMP, utc));
+		Tags tags = tags(rs.getArray(TAGS));
+		String data = rs.getString(DATA);
+		String erasableData = rs.getString(ERASABLE_DATA);
+		return new StoredEvent(stream, type, reference, data, erasableData, tags, timestamp);
+	}
+
+	/**
+	 * Maps a row selected with {@link #HEADER_COLUMNS} to an event header.
+	 */
+	public StoredEventHeader mapHeader ( ResultSet rs ) throws SQLException {
+		long position = rs.getLong(POSITION);
+		long tx = rs.getLong(TX);
+		EventReference reference = EventReference.of(new EventId(rs.getString(ID)), position, tx);
+		EventStreamId stream = streamId(rs.getString(STREAM_CONTEXT), rs.getString(STREAM_PURPOSE));
+		EventType type = eventType(rs.getString(TYPE));
+		LocalDateTime timestamp = toLocalDateTime(rs.getTimestamp(TIMESTAMP, utc));
+		Tags tags = tags(rs.getArray(TAGS));
+		return new StoredEventHeader(stream, type, reference, tags, timestamp);
+	}
+
+	/**
+	 * Converts a timestamp read with a UTC calendar to the UTC-based local date time used by {@link StoredEvent}.
+	 */
+	static LocalDateTime toLocalDateTime ( Timestamp timestamp ) {
+		return timestamp == null ? null : LocalDateTime.ofInstant(timestamp.toInstant(), ZoneOffset.UTC);
+	}
+
+	static EventStreamId streamId ( String context, String purpose ) {
+		return STREAMS
+			.computeIfAbsent(context, c -> new BoundedCache<>(MAX_CACHED_PURPOSES_PER_CONTEXT))
+			.computeIfAbsent(purpose, p -> new EventStreamId(context, p));
+	}
+
+	static EventType eventType ( String name ) {
+		return EVENT_TYPES.computeIfAbsent(name, EventType::ofType);
+	}
+
+	static Tags tags ( Array array ) throws SQLException {
+		if ( array == null ) {
+			return NO_TAGS;
+		}
+		try {
+			String[] values = (String[]) array.getArray();
+			if ( values.length == 0 ) {
+				return NO_TAGS;
+			}
+			Tag[] tags = new Tag[values.length];
+			int count = 0;
+			for ( String value: values ) {
+				Tag tag = value == null ? null : TAGS_BY_VALUE.computeIfAbsent(value, Tag::parse);
+				if ( tag != null ) {
+					tags[count++] = tag;
+				}
+			}
+			return count == 0 ? NO_TAGS : new Tags(Set.copyOf(Arrays.asList(tags).subList(0, count)));
+		} finally {
+			array.free();
+		}
+	}
+
+}
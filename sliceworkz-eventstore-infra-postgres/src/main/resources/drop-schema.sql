@@ -25,5 +25,15 @@
 ---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
 ----
 
+DROP TABLE IF EXISTS PREFIX_heads CASCADE;
+DROP TABLE IF EXISTS PREFIX_idempotency_keys CASCADE;
 DROP TABLE IF EXISTS PREFIX_bookmarks CASCADE;
 DROP TABLE IF EXISTS PREFIX_events CASCADE;
+DROP PUBLICATION IF EXISTS PREFIX_events_feed;
+DROP FUNCTION IF EXISTS PREFIX_notify_event_appended();
+DROP FUNCTION IF EXISTS PREFIX_notify_events_appended();
+DROP FUNCTION IF EXISTS PREFIX_event_appended_payload(TEXT, TEXT, BIGINT, xid8, UUID, TEXT[], TEXT[]);
+DROP FUNCTION IF EXISTS PREFIX_notify_bookmark_placed();
+DROP FUNCTION IF EXISTS PREFIX_update_heads();
+DROP FUNCTION IF EXISTS PREFIX_claim_idempotency_key();
+DROP FUNCTION IF EXISTS PREFIX_ensure_event_partitions(BIGINT, BIGINT);
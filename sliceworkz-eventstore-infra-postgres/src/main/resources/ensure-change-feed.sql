@@ -0,0 +1,39 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore change feed (optional)
+----
+---- Publishes the inserts into the events table for logical decoding, so append notifications can be read
+---- from a logical replication slot (pgoutput plugin) instead of being sent by a trigger. Requires
+---- wal_level = logical. Inserts into the partitions of a partitioned events table are published as
+---- inserts into the events table itself.
+----
+---- The publication must exist before the replication slot is created:
+----   SELECT pg_create_logical_replication_slot('<slot name>', 'pgoutput');
+---- An unused slot retains WAL on the server, drop it with pg_drop_replication_slot('<slot name>') when
+---- the change feed is no longer consumed.
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_publication WHERE pubname = 'PREFIX_events_feed') THEN
+    CREATE PUBLICATION PREFIX_events_feed FOR TABLE PREFIX_events WITH (publish = 'insert', publish_via_partition_root = true);
+  END IF;
+END $$;
@@ -0,0 +1,80 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore head catalog (optional)
+----
+---- Keeps the position of the last event per event type ('t:<type>'), per tag ('g:<tag>') and per
+---- combination of both ('b:<type>|<tag>'), maintained by a statement-level trigger in the transaction
+---- of each insert. Appends use it to validate their consistency boundary without scanning the events.
+---- When created on an existing event store, the catalog is filled from the events already stored.
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'PREFIX_heads') THEN
+    CREATE TABLE PREFIX_heads (
+          head_key TEXT PRIMARY KEY,
+          event_position BIGINT NOT NULL
+      );
+
+    INSERT INTO PREFIX_heads (head_key, event_position)
+    SELECT k.head_key, max(e.event_position)
+    FROM PREFIX_events e
+    CROSS JOIN LATERAL (
+        SELECT 't:' || e.event_type
+        UNION ALL SELECT 'g:' || g FROM unnest(e.event_tags) g
+        UNION ALL SELECT 'b:' || e.event_type || '|' || g FROM unnest(e.event_tags) g
+    ) AS k(head_key)
+    GROUP BY k.head_key;
+  END IF;
+END $$;
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_update_heads') THEN
+    CREATE FUNCTION PREFIX_update_heads()
+    RETURNS trigger AS $fn$
+    BEGIN
+        -- keys are upserted in a fixed order, so concurrent appends cannot deadlock on them
+        INSERT INTO PREFIX_heads (head_key, event_position)
+        SELECT k.head_key, max(e.event_position)
+        FROM inserted_events e
+        CROSS JOIN LATERAL (
+            SELECT 't:' || e.event_type
+            UNION ALL SELECT 'g:' || g FROM unnest(e.event_tags) g
+            UNION ALL SELECT 'b:' || e.event_type || '|' || g FROM unnest(e.event_tags) g
+        ) AS k(head_key)
+        GROUP BY k.head_key
+        ORDER BY k.head_key
+        ON CONFLICT (head_key) DO UPDATE SET event_position = GREATEST(PREFIX_heads.event_position, EXCLUDED.event_position);
+        RETURN NULL;
+    END;
+    $fn$ LANGUAGE plpgsql;
+  END IF;
+END $$;
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name = 'table_insert_heads_trigger') THEN
+    CREATE TRIGGER table_insert_heads_trigger
+        AFTER INSERT ON PREFIX_events
+        REFERENCING NEW TABLE AS inserted_events
+        FOR EACH STATEMENT
+        EXECUTE FUNCTION PREFIX_update_heads();
+  END IF;
+END $$;
@@ -0,0 +1,135 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore database schema DDL: partitioned variant
+----
+---- Run before ensure-schema.sql, which then skips the tables created here and adds the indexes, triggers
+---- and functions shared by both variants. The events table is range-partitioned by event_position, so
+---- indexes, vacuum and scans of recent events only touch the most recent partitions.
+----
+---- Unique constraints on a partitioned table must include the partition key, so:
+----   - event_id is not enforced to be unique (it is a server- or client-generated UUIDv7)
+----   - idempotency keys are enforced via PREFIX_idempotency_keys, maintained by a trigger that silently
+----     skips events with a key that was already stored, like ON CONFLICT DO NOTHING on the regular schema
+----   - bookmarks cannot have a foreign key to the events table
+----
+---- Partitions are created ahead of time by PREFIX_ensure_event_partitions(partition_size, headroom).
+---- The partition size must remain the same for the lifetime of the event store.
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+
+
+---- EVENTS
+
+CREATE TABLE IF NOT EXISTS PREFIX_events (
+      event_position BIGSERIAL PRIMARY KEY,
+      event_tx xid8 DEFAULT pg_current_xact_id()::xid8 NOT NULL,
+      event_id UUID NOT NULL,
+      idempotency_key TEXT,
+      stream_context TEXT NOT NULL,
+      stream_purpose TEXT NOT NULL DEFAULT '',
+      event_type TEXT NOT NULL,
+      event_timestamp TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+      event_data JSONB NOT NULL,
+      event_erasable_data JSONB,
+      event_tags TEXT[] DEFAULT '{}'
+  ) PARTITION BY RANGE (event_position);
+
+	CREATE INDEX IF NOT EXISTS PREFIX_idx_events_event_id ON PREFIX_events (event_id);
+
+	CREATE INDEX IF NOT EXISTS PREFIX_idx_events_idempotency_key ON PREFIX_events (idempotency_key) WHERE idempotency_key IS NOT NULL;
+
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_ensure_event_partitions') THEN
+    CREATE FUNCTION PREFIX_ensure_event_partitions(partition_size BIGINT, headroom BIGINT)
+    RETURNS BIGINT AS $fn$
+    DECLARE
+        current_position BIGINT;
+        first_partition BIGINT;
+        last_partition BIGINT;
+    BEGIN
+        -- serializes concurrent callers, partitions are created at most once
+        PERFORM pg_advisory_xact_lock(hashtext('PREFIX_events_partitions'));
+        EXECUTE format('SELECT last_value FROM %s', pg_get_serial_sequence('PREFIX_events', 'event_position')) INTO current_position;
+        -- partition n holds positions [n * partition_size + 1, (n + 1) * partition_size + 1)
+        first_partition := greatest(current_position - 1, 0) / partition_size;
+        last_partition := greatest(current_position + headroom - 1, 0) / partition_size;
+        FOR n IN first_partition .. last_partition LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS PREFIX_events_p%s PARTITION OF PREFIX_events FOR VALUES FROM (%s) TO (%s) WITH (FILLFACTOR = 100)',
+                n, n * partition_size + 1, (n + 1) * partition_size + 1);
+        END LOOP;
+        RETURN (last_partition + 1) * partition_size + 1;
+    END;
+    $fn$ LANGUAGE plpgsql;
+  END IF;
+END $$;
+
+
+
+---- IDEMPOTENCY KEYS
+
+CREATE TABLE IF NOT EXISTS PREFIX_idempotency_keys (
+      idempotency_key TEXT PRIMARY KEY,
+      event_position BIGINT NOT NULL
+  );
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_claim_idempotency_key') THEN
+    CREATE FUNCTION PREFIX_claim_idempotency_key()
+    RETURNS trigger AS $fn$
+    BEGIN
+        IF NEW.idempotency_key IS NULL THEN
+            RETURN NEW;
+        END IF;
+        INSERT INTO PREFIX_idempotency_keys (idempotency_key, event_position) VALUES (NEW.idempotency_key, NEW.event_position)
+            ON CONFLICT (idempotency_key) DO NOTHING;
+        IF NOT FOUND THEN
+            -- already stored: skip the event
+            RETURN NULL;
+        END IF;
+        RETURN NEW;
+    END;
+    $fn$ LANGUAGE plpgsql;
+  END IF;
+END $$;
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name = 'table_insert_idempotency_trigger') THEN
+    CREATE TRIGGER table_insert_idempotency_trigger
+        BEFORE INSERT ON PREFIX_events
+        FOR EACH ROW
+        EXECUTE FUNCTION PREFIX_claim_idempotency_key();
+  END IF;
+END $$;
+
+
+
+---- BOOKMARKING
+
+CREATE TABLE IF NOT EXISTS PREFIX_bookmarks (
+      reader TEXT PRIMARY KEY,
+      event_position BIGINT NOT NULL,
+      event_id UUID NOT NULL,
+      event_tx xid8 NOT NULL,
+      updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+      updated_tags TEXT[] DEFAULT '{}'
+  );
@@ -90,19 +90,44 @@ CREATE TABLE IF NOT EXISTS PREFIX_events (
 
 ---- EVENT APPEND NOTIFICATIONS
 
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_event_appended_payload') THEN
+    CREATE FUNCTION PREFIX_event_appended_payload(stream_context TEXT, stream_purpose TEXT, event_position BIGINT, event_tx xid8, event_id UUID, event_types TEXT[], event_tags TEXT[])
+    RETURNS TEXT AS $fn$
+    DECLARE
+        payload JSONB;
+        detailed TEXT;
+    BEGIN
+        payload := jsonb_build_object(
+            'streamContext', stream_context,
+            'streamPurpose', stream_purpose,
+            'eventPosition', event_position,
+            'eventTx', event_tx,
+            'eventId', event_id
+        );
+        -- the appended types and tags let listeners skip appends their query cannot match
+        detailed := (payload || jsonb_build_object('eventTypes', event_types, 'eventTags', coalesce(event_tags, '{}')))::text;
+        -- ... unless they don't fit in a notification, then all listeners are woken up
+        IF octet_length(detailed) < 8000 THEN
+            RETURN detailed;
+        END IF;
+        RETURN payload::text;
+    END;
+    $fn$ LANGUAGE plpgsql;
+  END IF;
+END $$;
+
 DO $$ BEGIN
   IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_notify_event_appended') THEN
     CREATE FUNCTION PREFIX_notify_event_appended()
     RETURNS trigger AS $fn$
     BEGIN
+        -- bulk imports notify once per stream when done instead of once per row
+        IF current_setting('eventstore.bulk_import', true) = 'on' THEN
+            RETURN NEW;
+        END IF;
         PERFORM pg_notify('PREFIX_event_appended',
-            jsonb_build_object(
-                'streamContext', NEW.stream_context,
-                'streamPurpose', NEW.stream_purpose,
-                'eventPosition', NEW.event_position,
-                'eventTx', NEW.event_tx,
-                'eventId', NEW.event_id
-            )::text
+            PREFIX_event_appended_payload(NEW.stream_context, NEW.stream_purpose, NEW.event_position, NEW.event_tx, NEW.event_id, ARRAY[NEW.event_type], NEW.event_tags)
         );
         RETURN NEW;
     END;
@@ -111,7 +136,8 @@ DO $$ BEGIN
 END $$;
 
 DO $$ BEGIN
-  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name = 'table_insert_trigger') THEN
+  -- not when the statement-level variant (see ensure-trigger-per-statement.sql) is installed instead
+  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name IN ('table_insert_trigger', 'table_insert_statement_trigger')) THEN
     CREATE TRIGGER table_insert_trigger
         AFTER INSERT ON PREFIX_events
         FOR EACH ROW
@@ -0,0 +1,29 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore append notifications: no trigger
+----
+---- Removes the append notification triggers of ensure-schema.sql and ensure-trigger-per-statement.sql,
+---- for event stores that derive their notifications from the change feed (see ensure-change-feed.sql).
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+DROP TRIGGER IF EXISTS table_insert_trigger ON PREFIX_events;
+DROP TRIGGER IF EXISTS table_insert_statement_trigger ON PREFIX_events;
@@ -0,0 +1,37 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore append notifications: per-row trigger variant (default)
+----
+---- Installs the per-row trigger of ensure-schema.sql, replacing the statement-level variant
+---- of ensure-trigger-per-statement.sql when present.
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+DROP TRIGGER IF EXISTS table_insert_statement_trigger ON PREFIX_events;
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name = 'table_insert_trigger') THEN
+    CREATE TRIGGER table_insert_trigger
+        AFTER INSERT ON PREFIX_events
+        FOR EACH ROW
+        EXECUTE FUNCTION PREFIX_notify_event_appended();
+  END IF;
+END $$;
@@ -0,0 +1,69 @@
+--
+-- Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+-- Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+--
+-- This program is free software: you can redistribute it and/or modify
+-- it under the terms of the GNU Lesser General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your option) any later version.
+--
+-- This program is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+-- GNU Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public License
+-- along with this program.  If not, see <http://www.gnu.org/licenses/>.
+--
+
+----
+---- Eventstore append notifications: statement-level trigger variant
+----
+---- Replaces the per-row trigger of ensure-schema.sql by a trigger that fires once per INSERT statement
+---- and sends one notification per stream, referencing the last event appended to that stream.
+---- The notification payload is that of the per-row variant, with the types and tags of all events
+---- appended to the stream by the statement.
+----
+---- "PREFIX" can be removed or replaced to allow multiple eventstores next to each other in one database schema
+----
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON p.pronamespace = n.oid WHERE n.nspname = current_schema() AND p.proname = 'PREFIX_notify_events_appended') THEN
+    CREATE FUNCTION PREFIX_notify_events_appended()
+    RETURNS trigger AS $fn$
+    BEGIN
+        -- bulk imports notify once per stream when done
+        IF current_setting('eventstore.bulk_import', true) = 'on' THEN
+            RETURN NULL;
+        END IF;
+        PERFORM pg_notify('PREFIX_event_appended',
+            PREFIX_event_appended_payload(l.stream_context, l.stream_purpose, l.event_position, l.event_tx, l.event_id, s.event_types, g.event_tags)
+        )
+        FROM (
+            SELECT stream_context, stream_purpose, max(event_position) AS event_position, array_agg(DISTINCT event_type) AS event_types
+            FROM new_events
+            GROUP BY stream_context, stream_purpose
+        ) s
+        JOIN new_events l ON l.event_position = s.event_position
+        LEFT JOIN (
+            SELECT e.stream_context, e.stream_purpose, array_agg(DISTINCT t) AS event_tags
+            FROM new_events e CROSS JOIN LATERAL unnest(e.event_tags) t
+            GROUP BY e.stream_context, e.stream_purpose
+        ) g ON g.stream_context = s.stream_context AND g.stream_purpose = s.stream_purpose;
+        RETURN NULL;
+    END;
+    $fn$ LANGUAGE plpgsql;
+  END IF;
+END $$;
+
+DO $$ BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.triggers WHERE trigger_schema = current_schema() AND event_object_table = 'PREFIX_events' AND trigger_name = 'table_insert_statement_trigger') THEN
+    CREATE TRIGGER table_insert_statement_trigger
+        AFTER INSERT ON PREFIX_events
+        REFERENCING NEW TABLE AS new_events
+        FOR EACH STATEMENT
+        EXECUTE FUNCTION PREFIX_notify_events_appended();
+  END IF;
+END $$;
+
+DROP TRIGGER IF EXISTS table_insert_trigger ON PREFIX_events;
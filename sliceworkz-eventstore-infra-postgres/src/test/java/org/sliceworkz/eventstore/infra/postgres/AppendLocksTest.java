@@ -0,0 +1,108 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.query.EventFilter;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class AppendLocksTest {
+
+	private static final EventStreamId STREAM = EventStreamId.forContext("locks").withPurpose("test");
+
+	@Test
+	void testDisjointBoundariesDoNotContend ( ) {
+		SortedMap<Long, Boolean> a = AppendLocks.keys("", boundary("Deposited", "account:1"), List.of(event("Deposited", "account:1")));
+		SortedMap<Long, Boolean> b = AppendLocks.keys("", boundary("Deposited", "account:2"), List.of(event("Deposited", "account:2")));
+		assertFalse(contend(a, b));
+	}
+
+	@Test
+	void testOverlappingBoundariesContend ( ) {
+		SortedMap<Long, Boolean> a = AppendLocks.keys("", boundary("Deposited", "account:1"), List.of(event("Deposited", "account:1")));
+		SortedMap<Long, Boolean> b = AppendLocks.keys("", boundary("Withdrawn", "account:1"), List.of(event("Withdrawn", "account:1", "card:9")));
+		assertTrue(contend(a, b));
+	}
+
+	@Test
+	void testEventInsideOtherBoundaryContends ( ) {
+		// a writes an event within b's boundary, although their own boundaries are disjoint
+		SortedMap<Long, Boolean> a = AppendLocks.keys("", boundary("Transferred", "account:1"), List.of(event("Transferred", "account:1", "account:2")));
+		SortedMap<Long, Boolean> b = AppendLocks.keys("", boundary("Transferred", "account:2"), List.of(event("Transferred", "account:2")));
+		assertTrue(contend(a, b));
+
+		// and an unconditional append into a boundary contends as well
+		SortedMap<Long, Boolean> c = AppendLocks.keys("", AppendCriteria.none(), List.of(event("Deposited", "account:2")));
+		assertTrue(contend(b, c));
+	}
+
+	@Test
+	void testTypeOnlyAndMatchAllBoundaries ( ) {
+		AppendCriteria typesOnly = AppendCriteria.of(EventFilter.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("Registered"))), Tags.none()), null);
+		SortedMap<Long, Boolean> a = AppendLocks.keys("", typesOnly, List.of(event("Registered", "user:1")));
+		SortedMap<Long, Boolean> b = AppendLocks.keys("", AppendCriteria.none(), List.of(event("Registered", "user:2")));
+		SortedMap<Long, Boolean> c = AppendLocks.keys("", AppendCriteria.none(), List.of(event("Deposited", "account:1")));
+		assertTrue(contend(a, b));
+		assertFalse(contend(a, c));
+
+		SortedMap<Long, Boolean> all = AppendLocks.keys("", AppendCriteria.of(EventFilter.matchAll(), null), List.of(event("Audited")));
+		assertTrue(contend(all, c));
+	}
+
+	@Test
+	void testUnconditionalAppendsNeverContend ( ) {
+		SortedMap<Long, Boolean> a = AppendLocks.keys("", AppendCriteria.none(), List.of(event("Deposited", "account:1")));
+		SortedMap<Long, Boolean> b = AppendLocks.keys("", AppendCriteria.none(), List.of(event("Deposited", "account:1")));
+		assertFalse(contend(a, b));
+	}
+
+	@Test
+	void testKeysAreScopedByPrefix ( ) {
+		assertNotEquals(AppendLocks.globalKey("one_"), AppendLocks.globalKey("two_"));
+		assertEquals(AppendLocks.tagKey("one_", "account:1"), AppendLocks.tagKey("one_", "account:1"));
+		// FNV-1a reference value
+		assertEquals(0xaf63dc4c8601ec8cL, AppendLocks.hash("a"));
+	}
+
+	private static boolean contend ( SortedMap<Long, Boolean> a, SortedMap<Long, Boolean> b ) {
+		return a.entrySet().stream().anyMatch(e -> b.containsKey(e.getKey()) && (e.getValue() || b.get(e.getKey())));
+	}
+
+	private static AppendCriteria boundary ( String type, String tag ) {
+		return AppendCriteria.of(EventFilter.forEvents(EventTypesFilter.of(Set.of(EventType.ofType(type))), Tags.parse(tag)), null);
+	}
+
+	private static EventToStore event ( String type, String... tags ) {
+		return new EventToStore(STREAM, EventType.ofType(type), "{}", null, Tags.parse(tags), null);
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class GroupCommitAppenderTest {
+
+	private static final EventStreamId STREAM = EventStreamId.forContext("group").withPurpose("commit");
+
+	@Test
+	void testConcurrentAppendsAreGroupedAndSplitPerCaller ( ) throws Exception {
+		AtomicLong position = new AtomicLong();
+		List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		GroupCommitAppender appender = new GroupCommitAppender("test", events -> {
+			batchSizes.add(events.size());
+			long tx = position.get() + 1;
+			return events.stream().map(e -> e.positionAt(EventReference.create(position.incrementAndGet(), tx), LocalDateTime.now())).toList();
+		}, Duration.ofMillis(50), 100);
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		appender.start(executor);
+
+		List<Future<List<StoredEvent>>> results = new ArrayList<>();
+		for ( int i = 0; i < 20; i++ ) {
+			int caller = i;
+			results.add(executor.submit(() -> appender.append(events(caller, 3))));
+		}
+
+		for ( int i = 0; i < 20; i++ ) {
+			List<StoredEvent> stored = results.get(i).get();
+			assertEquals(3, stored.size());
+			for ( int j = 0; j < 3; j++ ) {
+				assertEquals("{\"caller\":%d,\"event\":%d}".formatted(i, j), stored.get(j).immutableData());
+			}
+		}
+		assertEquals(60, batchSizes.stream().mapToInt(Integer::intValue).sum());
+		assertTrue(batchSizes.size() < 20, "expected appends to be grouped, got batches " + batchSizes);
+		assertTrue(batchSizes.stream().allMatch(s -> s <= 100));
+
+		appender.stop();
+		executor.shutdown();
+	}
+
+	@Test
+	void testFailedWriteFailsAllCallersOfTheGroup ( ) throws Exception {
+		GroupCommitAppender appender = new GroupCommitAppender("test", events -> { throw new EventStorageException("boom"); }, Duration.ofMillis(10), 100);
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		appender.start(executor);
+
+		EventStorageException e = assertThrows(EventStorageException.class, () -> appender.append(events(0, 1)));
+		assertEquals("boom", e.getMessage());
+
+		appender.stop();
+		executor.shutdown();
+		assertThrows(EventStorageException.class, () -> appender.append(events(1, 1)));
+	}
+
+	@Test
+	void testAppendArrivingDuringWindowThatDoesNotFitStartsNextBatch ( ) throws Exception {
+		AtomicLong position = new AtomicLong();
+		List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		GroupCommitAppender appender = new GroupCommitAppender("test", events -> {
+			batchSizes.add(events.size());
+			long tx = position.get() + 1;
+			return events.stream().map(e -> e.positionAt(EventReference.create(position.incrementAndGet(), tx), LocalDateTime.now())).toList();
+		}, Duration.ofSeconds(1), 5);
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		appender.start(executor);
+
+		Future<List<StoredEvent>> first = executor.submit(() -> appender.append(events(0, 3)));
+		Thread.sleep(100); // the drain thread is now waiting for more appends within the window
+		Future<List<StoredEvent>> second = executor.submit(() -> appender.append(events(1, 3)));
+
+		assertEquals(3, first.get().size());
+		assertEquals(3, second.get().size());
+		assertEquals(List.of(3, 3), batchSizes);
+
+		appender.stop();
+		executor.shutdown();
+	}
+
+	@Test
+	void testAppendFailsWhenNotStarted ( ) {
+		GroupCommitAppender appender = new GroupCommitAppender("test", events -> List.of(), Duration.ofMillis(10), 100);
+
+		EventStorageException e = assertThrows(EventStorageException.class, () -> appender.append(events(0, 1)));
+		assertEquals("group commit appender test is not started", e.getMessage());
+	}
+
+	private static List<EventToStore> events ( int caller, int count ) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new EventToStore(STREAM, EventType.ofType("Grouped"), "{\"caller\":%d,\"event\":%d}".formatted(caller, i), null, Tags.none(), null))
+			.toList();
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventId;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class PgOutputDecoderTest {
+
+	private static final String[] EVENT_COLUMNS = { "event_position", "event_tx", "event_id", "idempotency_key", "stream_context", "stream_purpose", "event_type", "event_tags" };
+
+	private static final String ID_1 = "0199a1b2-0000-7000-8000-000000000001";
+	private static final String ID_2 = "0199a1b2-0000-7000-8000-000000000002";
+	private static final String ID_3 = "0199a1b2-0000-7000-8000-000000000003";
+
+	@Test
+	void testNotifiesLastEventPerStreamOnCommit ( ) throws IOException {
+		PgOutputDecoder decoder = new PgOutputDecoder("test_events");
+
+		assertFalse(decoder.decode(begin()));
+		assertTrue(decoder.inTransaction());
+		assertFalse(decoder.decode(relation(16384, "test_events", EVENT_COLUMNS)));
+		assertFalse(decoder.decode(insert(16384, "1", "742", ID_1, null, "ctx", "a", "First", "{customer:1}")));
+		assertFalse(decoder.decode(insert(16384, "2", "742", ID_2, "key", "ctx", "b", "First", "{}")));
+		assertFalse(decoder.decode(insert(16384, "3", "742", ID_3, null, "ctx", "a", "Second", "{customer:1,\"region:EU west\"}")));
+		assertTrue(decoder.decode(commit(0x16B3748L)));
+
+		assertFalse(decoder.inTransaction());
+		assertEquals(0x16B3748L, decoder.committedLsn());
+		assertEquals(List.of(
+				new AppendsToEventStoreNotification(EventStreamId.forContext("ctx").withPurpose("a"), EventReference.of(EventId.of(ID_3), 3, 742),
+						Set.of(EventType.ofType("First"), EventType.ofType("Second")), Tags.parse("customer:1", "region:EU west")),
+				new AppendsToEventStoreNotification(EventStreamId.forContext("ctx").withPurpose("b"), EventReference.of(EventId.of(ID_2), 2, 742),
+						Set.of(EventType.ofType("First")), Tags.none())),
+			decoder.committed());
+	}
+
+	@Test
+	void testSkipsOtherTablesAndMessages ( ) throws IOException {
+		PgOutputDecoder decoder = new PgOutputDecoder("test_events");
+
+		decoder.decode(begin());
+		decoder.decode(relation(16384, "test_events", EVENT_COLUMNS));
+		decoder.decode(relation(16390, "other_events", EVENT_COLUMNS));
+		decoder.decode(message('O'));
+		decoder.decode(insert(16390, "1", "742", ID_1, null, "ctx", "a", "Type", "{}"));
+		assertTrue(decoder.decode(commit(100)));
+		assertEquals(List.of(), decoder.committed());
+
+		// a relation id announced again for another table no longer counts as the events table
+		decoder.decode(begin());
+		decoder.decode(relation(16384, "renamed_events", EVENT_COLUMNS));
+		decoder.decode(insert(16384, "2", "743", ID_2, null, "ctx", "a", "Type", "{}"));
+		assertTrue(decoder.decode(commit(200)));
+		assertEquals(List.of(), decoder.committed());
+	}
+
+	@Test
+	void testParsesTextArrays ( ) {
+		assertEquals(List.of(), PgOutputDecoder.parseTextArray("{}"));
+		assertEquals(List.of("a:1", "b"), PgOutputDecoder.parseTextArray("{a:1,b}"));
+		assertEquals(List.of("a b", "c,d", "e\"f", "NULL"), PgOutputDecoder.parseTextArray("{\"a b\",\"c,d\",\"e\\\"f\",\"NULL\",NULL}"));
+		assertThrows(IllegalStateException.class, () -> PgOutputDecoder.parseTextArray("a,b"));
+	}
+
+	@Test
+	void testRejectsMalformedMessages ( ) throws IOException {
+		PgOutputDecoder decoder = new PgOutputDecoder("test_events");
+
+		assertThrows(IllegalStateException.class, () -> decoder.decode(relation(16384, "test_events", "event_position", "event_id")));
+		assertThrows(IllegalStateException.class, () -> decoder.decode(ByteBuffer.wrap(new byte[] { 'C', 0 })));
+	}
+
+	private static ByteBuffer begin ( ) throws IOException {
+		return build(out -> {
+			out.writeByte('B');
+			out.writeLong(0); // final LSN
+			out.writeLong(0); // commit timestamp
+			out.writeInt(742); // xid
+		});
+	}
+
+	private static ByteBuffer commit ( long endLsn ) throws IOException {
+		return build(out -> {
+			out.writeByte('C');
+			out.writeByte(0); // flags
+			out.writeLong(endLsn - 48); // commit LSN
+			out.writeLong(endLsn);
+			out.writeLong(0); // commit timestamp
+		});
+	}
+
+	private static ByteBuffer relation ( int relationId, String name, String... columns ) throws IOException {
+		return build(out -> {
+			out.writeByte('R');
+			out.writeInt(relationId);
+			writeString(out, "public");
+			writeString(out, name);
+			out.writeByte('d'); // replica identity
+			out.writeShort(columns.length);
+			for ( String column : columns ) {
+				out.writeByte(0); // flags
+				writeString(out, column);
+				out.writeInt(25); // text
+				out.writeInt(-1);
+			}
+		});
+	}
+
+	private static ByteBuffer insert ( int relationId, String... values ) throws IOException {
+		return build(out -> {
+			out.writeByte('I');
+			out.writeInt(relationId);
+			out.writeByte('N');
+			out.writeShort(values.length);
+			for ( String value : values ) {
+				if ( value == null ) {
+					out.writeByte('n');
+				} else {
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					out.writeByte('t');
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+			}
+		});
+	}
+
+	private static ByteBuffer message ( char type ) throws IOException {
+		return build(out -> {
+			out.writeByte(type);
+			out.writeLong(0);
+		});
+	}
+
+	private static void writeString ( DataOutputStream out, String value ) throws IOException {
+		out.write(value.getBytes(StandardCharsets.UTF_8));
+		out.writeByte(0);
+	}
+
+	private static ByteBuffer build ( MessageWriter writer ) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try ( DataOutputStream out = new DataOutputStream(bytes) ) {
+			writer.write(out);
+		}
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+
+	private interface MessageWriter {
+		void write ( DataOutputStream out ) throws IOException;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class PostgresEventStorageBulkImportTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testBulkImportInBatchesSkipsKnownIdempotencyKeys ( ) {
+			PostgresBulkImporter storage = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("bulkimport_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.initializeDatabase()
+				.buildBulkImporter();
+
+			EventStreamId stream = EventStreamId.forContext("bulk").withPurpose("test");
+			storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, 3)));
+
+			// batches of 4 events, one of which was appended before
+			assertEquals(9, storage.bulkImport(IntStream.range(0, 10).mapToObj(i -> event(stream, i)), 4));
+
+			try ( Stream<StoredEvent> results = storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD) ) {
+				List<StoredEvent> list = results.toList();
+				assertEquals(10, list.size());
+				assertEquals("{\"value\":3}", list.get(0).immutableData().replace(" ", ""));
+				// import order is preserved (jsonb renders a space after the colon)
+				assertEquals("{\"value\":0}", list.get(1).immutableData().replace(" ", ""));
+				assertEquals("{\"value\":9}", list.get(9).immutableData().replace(" ", ""));
+				assertEquals(Tags.parse("import:9", "quote:\"q\""), list.get(9).tags());
+			}
+
+			// importing again is a no-op
+			assertEquals(0, storage.bulkImport(IntStream.range(0, 10).mapToObj(i -> event(stream, i))));
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private EventToStore event ( EventStreamId stream, int i ) {
+			return new EventToStore(stream, EventType.ofType("ImportedEvent"), "{\"value\":%d}".formatted(i), null, Tags.parse("import:" + i, "quote:\"q\""), "import-" + i);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.BookmarkPlacedNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class PostgresEventStorageChangeFeedTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testAppendsAreNotifiedFromChangeFeed ( ) throws Exception {
+			DataSource dataSource = PostgresContainer.dataSource(image);
+			EventStorage storage = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("feed_")
+				.dataSource(dataSource)
+				.changeFeed("feed_test_slot", PostgresContainer.replicationDataSource(image))
+				.initializeDatabase()
+				.build();
+
+			// no trigger is involved in notifying appends
+			assertFalse(triggerExists(dataSource, "feed_events", "table_insert_trigger"));
+			assertFalse(triggerExists(dataSource, "feed_events", "table_insert_statement_trigger"));
+
+			List<AppendsToEventStoreNotification> notifications = new CopyOnWriteArrayList<>();
+			storage.subscribe(collecting(notifications));
+
+			EventStreamId first = EventStreamId.forContext("feed").withPurpose("first");
+			EventStreamId second = EventStreamId.forContext("feed").withPurpose("second");
+			List<StoredEvent> stored = storage.append(AppendCriteria.none(), Optional.empty(), List.of(event(first), event(second), event(first), event(second), event(first)));
+
+			// one notification per stream per transaction, referencing the last event of that stream
+			awaitNotifications(notifications, 2);
+			assertEquals(2, notifications.size());
+			assertEquals(Set.of(stored.get(3).reference(), stored.get(4).reference()), notifications.stream().map(AppendsToEventStoreNotification::atLeastUntil).collect(Collectors.toSet()));
+
+			// transactions are notified in commit order
+			StoredEvent next = storage.append(AppendCriteria.none(), Optional.of(first), List.of(event(first))).getFirst();
+			awaitNotifications(notifications, 3);
+			assertEquals(next.reference(), notifications.get(2).atLeastUntil());
+
+			((PostgresEventStorageImpl)storage).stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testAppendsWhileStoppedAreNotifiedAfterRestart ( ) throws Exception {
+			EventStorage storage = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("feedresume_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.changeFeed("feedresume_test_slot", PostgresContainer.replicationDataSource(image))
+				.initializeDatabase()
+				.build();
+			((PostgresEventStorageImpl)storage).stop();
+
+			// appended by another instance while the change feed isn't consumed
+			EventStorage writer = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("feedresume_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.notificationTrigger(NotificationTriggerMode.NONE)
+				.databaseInitMode(DatabaseInitMode.NONE)
+				.build();
+			EventStreamId stream = EventStreamId.forContext("feed").withPurpose("resume");
+			StoredEvent stored = writer.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+			((PostgresEventStorageImpl)writer).stop();
+
+			// subscribed before starting, so nothing streamed from the slot can be missed
+			DataSource dataSource = PostgresContainer.dataSource(image);
+			PostgresEventStorageImpl restarted = new PostgresEventStorageImpl("unit-test", dataSource, dataSource, Limit.none(), "feedresume_")
+				.notificationTriggerMode(NotificationTriggerMode.NONE)
+				.changeFeed("feedresume_test_slot", PostgresContainer.replicationDataSource(image));
+			restarted.validateDatabase();
+			List<AppendsToEventStoreNotification> notifications = new CopyOnWriteArrayList<>();
+			restarted.subscribe(collecting(notifications));
+			restarted.start();
+
+			awaitNotifications(notifications, 1);
+			assertEquals(new AppendsToEventStoreNotification(stream, stored.reference(), Set.of(stored.type()), stored.tags()), notifications.getFirst());
+
+			restarted.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private static boolean triggerExists ( DataSource dataSource, String tableName, String triggerName ) throws SQLException {
+			try ( Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT FROM information_schema.triggers WHERE event_object_table = '%s' AND trigger_name = '%s')".formatted(tableName, triggerName)) ) {
+				rs.next();
+				return rs.getBoolean(1);
+			}
+		}
+
+		private static void awaitNotifications ( List<AppendsToEventStoreNotification> notifications, int count ) throws InterruptedException {
+			for ( int i = 0; i < 100 && notifications.size() < count; i++ ) {
+				Thread.sleep(100);
+			}
+			Thread.sleep(200);
+		}
+
+		private static EventStoreListener collecting ( List<AppendsToEventStoreNotification> notifications ) {
+			return new EventStoreListener() {
+				@Override public void notify ( AppendsToEventStoreNotification newEventsInStore ) { notifications.add(newEventsInStore); }
+				@Override public void notify ( BookmarkPlacedNotification bookmarkPlaced ) { }
+			};
+		}
+
+		private EventToStore event ( EventStreamId stream ) {
+			return new EventToStore(stream, EventType.ofType("Appended"), "{}", null, Tags.none(), null);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
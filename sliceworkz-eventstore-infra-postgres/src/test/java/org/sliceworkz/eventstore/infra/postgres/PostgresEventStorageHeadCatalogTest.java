@@ -0,0 +1,175 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+import org.sliceworkz.eventstore.stream.OptimisticLockingException;
+
+public class PostgresEventStorageHeadCatalogTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testConditionalAppendsAreValidatedAgainstHeads ( ) {
+			PostgresEventStorageImpl storage = storage("heads_", true);
+
+			EventStreamId stream = EventStreamId.forContext("heads").withPurpose("test");
+			StoredEvent first = storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "Opened", "account:1", "owner:1"))).getFirst();
+			storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "Opened", "account:2", "owner:1")));
+
+			// the heads of both tags are beyond the expected reference, but no event carries both: the scan decides
+			EventQuery bothTags = EventQuery.forEvents(types("Opened"), Tags.parse("account:1", "owner:1"));
+			storage.append(AppendCriteria.of(bothTags, first.reference()), Optional.of(stream), List.of(event(stream, "Deposited", "account:9")));
+
+			// a matching event after the expected reference is a conflict
+			EventQuery account2 = EventQuery.forEvents(types("Opened"), Tags.parse("account:2"));
+			assertThrows(OptimisticLockingException.class, () -> storage.append(AppendCriteria.of(account2, first.reference()), Optional.of(stream), List.of(event(stream, "Deposited", "account:2"))));
+			assertThrows(OptimisticLockingException.class, () -> storage.append(AppendCriteria.of(EventQuery.forEvents(types("Opened"), Tags.none()), null), Optional.of(stream), List.of(event(stream, "Deposited", "account:2"))));
+
+			// types and tags never seen before have no head
+			storage.append(AppendCriteria.of(EventQuery.forEvents(types("Closed"), Tags.parse("account:1")), null), Optional.of(stream), List.of(event(stream, "Closed", "account:1")));
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testHeadReference ( ) {
+			PostgresEventStorageImpl storage = storage("headref_", true);
+
+			EventStreamId stream = EventStreamId.forContext("heads").withPurpose("reference");
+			EventQuery account1 = EventQuery.forEvents(EventTypesFilter.any(), Tags.parse("account:1"));
+			assertTrue(storage.headReference(account1, Optional.empty()).isEmpty());
+
+			List<StoredEvent> events = storage.append(AppendCriteria.none(), Optional.of(stream), List.of(
+					event(stream, "Opened", "account:1"),
+					event(stream, "Deposited", "account:1"),
+					event(stream, "Opened", "account:2")));
+
+			assertEquals(Optional.of(events.get(1).reference()), storage.headReference(account1, Optional.empty()));
+			assertEquals(Optional.of(events.get(2).reference()), storage.headReference(EventQuery.forEvents(types("Opened"), Tags.none()), Optional.empty()));
+			assertEquals(Optional.of(events.get(0).reference()), storage.headReference(EventQuery.forEvents(types("Opened"), Tags.parse("account:1")), Optional.empty()));
+			// not exact in the catalog, answered by a query
+			assertEquals(Optional.of(events.get(0).reference()), storage.headReference(EventQuery.forEvents(types("Opened"), Tags.parse("account:1")), Optional.of(stream)));
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testCatalogIsFilledFromExistingEvents ( ) {
+			PostgresEventStorageImpl without = storage("headfill_", false);
+			EventStreamId stream = EventStreamId.forContext("heads").withPurpose("fill");
+			StoredEvent stored = without.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "Opened", "account:1"))).getFirst();
+			without.stop();
+
+			PostgresEventStorageImpl with = (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("headfill_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.headCatalog()
+				.ensureDatabase()
+				.build();
+			assertEquals(Optional.of(stored.reference()), with.headReference(EventQuery.forEvents(EventTypesFilter.any(), Tags.parse("account:1")), Optional.empty()));
+
+			with.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private PostgresEventStorageImpl storage ( String prefix, boolean headCatalog ) {
+			PostgresEventStorage.Builder builder = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix(prefix)
+				.dataSource(PostgresContainer.dataSource(image))
+				.initializeDatabase();
+			if ( headCatalog ) {
+				builder.headCatalog();
+			}
+			return (PostgresEventStorageImpl) builder.build();
+		}
+
+		private static EventTypesFilter types ( String type ) {
+			return EventTypesFilter.of(Set.of(EventType.ofType(type)));
+		}
+
+		private static EventToStore event ( EventStreamId stream, String type, String... tags ) {
+			return new EventToStore(stream, EventType.ofType(type), "{}", null, Tags.parse(tags), null);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
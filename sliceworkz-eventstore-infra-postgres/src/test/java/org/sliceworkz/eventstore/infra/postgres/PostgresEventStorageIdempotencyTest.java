@@ -0,0 +1,137 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+import org.sliceworkz.eventstore.stream.OptimisticLockingException;
+
+public class PostgresEventStorageIdempotencyTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testDuplicateIdempotencyKeyIsSkipped ( ) {
+			PostgresEventStorageImpl storage = storage("idempotency_", 0);
+
+			EventStreamId stream = EventStreamId.forContext("idempotency").withPurpose("test");
+			assertEquals(1, storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			assertEquals(0, storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+
+			// a conflicting append without a known key is still rejected
+			AppendCriteria criteria = AppendCriteria.of(EventQuery.matchAll(), null);
+			assertThrows(OptimisticLockingException.class, () -> storage.append(criteria, Optional.of(stream), List.of(event(stream, "key-2"))));
+			// but a retry of an already processed command is not
+			assertEquals(0, storage.append(criteria, Optional.of(stream), List.of(event(stream, "key-1"))).size());
+
+			assertEquals(1, storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD).count());
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testRecentIdempotencyKeysAreRemembered ( ) {
+			PostgresEventStorageImpl first = storage("idempotencycache_", 100);
+			PostgresEventStorageImpl second = storage("idempotencycache_", 100);
+
+			EventStreamId stream = EventStreamId.forContext("idempotency").withPurpose("cache");
+			assertEquals(1, first.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			assertEquals(0, first.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			// unknown to the cache of another instance, the database detects the duplicate
+			assertEquals(0, second.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			assertEquals(1, second.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-2"))).size());
+
+			first.stop();
+			second.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private PostgresEventStorageImpl storage ( String prefix, int recentIdempotencyKeys ) {
+			return (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix(prefix)
+				.dataSource(PostgresContainer.dataSource(image))
+				.recentIdempotencyKeys(recentIdempotencyKeys)
+				.ensureDatabase()
+				.build();
+		}
+
+		private EventToStore event ( EventStreamId stream, String idempotencyKey ) {
+			return new EventToStore(stream, EventType.ofType("IdempotentEvent"), "{}", null, Tags.none(), idempotencyKey);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
@@ -17,9 +17,23 @@
  */
 package org.sliceworkz.eventstore.infra.postgres;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventId;
+import org.sliceworkz.eventstore.events.EventReference;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.query.EventFilter;
+import org.sliceworkz.eventstore.query.EventFilterItem;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.stream.EventStreamId;
 
 public class PostgresEventStorageImplTest {
 	
@@ -65,4 +79,75 @@ public class PostgresEventStorageImplTest {
 		assertThrows(IllegalArgumentException.class, ()->PostgresEventStorageImpl.validatePrefix(prefix));
 	}
 	
+	@Test
+	void testCoalesceKeepsHighestReferencePerStream ( ) {
+		EventStreamId first = EventStreamId.forContext("coalesce").withPurpose("first");
+		EventStreamId second = EventStreamId.forContext("coalesce").withPurpose("second");
+		List<AppendsToEventStoreNotification> notifications = List.of(
+			notification(first, 1), notification(second, 2), notification(first, 4), notification(first, 3), notification(second, 5));
+
+		assertEquals(List.of(notification(first, 4), notification(second, 5)), List.copyOf(PostgresEventStorageImpl.coalesce(notifications)));
+		assertEquals(List.of(notification(first, 1)), List.copyOf(PostgresEventStorageImpl.coalesce(List.of(notification(first, 1)))));
+	}
+
+	@Test
+	void testCoalesceCombinesTypesAndTagsPerStream ( ) {
+		EventStreamId stream = EventStreamId.forContext("coalesce").withPurpose("typed");
+		EventReference first = notification(stream, 1).atLeastUntil();
+		EventReference second = notification(stream, 2).atLeastUntil();
+		List<AppendsToEventStoreNotification> notifications = List.of(
+			new AppendsToEventStoreNotification(stream, second, Set.of(EventType.ofType("B")), Tags.of("customer", "2")),
+			new AppendsToEventStoreNotification(stream, first, Set.of(EventType.ofType("A")), Tags.of("customer", "1")));
+
+		assertEquals(List.of(new AppendsToEventStoreNotification(stream, second, Set.of(EventType.ofType("A"), EventType.ofType("B")), Tags.parse("customer:1", "customer:2"))),
+			List.copyOf(PostgresEventStorageImpl.coalesce(notifications)));
+
+		// without types and tags for one of them, the appends could match anything
+		assertEquals(List.of(notification(stream, 2)), List.copyOf(PostgresEventStorageImpl.coalesce(List.of(notifications.getFirst(), notification(stream, 1)))));
+	}
+
+	private static AppendsToEventStoreNotification notification ( EventStreamId stream, long position ) {
+		return new AppendsToEventStoreNotification(stream, EventReference.of(EventId.of("0199a1b2-0000-7000-8000-%012d".formatted(position)), position, position));
+	}
+
+	@Test
+	void testFilterShapeIndependentOfArity ( ) {
+		EventFilter small = EventFilter.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("A"))), Tags.of("customer", "1"));
+		EventFilter large = EventFilter.forEvents(EventTypesFilter.of(Set.of(EventType.ofType("A"), EventType.ofType("B"), EventType.ofType("C"))), Tags.parse("customer:1", "order:2"));
+		assertEquals("B", PostgresEventStorageImpl.filterShape(small));
+		assertEquals(PostgresEventStorageImpl.filterShape(small), PostgresEventStorageImpl.filterShape(large));
+	}
+
+	@Test
+	void testFilterShapeRendering ( ) {
+		EventFilter filter = new EventFilter(List.of(
+				new EventFilterItem(EventTypesFilter.of(Set.of(EventType.ofType("A"))), Tags.none()),
+				new EventFilterItem(EventTypesFilter.any(), Tags.of("customer", "1"))), null);
+		String shape = PostgresEventStorageImpl.filterShape(filter);
+		assertEquals("TG", shape);
+
+		StringBuilder sql = new StringBuilder();
+		PostgresEventStorageImpl.appendEventFilterSql(sql, shape);
+		assertEquals(" AND ((event_type = ANY(?::text[])) OR (event_tags @> ?::text[]))", sql.toString());
+	}
+
+	@Test
+	void testFilterShapeMatchAll ( ) {
+		assertEquals("", PostgresEventStorageImpl.filterShape(EventFilter.matchAll()));
+	}
+
+	@Test
+	void testCopyRowEscaping ( ) {
+		EventToStore event = new EventToStore(EventStreamId.forContext("ctx").withPurpose(""), EventType.ofType("Imported"), "{\"text\":\"a\\tb\\\\c\"}", null, Tags.of("customer", "1"), "key\t1");
+		StringBuilder row = new StringBuilder();
+		PostgresEventStorageImpl.appendCopyRow(row, 7, null, event);
+		assertEquals("7\t\\N\tkey\\t1\tctx\t\tImported\t{\"text\":\"a\\\\tb\\\\\\\\c\"}\t\\N\t{\"customer:1\"}\n", row.toString());
+	}
+
+	@Test
+	void testTextArrayLiteral ( ) {
+		assertEquals("{}", PostgresEventStorageImpl.textArrayLiteral(List.of()));
+		assertEquals("{\"a\",\"b \\\"c\\\"\",\"d\\\\e\"}", PostgresEventStorageImpl.textArrayLiteral(List.of("a", "b \"c\"", "d\\e")));
+	}
+
 }
@@ -20,13 +20,28 @@ package org.sliceworkz.eventstore.infra.postgres;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
 import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
 import org.sliceworkz.eventstore.spi.EventStorage;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.BookmarkPlacedNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
 import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
 
 // this test uses a different prefix per test, so one container can be started/stopped and reused for all tests
 public class PostgresEventStorageInitialisationTest {
@@ -117,6 +132,57 @@ public class PostgresEventStorageInitialisationTest {
 
 			PostgresContainer.closeDataSource(image);
 		}
+
+		@Test
+		public void testStatementLevelNotificationTrigger ( ) throws InterruptedException {
+			EventStorage storage = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("stmttrigger_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.notificationTrigger(NotificationTriggerMode.PER_STATEMENT)
+				.initializeDatabase()
+				.build();
+
+			List<AppendsToEventStoreNotification> notifications = new CopyOnWriteArrayList<>();
+			EventStoreListener listener = new EventStoreListener() {
+				@Override public void notify ( AppendsToEventStoreNotification newEventsInStore ) { notifications.add(newEventsInStore); }
+				@Override public void notify ( BookmarkPlacedNotification bookmarkPlaced ) { }
+			};
+			storage.subscribe(listener);
+
+			EventStreamId first = EventStreamId.forContext("stmt").withPurpose("first");
+			EventStreamId second = EventStreamId.forContext("stmt").withPurpose("second");
+			List<StoredEvent> stored = storage.append(AppendCriteria.none(), Optional.empty(), List.of(event(first), event(second), event(first), event(second), event(first)));
+
+			// one notification per stream, referencing the last event of that stream
+			for ( int i = 0; i < 50 && notifications.size() < 2; i++ ) {
+				Thread.sleep(100);
+			}
+			Thread.sleep(200);
+			assertEquals(2, notifications.size());
+			assertEquals(Set.of(stored.get(3).reference(), stored.get(4).reference()), notifications.stream().map(AppendsToEventStoreNotification::atLeastUntil).collect(Collectors.toSet()));
+			// ... with the types and tags of all its events
+			notifications.forEach(n -> assertEquals(Set.of(EventType.ofType("Appended")), n.eventTypes()));
+			notifications.forEach(n -> assertEquals(Tags.none(), n.tags()));
+
+			((PostgresEventStorageImpl)storage).stop();
+
+			// switching back to the per-row variant replaces the trigger, and validation accepts it
+			storage = PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("stmttrigger_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.notificationTrigger(NotificationTriggerMode.PER_ROW)
+				.ensureDatabase()
+				.build();
+			((PostgresEventStorageImpl)storage).stop();
+
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private EventToStore event ( EventStreamId stream ) {
+			return new EventToStore(stream, EventType.ofType("Appended"), "{}", null, Tags.none(), null);
+		}
 	}
 
 	@Nested
@@ -0,0 +1,161 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.spi.EventStorage.AppendsToEventStoreNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.BookmarkPlacedNotification;
+import org.sliceworkz.eventstore.spi.EventStorage.EventStoreListener;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class PostgresEventStorageNotificationHubTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testEventStoresShareOneHubPerMonitoringDataSource ( ) throws Exception {
+			DataSource dataSource = PostgresContainer.dataSource(image);
+			PostgresEventStorageImpl first = storage("hubfirst_", dataSource);
+			PostgresEventStorageImpl second = storage("hubsecond_", dataSource);
+			assertNotNull(first.notificationHub());
+			assertSame(first.notificationHub(), second.notificationHub());
+
+			Collecting firstListener = new Collecting();
+			Collecting secondListener = new Collecting();
+			first.subscribe(firstListener);
+			second.subscribe(secondListener);
+
+			// notifications are routed to the event store of the prefix they were sent for
+			EventStreamId stream = EventStreamId.forContext("hub").withPurpose("test");
+			StoredEvent appendedToFirst = first.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+			StoredEvent appendedToSecond = second.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+			second.bookmark("reader", appendedToSecond.reference(), Tags.none());
+			await(() -> firstListener.appends.size() >= 1 && secondListener.appends.size() >= 1 && secondListener.bookmarks.size() >= 1);
+			assertEquals(List.of(appendedToFirst.reference()), firstListener.appends.stream().map(AppendsToEventStoreNotification::atLeastUntil).toList());
+			assertEquals(List.of(appendedToSecond.reference()), secondListener.appends.stream().map(AppendsToEventStoreNotification::atLeastUntil).toList());
+			assertEquals(0, firstListener.bookmarks.size());
+
+			// the hub keeps serving the remaining event store
+			first.stop();
+			StoredEvent afterStop = second.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+			await(() -> secondListener.appends.size() >= 2);
+			assertEquals(afterStop.reference(), secondListener.appends.getLast().atLeastUntil());
+
+			// ... and is replaced by a new one once all event stores using it were stopped
+			PostgresNotificationHub hub = second.notificationHub();
+			second.stop();
+			PostgresEventStorageImpl restarted = storage("hubfirst_", dataSource);
+			assertNotSame(hub, restarted.notificationHub());
+			restarted.stop();
+
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private static PostgresEventStorageImpl storage ( String prefix, DataSource dataSource ) {
+			return (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix(prefix)
+				.dataSource(dataSource)
+				.ensureDatabase()
+				.build();
+		}
+
+		private static void await ( BooleanSupplier condition ) throws InterruptedException {
+			for ( int i = 0; i < 100 && !condition.getAsBoolean(); i++ ) {
+				Thread.sleep(100);
+			}
+			Thread.sleep(200);
+		}
+
+		private static EventToStore event ( EventStreamId stream ) {
+			return new EventToStore(stream, EventType.ofType("Appended"), "{}", null, Tags.none(), null);
+		}
+
+		private static class Collecting implements EventStoreListener {
+
+			final List<AppendsToEventStoreNotification> appends = new CopyOnWriteArrayList<>();
+			final List<BookmarkPlacedNotification> bookmarks = new CopyOnWriteArrayList<>();
+
+			@Override public void notify ( AppendsToEventStoreNotification newEventsInStore ) { appends.add(newEventsInStore); }
+			@Override public void notify ( BookmarkPlacedNotification bookmarkPlaced ) { bookmarks.add(bookmarkPlaced); }
+
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+import org.sliceworkz.eventstore.stream.OptimisticLockingException;
+
+public class PostgresEventStoragePartitioningTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testPartitionsAreCreatedWhileAppending ( ) throws SQLException {
+			PostgresEventStorageImpl storage = storage("partitioned_", 10);
+
+			EventStreamId stream = EventStreamId.forContext("partitioned").withPurpose("test");
+			StoredEvent last = null;
+			for ( int i = 0; i < 45; i++ ) {
+				last = storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, null))).getFirst();
+			}
+			storage.bulkImport(IntStream.range(0, 25).mapToObj(i -> event(stream, null)), 20);
+
+			assertEquals(70, storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD).count());
+			assertTrue(partitions("partitioned_events") >= 8);
+
+			// events were imported after the last appended one, in later partitions
+			StoredEvent stale = last;
+			assertThrows(OptimisticLockingException.class, () -> storage.append(AppendCriteria.of(EventQuery.matchAll(), stale.reference()), Optional.of(stream), List.of(event(stream, null))));
+
+			storage.bookmark("reader", last.reference(), Tags.none());
+			assertEquals(Optional.of(last.reference()), storage.getBookmark("reader"));
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testDuplicateIdempotencyKeyIsSkipped ( ) {
+			PostgresEventStorageImpl storage = storage("partitionedidem_", 100);
+
+			EventStreamId stream = EventStreamId.forContext("partitioned").withPurpose("idempotency");
+			assertEquals(1, storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			assertEquals(0, storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream, "key-1"))).size());
+			assertEquals(1, storage.bulkImport(IntStream.range(0, 3).mapToObj(i -> event(stream, "key-" + (i % 2 + 1)))));
+
+			assertEquals(2, storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD).count());
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testValidationDetectsSchemaVariant ( ) {
+			storage("partitionedcheck_", 100).stop();
+
+			EventStorageException e = assertThrows(EventStorageException.class, () -> PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("partitionedcheck_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.validateDatabase()
+				.build());
+			assertEquals("Table 'partitionedcheck_events' is partitioned, configure the event store as partitioned to use it", e.getMessage());
+
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private PostgresEventStorageImpl storage ( String prefix, long partitionSize ) {
+			return (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix(prefix)
+				.dataSource(PostgresContainer.dataSource(image))
+				.partitioned(partitionSize)
+				.initializeDatabase()
+				.build();
+		}
+
+		private long partitions ( String table ) throws SQLException {
+			try ( Connection connection = PostgresContainer.dataSource(image).getConnection(); Statement stmt = connection.createStatement();
+					ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pg_inherits WHERE inhparent = '%s'::regclass".formatted(table)) ) {
+				rs.next();
+				return rs.getLong(1);
+			}
+		}
+
+		private EventToStore event ( EventStreamId stream, String idempotencyKey ) {
+			return new EventToStore(stream, EventType.ofType("PartitionedEvent"), "{}", null, Tags.none(), idempotencyKey);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
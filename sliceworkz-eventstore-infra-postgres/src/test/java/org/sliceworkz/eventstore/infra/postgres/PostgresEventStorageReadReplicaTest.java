@@ -0,0 +1,152 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class PostgresEventStorageReadReplicaTest {
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testReadsAreServedByReplica ( ) {
+			AtomicInteger replicaConnections = new AtomicInteger();
+			// the primary itself acts as an always up-to-date replica
+			DataSource replica = counting(PostgresContainer.dataSource(image), replicaConnections);
+			PostgresEventStorageImpl storage = storage("replica_", replica);
+
+			EventStreamId stream = EventStreamId.forContext("replica").withPurpose("test");
+			StoredEvent stored = storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+
+			assertEquals(1, storage.query(EventQuery.matchAll().until(stored.reference()), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD).count());
+			assertEquals(Optional.of(stored), storage.getEventById(stored.reference().id()));
+			storage.bookmark("reader", stored.reference(), Tags.none());
+			assertEquals(Optional.of(stored.reference()), storage.getBookmark("reader"));
+			assertEquals(1, storage.getBookmarks().size());
+
+			assertEquals(4, replicaConnections.get());
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testReadsFallBackToPrimary ( ) {
+			DataSource unavailable = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+				throw new SQLException("replica unavailable");
+			});
+			PostgresEventStorageImpl storage = storage("replicafallback_", unavailable);
+
+			EventStreamId stream = EventStreamId.forContext("replica").withPurpose("fallback");
+			StoredEvent stored = storage.append(AppendCriteria.none(), Optional.of(stream), List.of(event(stream))).getFirst();
+			assertTrue(storage.getEventById(stored.reference().id()).isPresent());
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private PostgresEventStorageImpl storage ( String prefix, DataSource replica ) {
+			return (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix(prefix)
+				.dataSource(PostgresContainer.dataSource(image))
+				.readReplicas(List.of(replica), Duration.ofMillis(100))
+				.initializeDatabase()
+				.build();
+		}
+
+		private static DataSource counting ( DataSource delegate, AtomicInteger connections ) {
+			return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+				if ( method.getName().equals("getConnection") ) {
+					connections.incrementAndGet();
+				}
+				return method.invoke(delegate, args);
+			});
+		}
+
+		private static EventToStore event ( EventStreamId stream ) {
+			return new EventToStore(stream, EventType.ofType("ReplicatedEvent"), "{}", null, Tags.none(), null);
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.events.Tags;
+import org.sliceworkz.eventstore.infra.postgres.util.PostgresContainer;
+import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.Limit;
+import org.sliceworkz.eventstore.spi.EventStorage.EventToStore;
+import org.sliceworkz.eventstore.spi.EventStorage.QueryDirection;
+import org.sliceworkz.eventstore.spi.EventStorage.StoredEvent;
+import org.sliceworkz.eventstore.spi.EventStorageException;
+import org.sliceworkz.eventstore.stream.AppendCriteria;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+// this test uses a different prefix per test, so one container can be started/stopped and reused for all tests
+public class PostgresEventStorageStreamingQueryTest {
+
+	// default maximum pool size of the Hikari data sources of PostgresContainer
+	private static final int POOL_SIZE = 10;
+
+	abstract static class Tests {
+
+		final String image;
+
+		Tests ( String image ) {
+			this.image = image;
+		}
+
+		@Test
+		public void testStreamingQueryReturnsAllEventsInOrder ( ) {
+			PostgresEventStorageImpl storage = (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("streaming_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.streamingQueries(2)
+				.initializeDatabase()
+				.build();
+
+			EventStreamId stream = EventStreamId.forContext("streaming").withPurpose("test");
+			storage.append(AppendCriteria.none(), Optional.of(stream), events(stream, 5));
+
+			try ( Stream<StoredEvent> results = storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD) ) {
+				List<StoredEvent> list = results.toList();
+				assertEquals(5, list.size());
+				for ( int i = 1; i < list.size(); i++ ) {
+					assertEquals(true, list.get(i).reference().happenedAfter(list.get(i-1).reference()));
+				}
+			}
+
+			// stopping early and closing must release the connection
+			for ( int i = 0; i < 20; i++ ) {
+				try ( Stream<StoredEvent> results = storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.BACKWARD) ) {
+					assertEquals(true, results.findFirst().isPresent());
+				}
+			}
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testStreamingQueryReleasesConnectionOnceLimitIsRead ( ) {
+			PostgresEventStorageImpl storage = (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("streamingrelease_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.streamingQueries(2)
+				.initializeDatabase()
+				.build();
+
+			EventStreamId stream = EventStreamId.forContext("streaming").withPurpose("release");
+			storage.append(AppendCriteria.none(), Optional.of(stream), events(stream, 5));
+
+			// never closed, but the single row the query can return releases the connection; more queries than the pool has connections
+			for ( int i = 0; i < 3 * POOL_SIZE; i++ ) {
+				assertEquals(true, storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.to(1), QueryDirection.BACKWARD).findFirst().isPresent());
+			}
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testHeadReferenceReleasesConnectionsInStreamingMode ( ) {
+			PostgresEventStorageImpl storage = (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("streaminghead_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.streamingQueries(2)
+				.initializeDatabase()
+				.build();
+
+			EventStreamId stream = EventStreamId.forContext("streaming").withPurpose("head");
+			storage.append(AppendCriteria.none(), Optional.of(stream), events(stream, 5));
+
+			// a leaked connection per call would exhaust the pool long before the loop ends
+			for ( int i = 0; i < 3 * POOL_SIZE; i++ ) {
+				assertEquals(true, storage.headReference(EventQuery.matchAll(), Optional.of(stream)).isPresent());
+			}
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		@Test
+		public void testStreamingQueryEnforcesAbsoluteLimit ( ) {
+			PostgresEventStorageImpl storage = (PostgresEventStorageImpl) PostgresEventStorage.newBuilder()
+				.name("unit-test")
+				.prefix("streaminglimit_")
+				.dataSource(PostgresContainer.dataSource(image))
+				.streamingQueries(2)
+				.resultLimit(3)
+				.initializeDatabase()
+				.build();
+
+			EventStreamId stream = EventStreamId.forContext("streaming").withPurpose("limit");
+			storage.append(AppendCriteria.none(), Optional.of(stream), events(stream, 5));
+
+			try ( Stream<StoredEvent> results = storage.query(EventQuery.matchAll(), Optional.of(stream), null, Limit.none(), QueryDirection.FORWARD) ) {
+				assertThrows(EventStorageException.class, ()->results.toList());
+			}
+
+			storage.stop();
+			PostgresContainer.closeDataSource(image);
+		}
+
+		private List<EventToStore> events ( EventStreamId stream, int count ) {
+			return IntStream.range(0, count)
+				.mapToObj(i -> new EventToStore(stream, EventType.ofType("StreamedEvent"), "{\"value\":%d}".formatted(i), null, Tags.none(), null))
+				.toList();
+		}
+	}
+
+	@Nested
+	class OnPostgres17 extends Tests {
+
+		OnPostgres17 ( ) { super(PostgresContainer.IMAGE_PG17); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG17);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG17);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG17);
+		}
+	}
+
+	@Nested
+	class OnPostgres18 extends Tests {
+
+		OnPostgres18 ( ) { super(PostgresContainer.IMAGE_PG18); }
+
+		@BeforeAll
+		public static void setUpBeforeAll ( ) {
+			PostgresContainer.start(PostgresContainer.IMAGE_PG18);
+		}
+
+		@AfterAll
+		public static void tearDownAfterAll ( ) {
+			PostgresContainer.stop(PostgresContainer.IMAGE_PG18);
+			PostgresContainer.cleanup(PostgresContainer.IMAGE_PG18);
+		}
+	}
+
+}
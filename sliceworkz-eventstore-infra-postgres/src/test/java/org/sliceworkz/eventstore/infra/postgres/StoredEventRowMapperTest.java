@@ -0,0 +1,56 @@
+/*
+ * Sliceworkz Eventstore - a Java/Postgres DCB Eventstore implementation
+ * Copyright © 2025-2026 Sliceworkz / XTi (info@sliceworkz.org)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sliceworkz.eventstore.infra.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.sliceworkz.eventstore.events.EventType;
+import org.sliceworkz.eventstore.stream.EventStreamId;
+
+public class StoredEventRowMapperTest {
+
+	@Test
+	void testStreamIdsAreInterned ( ) {
+		EventStreamId first = StoredEventRowMapper.streamId(new String("customer"), new String("default"));
+		EventStreamId second = StoredEventRowMapper.streamId(new String("customer"), new String("default"));
+		assertEquals(EventStreamId.forContext("customer").withPurpose("default"), first);
+		assertSame(first, second);
+	}
+
+	@Test
+	void testEventTypesAreInterned ( ) {
+		EventType first = StoredEventRowMapper.eventType(new String("CustomerRegistered"));
+		EventType second = StoredEventRowMapper.eventType(new String("CustomerRegistered"));
+		assertEquals(EventType.ofType("CustomerRegistered"), first);
+		assertSame(first, second);
+	}
+
+	@Test
+	void testTimestampConvertedAsUtc ( ) {
+		LocalDateTime utc = LocalDateTime.of(2025, 3, 30, 1, 30);
+		Timestamp timestamp = Timestamp.from(utc.toInstant(ZoneOffset.UTC));
+		assertEquals(utc, StoredEventRowMapper.toLocalDateTime(timestamp));
+	}
+
+}
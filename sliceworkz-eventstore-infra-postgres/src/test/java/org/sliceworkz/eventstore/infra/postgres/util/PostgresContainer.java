@@ -22,6 +22,9 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.DataSource;
 
+import org.postgresql.ds.PGSimpleDataSource;
+import org.postgresql.jdbc.PreferQueryMode;
+import org.testcontainers.images.builder.Transferable;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 
 import com.zaxxer.hikari.HikariConfig;
@@ -35,6 +38,8 @@ import com.zaxxer.hikari.HikariDataSource;
  * the container, subsequent calls are no-ops. {@code stop} and {@code cleanup} are intentionally
  * no-ops (containers stay alive for the duration of the JVM and are reaped by Testcontainers'
  * Ryuk on shutdown). This halves CI time vs. starting/stopping a container per test class.
+ * <p>
+ * Containers run with {@code wal_level = logical} and accept replication connections, for the change feed tests.
  */
 public class PostgresContainer {
 
@@ -50,7 +55,9 @@ public class PostgresContainer {
 			PostgreSQLContainer container = new PostgreSQLContainer(img)
 				.withDatabaseName("integration-tests-db")
 				.withUsername("sa")
-				.withPassword("pwd");
+				.withPassword("pwd")
+				.withCommand("postgres", "-c", "fsync=off", "-c", "wal_level=logical")
+				.withCopyToContainer(Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n"), "/docker-entrypoint-initdb.d/replication.sh");
 			container.start();
 			return container;
 		});
@@ -81,6 +88,24 @@ public class PostgresContainer {
 		return dataSource;
 	}
 
+	/**
+	 * A non-pooled DataSource opening logical replication connections, as needed for a change feed.
+	 */
+	public static DataSource replicationDataSource ( String image ) {
+		PostgreSQLContainer container = CONTAINERS.get(image);
+		if ( container == null ) {
+			throw new IllegalStateException("PostgresContainer.start(\"" + image + "\") was not called");
+		}
+		PGSimpleDataSource dataSource = new PGSimpleDataSource();
+		dataSource.setUrl(container.getJdbcUrl());
+		dataSource.setUser(container.getUsername());
+		dataSource.setPassword(container.getPassword());
+		dataSource.setReplication("database");
+		dataSource.setPreferQueryMode(PreferQueryMode.SIMPLE);
+		dataSource.setAssumeMinServerVersion("9.4");
+		return dataSource;
+	}
+
 	public static void closeDataSource ( String image ) {
 		HikariDataSource dataSource = DATASOURCES.remove(image);
 		if ( dataSource != null && !dataSource.isClosed() ) {
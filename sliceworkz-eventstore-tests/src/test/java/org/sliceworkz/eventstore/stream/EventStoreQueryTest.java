@@ -36,6 +36,7 @@ import org.sliceworkz.eventstore.EventStore;
 import org.sliceworkz.eventstore.EventStoreFactory;
 import org.sliceworkz.eventstore.events.EphemeralEvent;
 import org.sliceworkz.eventstore.events.Event;
+import org.sliceworkz.eventstore.events.EventHeader;
 import org.sliceworkz.eventstore.events.EventReference;
 import org.sliceworkz.eventstore.events.Tags;
 import org.sliceworkz.eventstore.infra.inmem.InMemoryEventStorage;
@@ -323,6 +324,31 @@ class EventStoreQueryTest {
 			assertEquals(1, queryOther(EventQuery.forEvents(EventTypesFilter.of(FirstDomainEvent.class), Tags.parse("otherapp:tag"))));
 		}
 
+		@Test
+		void testQueryHeadersMatchesQuery ( ) {
+			EventQuery q = EventQuery.forEvents(EventTypesFilter.any(), Tags.parse("account:1"));
+			List<EventHeader> headers = eventStream.queryHeaders(q).toList();
+			List<Event<BankDomainEvent>> events = eventStream.query(q).toList();
+
+			assertEquals(5, headers.size());
+			for ( int i = 0; i < headers.size(); i++ ) {
+				assertEquals(events.get(i).reference(), headers.get(i).reference());
+				assertEquals(events.get(i).storedType(), headers.get(i).type());
+				assertEquals(events.get(i).tags(), headers.get(i).tags());
+				assertEquals(events.get(i).stream(), headers.get(i).stream());
+			}
+		}
+
+		@Test
+		void testQueryHeadersBackwardsAndFetchEvent ( ) {
+			EventHeader last = eventStream.queryHeaders(EventQuery.forEvents(EventTypesFilter.of(MoneyDeposited.class), Tags.none()).backwards().limit(1)).findFirst().get();
+
+			List<Event<BankDomainEvent>> fetched = eventStream.getEvents(last);
+			assertEquals(1, fetched.size());
+			assertEquals(last.reference(), fetched.get(0).reference());
+			assertEquals(new MoneyDeposited(AccountId.of("2"), BigDecimal.valueOf(200)), fetched.get(0).data());
+		}
+
 		@Test
 		void testProjectionWithHigherNumberOfEvents ( ) {
 			int expectedQueries = (10000+Projector.Builder.DEFAULT_MAX_EVENTS_PER_QUERY)/Projector.Builder.DEFAULT_MAX_EVENTS_PER_QUERY;
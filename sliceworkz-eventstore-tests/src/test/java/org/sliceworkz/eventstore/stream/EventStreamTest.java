@@ -26,12 +26,16 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
@@ -65,8 +69,11 @@ import org.sliceworkz.eventstore.mockdomain.MockDomainEvent.SecondDomainEvent;
 import org.sliceworkz.eventstore.mockdomain.OtherMockDomainEvent;
 import org.sliceworkz.eventstore.mockdomain.OtherMockDomainEvent.AnotherDomainEvent;
 import org.sliceworkz.eventstore.query.EventQuery;
+import org.sliceworkz.eventstore.query.EventTypesFilter;
 import org.sliceworkz.eventstore.spi.EventStorage;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class EventStreamTest {
 
 	abstract static class Tests {
@@ -261,6 +268,47 @@ class EventStreamTest {
 
 		}
 
+		@Test
+		void testGetEventsByIds ( ) {
+			List<Event<MockDomainEvent>> events = es.append(AppendCriteria.none(), List.of(
+					Event.of(new FirstDomainEvent("1"), Tags.none()),
+					Event.of(new SecondDomainEvent("2"), Tags.none()),
+					Event.of(new FirstDomainEvent("3"), Tags.none())));
+			assertEquals(3, events.size());
+
+			EventId first = events.get(0).reference().id();
+			EventId third = events.get(2).reference().id();
+
+			// results come back in event store order, unknown and duplicate ids are ignored
+			List<Event<MockDomainEvent>> retrieved = es.getEventsByIds(List.of(third, EventId.create(), first, third));
+			assertEquals(List.of(events.get(0).reference(), events.get(2).reference()), retrieved.stream().map(Event::reference).toList());
+
+			assertTrue(es.getEventsByIds(List.of()).isEmpty());
+
+			// events can't be retrieved via another stream
+			EventStream<MockDomainEvent> otherStream = eventStore().getEventStream(EventStreamId.forContext("test2").withPurpose("test2"), MockDomainEvent.class);
+			assertTrue(otherStream.getEventsByIds(List.of(first, third)).isEmpty());
+		}
+
+		@Test
+		void testHeadReference ( ) {
+			EventQuery firstEvents = EventQuery.forEvents(EventTypesFilter.of(FirstDomainEvent.class), Tags.none());
+			assertTrue(es.headReference(firstEvents).isEmpty());
+
+			List<Event<MockDomainEvent>> events = es.append(AppendCriteria.none(), List.of(
+					Event.of(new FirstDomainEvent("1"), Tags.of("customer", "1")),
+					Event.of(new FirstDomainEvent("2"), Tags.of("customer", "2")),
+					Event.of(new SecondDomainEvent("3"), Tags.of("customer", "1"))));
+
+			assertEquals(Optional.of(events.get(1).reference()), es.headReference(firstEvents));
+			assertEquals(Optional.of(events.get(2).reference()), es.headReference(EventQuery.forEvents(EventTypesFilter.any(), Tags.of("customer", "1"))));
+			assertEquals(Optional.of(events.get(0).reference()), es.headReference(EventQuery.forEvents(EventTypesFilter.of(FirstDomainEvent.class), Tags.of("customer", "1"))));
+			assertTrue(es.headReference(EventQuery.forEvents(EventTypesFilter.of(SecondDomainEvent.class), Tags.of("customer", "2"))).isEmpty());
+
+			// the head is the reference to guard a decision with
+			es.append(AppendCriteria.of(firstEvents, es.headReference(firstEvents).get()), List.of(Event.of(new FirstDomainEvent("4"), Tags.none())));
+		}
+
 		@Test
 		void testAppendWithIdempotency ( ) {
 
@@ -477,6 +525,142 @@ class EventStreamTest {
 			assertEquals(5, l.lastReference().position()); // check that the listener has seen the last event
 		}
 
+		@Test
+		void testLocalAppendNotifiesWithoutStorageNotification ( ) {
+			// a storage that never notifies: only the local signal of the event store can reach the listeners
+			EventStorage silentStorage = (EventStorage) Proxy.newProxyInstance(EventStorage.class.getClassLoader(), new Class<?>[] { EventStorage.class }, (proxy, method, args) -> {
+				if ( method.getName().equals("subscribe") ) {
+					return null;
+				}
+				try {
+					return method.invoke(eventStorage, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			});
+			EventStore localStore = EventStoreFactory.get().eventStore(silentStorage);
+
+			EventStream<MockDomainEvent> appending = localStore.getEventStream(stream, MockDomainEvent.class);
+			EventStream<MockDomainEvent> projecting = localStore.getEventStream(EventStreamId.forContext("app").anyPurpose(), MockDomainEvent.class);
+			EventStream<OtherMockDomainEvent> unrelated = localStore.getEventStream(EventStreamId.forContext("other").withPurpose("default"), OtherMockDomainEvent.class);
+
+			MockEventuallyConsistentAppendListener projector = new MockEventuallyConsistentAppendListener();
+			MockEventuallyConsistentAppendListener other = new MockEventuallyConsistentAppendListener();
+			projecting.subscribe(projector);
+			unrelated.subscribe(other);
+
+			EventReference appended = appending.append(AppendCriteria.none(), Event.of(new FirstDomainEvent("1"), Tags.none())).getLast().reference();
+
+			waitBecauseOfEventualConsistency(() -> appended.equals(projector.lastReference()));
+			assertEquals(1, projector.count());
+			assertNull(other.lastReference());
+		}
+
+		@Test
+		void testQuerySubscriptionOnlyWokenForMatchingAppends ( ) throws InterruptedException {
+			MockEventuallyConsistentAppendListener firsts = new MockEventuallyConsistentAppendListener();
+			MockEventuallyConsistentAppendListener secondsOfCustomer = new MockEventuallyConsistentAppendListener();
+			MockEventuallyConsistentAppendListener all = new MockEventuallyConsistentAppendListener();
+			es.subscribe(firsts, EventQuery.forEvents(EventTypesFilter.of(FirstDomainEvent.class), Tags.none()));
+			es.subscribe(secondsOfCustomer, EventQuery.forEvents(EventTypesFilter.of(SecondDomainEvent.class), Tags.of("customer", "1")));
+			es.subscribe(all);
+
+			// neither the type nor the tag match the query of the second listener
+			EventReference first = es.append(AppendCriteria.none(), Event.of(new FirstDomainEvent("1"), Tags.of("customer", "2"))).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> first.equals(firsts.lastReference()) && first.equals(all.lastReference()));
+
+			// the type matches, but the tag doesn't
+			EventReference second = es.append(AppendCriteria.none(), Event.of(new SecondDomainEvent("2"), Tags.of("customer", "2"))).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> second.equals(all.lastReference()));
+
+			EventReference third = es.append(AppendCriteria.none(), Event.of(new SecondDomainEvent("3"), Tags.of("customer", "1"))).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> third.equals(secondsOfCustomer.lastReference()) && third.equals(all.lastReference()));
+			Thread.sleep(200);
+
+			assertEquals(1, firsts.count());
+			assertEquals(1, secondsOfCustomer.count());
+		}
+
+		@Test
+		void testOlderReferenceNotifiedLastStillWakesUpSubscriber ( ) {
+			// the subscriber never gets past this reference, as if a newer append was hidden by an uncommitted older one
+			EventReference processed = EventReference.of(EventId.create(), 1, 1);
+			List<EventReference> calls = new CopyOnWriteArrayList<>();
+			es.subscribe((EventStreamEventuallyConsistentAppendListener) atLeastUntil -> {
+				calls.add(atLeastUntil);
+				return processed;
+			});
+
+			EventReference older = EventReference.of(EventId.create(), 2, 2);
+			EventReference newer = EventReference.of(EventId.create(), 3, 3);
+			EventStorage.EventStoreListener storageListener = (EventStorage.EventStoreListener) es;
+
+			storageListener.notify(new EventStorage.AppendsToEventStoreNotification(stream, newer));
+			waitBecauseOfEventualConsistency(() -> calls.size() == 1);
+
+			// the older append is committed, and notified, last
+			storageListener.notify(new EventStorage.AppendsToEventStoreNotification(stream, older));
+			waitBecauseOfEventualConsistency(() -> calls.size() == 2);
+		}
+
+		@Test
+		void testQuerySupplierSubscriptionFollowsChangingQuery ( ) throws InterruptedException {
+			MockEventuallyConsistentAppendListener listener = new MockEventuallyConsistentAppendListener();
+			AtomicReference<EventQuery> query = new AtomicReference<>(EventQuery.forEvents(EventTypesFilter.of(FirstDomainEvent.class), Tags.none()));
+			es.subscribe(listener, query::get);
+
+			EventReference first = es.append(AppendCriteria.none(), Event.of(new FirstDomainEvent("1"), Tags.none())).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> first.equals(listener.lastReference()));
+
+			// only matches the query as it is after subscribing
+			query.set(EventQuery.forEvents(EventTypesFilter.of(SecondDomainEvent.class), Tags.none()));
+			EventReference second = es.append(AppendCriteria.none(), Event.of(new SecondDomainEvent("2"), Tags.none())).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> second.equals(listener.lastReference()));
+
+			assertEquals(2, listener.count());
+		}
+
+		@Test
+		void testSlowSubscriberReceivesCoalescedNotifications ( ) throws InterruptedException {
+			SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+			EventStream<MockDomainEvent> metered = EventStoreFactory.get().eventStore(eventStorage, meterRegistry).getEventStream(stream, MockDomainEvent.class);
+
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicInteger calls = new AtomicInteger();
+			AtomicReference<EventReference> last = new AtomicReference<>();
+			metered.subscribe((EventStreamEventuallyConsistentAppendListener) atLeastUntil -> {
+				calls.incrementAndGet();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				last.set(atLeastUntil);
+				return atLeastUntil;
+			});
+
+			EventReference first = metered.append(AppendCriteria.none(), Event.of(new FirstDomainEvent("0"), Tags.none())).getLast().reference();
+			waitBecauseOfEventualConsistency(() -> calls.get() == 1);
+
+			// while the subscriber is busy, further appends replace the single pending notification
+			EventReference lastAppended = first;
+			for ( int i = 1; i <= 20; i++ ) {
+				lastAppended = metered.append(AppendCriteria.none(), Event.of(new FirstDomainEvent(String.valueOf(i)), Tags.none())).getLast().reference();
+			}
+			EventReference expected = lastAppended;
+			waitBecauseOfEventualConsistency(() -> meterRegistry.get("sliceworkz.eventstore.listener.queue.depth").tag("kind", "append").gauge().value() == 1.0);
+
+			release.countDown();
+			waitBecauseOfEventualConsistency(() -> expected.equals(last.get()));
+			Thread.sleep(200);
+
+			assertEquals(2, calls.get());
+			assertEquals(0.0, meterRegistry.get("sliceworkz.eventstore.listener.queue.depth").tag("kind", "append").gauge().value());
+			assertTrue(meterRegistry.get("sliceworkz.eventstore.listener.coalesced").tag("kind", "append").counter().count() >= 19);
+			assertEquals(2, meterRegistry.get("sliceworkz.eventstore.listener.dispatch.latency").tag("kind", "append").timer().count());
+			assertEquals(0.0, meterRegistry.get("sliceworkz.eventstore.listener.dropped").tag("kind", "append").counter().count());
+		}
+
 	}
 
 	@Nested